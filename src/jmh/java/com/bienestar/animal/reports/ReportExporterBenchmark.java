@@ -0,0 +1,44 @@
+package com.bienestar.animal.reports;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end export of {@code /api/reports} DTO lists through {@link ReportCsvExporter}
+ * and {@link ReportPdfExporter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ReportExporterBenchmark {
+
+    @Param({"10000", "100000"})
+    int rows;
+
+    private List<IndicadoresMaltratoDTO> data;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        data = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            data.add(new IndicadoresMaltratoDTO("Tipo " + random.nextInt(12), "Distrito " + random.nextInt(480), random.nextInt(500)));
+        }
+    }
+
+    @Benchmark
+    public void exportCsv() throws IOException {
+        ReportCsvExporter.export(ReportType.INDICADORES_ABANDONO, data, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void exportPdf() throws IOException {
+        ReportPdfExporter.export(ReportType.INDICADORES_ABANDONO, data, OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,42 @@
+package com.project.demo.common;
+
+import com.project.demo.service.report.ReportBenchmarkData;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link CsvStreamWriter}, plain and gzip, writing to a discarding stream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CsvStreamWriterBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    int rows;
+
+    @Param({"false", "true"})
+    boolean gzip;
+
+    private List<Object[]> data;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = ReportBenchmarkData.reportRows(rows, new Random(42));
+    }
+
+    @Benchmark
+    public void writeRows() throws IOException {
+        try (CsvStreamWriter csv = new CsvStreamWriter(OutputStream.nullOutputStream(), gzip)) {
+            csv.writeRow("canton", "especie", "sexo", "cantidad");
+            for (Object[] row : data) {
+                csv.writeRow(row);
+            }
+        }
+    }
+}
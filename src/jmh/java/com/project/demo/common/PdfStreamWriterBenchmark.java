@@ -0,0 +1,40 @@
+package com.project.demo.common;
+
+import com.project.demo.service.report.ReportBenchmarkData;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of laying out a paginated iText table with {@link PdfStreamWriter}.
+ * PDF layout is far slower than CSV, so the largest dataset is 100k rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PdfStreamWriterBenchmark {
+
+    @Param({"10000", "100000"})
+    int rows;
+
+    private List<Object[]> data;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = ReportBenchmarkData.reportRows(rows, new Random(42));
+    }
+
+    @Benchmark
+    public void writeTable() throws IOException {
+        try (PdfStreamWriter pdf = new PdfStreamWriter(OutputStream.nullOutputStream(), "Benchmark")) {
+            pdf.beginTable("Cantón", "Especie", "Sexo", "Cantidad");
+            for (Object[] row : data) {
+                pdf.writeRow(row);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.project.demo.service.report;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic datasets shared by the report benchmarks. Values are drawn from small
+ * vocabularies shaped like the real catalogs (82 cantons, a few species, two sexes).
+ */
+public final class ReportBenchmarkData {
+
+    private static final String[] SOURCES = {"OWNED_ANIMAL", "COMMUNITY_ANIMAL", "ABANDONED_ANIMAL"};
+    private static final String[] SPECIES = {"Perro", "Gato", "Conejo", "Ave", "Otro"};
+    private static final String[] SEXES = {"Macho", "Hembra"};
+    private static final String[] STERILIZATION = {"Esterilizado", "No esterilizado"};
+
+    private ReportBenchmarkData() {
+    }
+
+    public static List<CubeCell> cubeCells(int count, Random random) {
+        List<CubeCell> cells = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int canton = random.nextInt(82);
+            boolean sterilized = random.nextInt(3) == 0;
+            long total = 1 + random.nextInt(20);
+            cells.add(new CubeCell(new String[]{
+                    SOURCES[random.nextInt(SOURCES.length)],
+                    "Municipalidad " + canton,
+                    "Cantón " + canton,
+                    "Distrito " + canton + "-" + random.nextInt(8),
+                    SPECIES[random.nextInt(SPECIES.length)],
+                    SEXES[random.nextInt(SEXES.length)],
+                    STERILIZATION[sterilized ? 0 : 1],
+                    String.format("20%02d-%02d", 20 + random.nextInt(6), 1 + random.nextInt(12))
+            }, total, sterilized ? total : 0));
+        }
+        return cells;
+    }
+
+    /**
+     * @return rows of {@code count} values shaped like a canton/species/sex/count report line
+     */
+    public static List<Object[]> reportRows(int count, Random random) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{
+                    "Cantón " + random.nextInt(82),
+                    SPECIES[random.nextInt(SPECIES.length)],
+                    i % 17 == 0 ? "Macho, \"adulto\"" : SEXES[random.nextInt(SEXES.length)],
+                    (long) random.nextInt(10_000)
+            });
+        }
+        return rows;
+    }
+}
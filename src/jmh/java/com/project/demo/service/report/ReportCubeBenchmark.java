@@ -0,0 +1,54 @@
+package com.project.demo.service.report;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory roll-up of {@link ReportCubeService} over synthetic rollup cells.
+ * <p>
+ * A fresh cache is used per invocation so every call measures the grouping itself,
+ * not a cache hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ReportCubeBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    int cells;
+
+    private List<CubeCell> data;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = ReportBenchmarkData.cubeCells(cells, new Random(42));
+    }
+
+    private ReportCubeService newService() {
+        return new ReportCubeService(new ReportCache(16, TimeUnit.MINUTES.toNanos(10), System::nanoTime), fact -> data);
+    }
+
+    @Benchmark
+    public CubeResult groupByCantonSpeciesSex() {
+        return newService().query(CubeFact.ANIMALS,
+                List.of(CubeDimension.CANTON, CubeDimension.SPECIES, CubeDimension.SEX), List.of(), Map.of());
+    }
+
+    @Benchmark
+    public CubeResult groupByMunicipalitySexSterilizationFiltered() {
+        return newService().query(CubeFact.ANIMALS,
+                List.of(CubeDimension.MUNICIPALITY, CubeDimension.SEX, CubeDimension.STERILIZATION),
+                List.of(CubeMeasure.COUNT, CubeMeasure.STERILIZATION_RATE),
+                Map.of(CubeDimension.SOURCE, Set.of("OWNED_ANIMAL")));
+    }
+
+    @Benchmark
+    public CubeResult grandTotal() {
+        return newService().query(CubeFact.ANIMALS, List.of(), List.of(CubeMeasure.COUNT, CubeMeasure.STERILIZED), Map.of());
+    }
+}
@@ -1,8 +1,12 @@
 package com.bienestar.animal.reports;
 
+import com.project.demo.service.report.ReportDataVersion;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -11,34 +15,42 @@ import java.util.List;
  * author nav
  */
 
-@RestController
+@RestController("apiReportController")
 @RequestMapping("/api/reports")
 @CrossOrigin(origins = "http://localhost:4200")
 public class ReportController {
     @Autowired
     private ReportService reportService;
+    @Autowired
+    private ReportDataVersion reportDataVersion;
 
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
     @GetMapping("/summary")
-    public ResponseEntity<List<?>> getSummary(@RequestParam ReportType type) {
+    public ResponseEntity<List<?>> getSummary(@RequestParam ReportType type, WebRequest webRequest) {
+        if (reportDataVersion.checkNotModified(webRequest, type.getFamily())) {
+            return null;
+        }
         List<?> result = reportService.getReportSummary(type);
         return ResponseEntity.ok()
-            .header(HttpHeaders.CACHE_CONTROL, "no-store")
+            .header(HttpHeaders.CACHE_CONTROL, "private, no-cache")
             .body(result);
     }
 
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
     @GetMapping("/download/csv")
-    public ResponseEntity<byte[]> downloadCsv(@RequestParam ReportType type) {
-        byte[] csv = reportService.getReportCsv(type);
+    public ResponseEntity<StreamingResponseBody> downloadCsv(@RequestParam ReportType type) {
+        StreamingResponseBody csv = out -> reportService.writeReportCsv(type, out);
         String filename = String.format("reporte-%s-%s.csv", type.name().toLowerCase(), LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE));
         return ResponseEntity.ok()
             .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-            .contentType(MediaType.parseMediaType("text/csv"))
+            .contentType(MediaType.parseMediaType("text/csv; charset=UTF-8"))
             .body(csv);
     }
 
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
     @GetMapping("/download/pdf")
-    public ResponseEntity<byte[]> downloadPdf(@RequestParam ReportType type) {
-        byte[] pdf = reportService.getReportPdf(type);
+    public ResponseEntity<StreamingResponseBody> downloadPdf(@RequestParam ReportType type) {
+        StreamingResponseBody pdf = out -> reportService.writeReportPdf(type, out);
         String filename = String.format("reporte-%s-%s.pdf", type.name().toLowerCase(), LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE));
         return ResponseEntity.ok()
             .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
@@ -1,39 +1,42 @@
 package com.bienestar.animal.reports;
 
+import com.project.demo.common.CsvStreamWriter;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 /**
  * author nav
  */
 public class ReportCsvExporter {
-    public static byte[] export(ReportType type, List<?> data) {
-        StringBuilder sb = new StringBuilder();
-        switch (type) {
-            case MASCOTAS_POR_MUNICIPALIDAD:
-                sb.append("districtCode,districtName,totalPets\n");
-                for (MascotasPorDistritoDTO dto : (List<MascotasPorDistritoDTO>) data) {
-                    sb.append(String.format("%s,%s,%d\n", dto.getDistrictCode(), dto.getDistrictName(), dto.getTotalPets()));
-                }
-                break;
-            case ANIMALES_CALLEJEROS:
-                sb.append("month,area,totalStreetAnimals\n");
-                for (AnimalesCallejerosDTO dto : (List<AnimalesCallejerosDTO>) data) {
-                    sb.append(String.format("%s,%s,%d\n", dto.getMonth(), dto.getArea(), dto.getTotalStreetAnimals()));
-                }
-                break;
-            case ANIMALES_CON_HOGAR:
-                sb.append("district,withHome,medicalAttention,sterilized\n");
-                for (AnimalesConHogarDTO dto : (List<AnimalesConHogarDTO>) data) {
-                    sb.append(String.format("%s,%d,%d,%d\n", dto.getDistrict(), dto.getWithHome(), dto.getMedicalAttention(), dto.getSterilized()));
-                }
-                break;
-            case INDICADORES_ABANDONO:
-                sb.append("category,district,count\n");
-                for (IndicadoresMaltratoDTO dto : (List<IndicadoresMaltratoDTO>) data) {
-                    sb.append(String.format("%s,%s,%d\n", dto.getCategory(), dto.getDistrict(), dto.getCount()));
-                }
-                break;
+    public static void export(ReportType type, List<?> data, OutputStream out) throws IOException {
+        try (CsvStreamWriter csv = new CsvStreamWriter(out, false)) {
+            switch (type) {
+                case MASCOTAS_POR_MUNICIPALIDAD:
+                    csv.writeRow("districtCode", "districtName", "totalPets");
+                    for (MascotasPorDistritoDTO dto : (List<MascotasPorDistritoDTO>) data) {
+                        csv.writeRow(dto.getDistrictCode(), dto.getDistrictName(), dto.getTotalPets());
+                    }
+                    break;
+                case ANIMALES_CALLEJEROS:
+                    csv.writeRow("month", "area", "totalStreetAnimals");
+                    for (AnimalesCallejerosDTO dto : (List<AnimalesCallejerosDTO>) data) {
+                        csv.writeRow(dto.getMonth(), dto.getArea(), dto.getTotalStreetAnimals());
+                    }
+                    break;
+                case ANIMALES_CON_HOGAR:
+                    csv.writeRow("district", "withHome", "medicalAttention", "sterilized");
+                    for (AnimalesConHogarDTO dto : (List<AnimalesConHogarDTO>) data) {
+                        csv.writeRow(dto.getDistrict(), dto.getWithHome(), dto.getMedicalAttention(), dto.getSterilized());
+                    }
+                    break;
+                case INDICADORES_ABANDONO:
+                    csv.writeRow("category", "district", "count");
+                    for (IndicadoresMaltratoDTO dto : (List<IndicadoresMaltratoDTO>) data) {
+                        csv.writeRow(dto.getCategory(), dto.getDistrict(), dto.getCount());
+                    }
+                    break;
+            }
         }
-        return sb.toString().getBytes();
     }
 }
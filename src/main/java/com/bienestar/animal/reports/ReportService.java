@@ -1,47 +1,197 @@
-
 package com.bienestar.animal.reports;
 
-import com.project.demo.logic.entity.district.DistrictRepository;
+import com.project.demo.service.report.ReportCache;
+import com.project.demo.service.report.ReportCacheKey;
+import com.project.demo.service.report.ReportExportService;
+import com.project.demo.service.report.ReportQuery;
+import com.project.demo.service.report.ReportQueryService;
+import com.project.demo.service.report.ReportRow;
 import com.project.demo.logic.entity.animal.AnimalRepository;
-import com.project.demo.logic.entity.animal.AbandonedAnimalRepository;
-import com.project.demo.logic.entity.community_animal.CommunityAnimalRepository;
+import com.project.demo.logic.entity.complaint.ComplaintRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.*;
 
+/**
+ * Report engine shared by {@code /api/reports} and {@code /reports}.
+ * <p>
+ * Every report is resolved by a single grouped query (against the rollup tables when
+ * possible) whose result is cached in {@link ReportCache}; the JSON, CSV and PDF
+ * variants of a report all read that same result.
+ */
 @Service
 public class ReportService {
+
+    private static final String PETS_BY_DISTRICT_SQL = """
+            SELECT d.id AS district_code, d.name AS district_name, COUNT(*) AS total
+            FROM animal a
+            JOIN `user` o ON o.id = a.owner_id
+            JOIN neighborhood n ON n.id = o.neighborhood_id
+            JOIN district d ON d.id = n.district_id
+            GROUP BY d.id, d.name
+            ORDER BY d.name
+            """;
+
+    private static final String STREET_ANIMALS_BY_MONTH_SQL = """
+            SELECT DATE_FORMAT(r.period_month, '%Y-%m') AS month,
+                   COALESCE(c.name, 'Sin cantón') AS area,
+                   SUM(r.total) AS total
+            FROM animal_report_rollup r
+            LEFT JOIN canton c ON c.id = r.canton_id
+            WHERE r.source = 'ABANDONED_ANIMAL' AND r.total > 0
+            GROUP BY month, area
+            ORDER BY month, area
+            """;
+
+    private static final String OWNED_ANIMALS_BY_DISTRICT_SQL = """
+            SELECT d.name AS district,
+                   COUNT(*) AS with_home,
+                   SUM(CASE WHEN EXISTS (SELECT 1 FROM sanitary_control sc WHERE sc.animal_id = a.id)
+                              OR EXISTS (SELECT 1 FROM vaccine_application va WHERE va.animal_id = a.id)
+                            THEN 1 ELSE 0 END) AS medical_attention,
+                   SUM(CASE WHEN EXISTS (SELECT 1 FROM sanitary_control sc
+                                         WHERE sc.animal_id = a.id AND sc.sanitary_control_type_id = %d)
+                            THEN 1 ELSE 0 END) AS sterilized
+            FROM animal a
+            JOIN `user` o ON o.id = a.owner_id
+            JOIN neighborhood n ON n.id = o.neighborhood_id
+            JOIN district d ON d.id = n.district_id
+            GROUP BY d.id, d.name
+            ORDER BY d.name
+            """.formatted(ReportQuery.STERILIZATION_CONTROL_TYPE_ID);
+
+    private static final String COMPLAINTS_BY_TYPE_AND_DISTRICT_SQL = """
+            SELECT t.name AS category, d.name AS district, COUNT(*) AS total
+            FROM complaint c
+            JOIN complaint_type t ON t.id = c.complaint_type_id
+            LEFT JOIN `user` u ON u.id = c.user_id
+            LEFT JOIN neighborhood n ON n.id = u.neighborhood_id
+            LEFT JOIN district d ON d.id = n.district_id
+            GROUP BY t.name, d.name
+            ORDER BY t.name, d.name
+            """;
+
+    private static final String NO_DATA = "No hay datos";
+
     @Autowired
-    private DistrictRepository districtRepository;
+    private JdbcTemplate jdbc;
     @Autowired
-    private AnimalRepository animalRepository;
+    private ReportCache reportCache;
+    @Autowired
+    private ReportQueryService reportQueryService;
     @Autowired
-    private AbandonedAnimalRepository abandonedAnimalRepository;
+    private ReportExportService reportExportService;
+    @Autowired
+    private AnimalRepository animalRepository;
     @Autowired
-    private CommunityAnimalRepository communityAnimalRepository;
+    private ComplaintRepository complaintRepository;
 
     public List<?> getReportSummary(ReportType type) {
+        return reportCache.get(ReportCacheKey.of("api.reports", type), () -> loadReportSummary(type));
+    }
+
+    private List<?> loadReportSummary(ReportType type) {
         switch (type) {
             case MASCOTAS_POR_MUNICIPALIDAD:
-                return List.of();
+                return jdbc.query(PETS_BY_DISTRICT_SQL, (rs, i) -> new MascotasPorDistritoDTO(
+                        rs.getString("district_code"), rs.getString("district_name"), rs.getInt("total")));
             case ANIMALES_CALLEJEROS:
-                return List.of();
+                return jdbc.query(STREET_ANIMALS_BY_MONTH_SQL, (rs, i) -> new AnimalesCallejerosDTO(
+                        rs.getString("month"), rs.getString("area"), rs.getInt("total")));
             case ANIMALES_CON_HOGAR:
-                return List.of();
+                return jdbc.query(OWNED_ANIMALS_BY_DISTRICT_SQL, (rs, i) -> new AnimalesConHogarDTO(
+                        rs.getString("district"), rs.getInt("with_home"), rs.getInt("medical_attention"), rs.getInt("sterilized")));
             case INDICADORES_ABANDONO:
-                return List.of();
+                return jdbc.query(COMPLAINTS_BY_TYPE_AND_DISTRICT_SQL, (rs, i) -> new IndicadoresMaltratoDTO(
+                        rs.getString("category"), rs.getString("district"), rs.getInt("total")));
             default:
                 return Collections.emptyList();
         }
     }
 
-    public byte[] getReportCsv(ReportType type) {
+    public void writeReportCsv(ReportType type, OutputStream out) throws IOException {
         List<?> data = getReportSummary(type);
-        return ReportCsvExporter.export(type, data);
+        ReportCsvExporter.export(type, data, out);
     }
 
-    public byte[] getReportPdf(ReportType type) {
+    public void writeReportPdf(ReportType type, OutputStream out) throws IOException {
         List<?> data = getReportSummary(type);
-        return ReportPdfExporter.export(type, data);
+        ReportPdfExporter.export(type, data, out);
+    }
+
+    /**
+     * Builds the JSON summary of a {@code /reports} report type.
+     *
+     * @param type report type of {@code /reports}
+     * @return the response body, with {@code data} rows or a {@code total}
+     */
+    public Map<String, Object> getSummary(String type) {
+        switch (type) {
+            case "ANIMALES_ABANDONADOS":
+                return Map.of("type", type, "data", toDataRows(
+                        reportQueryService.fetch(ReportQuery.ABANDONED_BY_CANTON_SPECIES_SEX), "canton", "especie", "sexo", "cantidad"));
+            case "ESTERILIZACION_MUNICIPIO":
+                return dataOrEmpty(type, reportQueryService.fetch(ReportQuery.STERILIZATION_BY_MUNICIPALITY_SEX),
+                        "municipality", "sex", "status", "count");
+            case "ANIMALES_CALLEJEROS":
+                return Map.of("type", type, "total", animalRepository.countAbandonedAnimals());
+            case "DENUNCIAS_ABIERTAS":
+                return Map.of("type", type, "total", complaintRepository.countOpenComplaints());
+            case "MASCOTAS_POR_MUNICIPALIDAD":
+                return dataOrEmpty(type, reportQueryService.fetch(ReportQuery.ANIMALS_BY_MUNICIPALITY_SPECIES_SEX),
+                        "municipality", "species", "sex", "count");
+            case "ANIMALES_CON_HOGAR":
+                return dataOrEmpty(type, reportQueryService.fetch(ReportQuery.OWNED_ANIMALS_BY_MUNICIPALITY_STERILIZATION),
+                        "municipality", "status", "count");
+            case "INDICADORES_ABANDONO":
+                return Map.of("type", type, "data", toDataRows(
+                        reportQueryService.fetch(ReportQuery.COMPLAINTS_BY_TYPE), "tipo", "cantidad"));
+            default:
+                return Map.of("type", type, "data", List.of(), "message", NO_DATA);
+        }
+    }
+
+    /**
+     * Writes a {@code /reports} report type as CSV. The target stream is not closed.
+     */
+    public void writeCsv(String type, OutputStream out, boolean gzip) throws IOException {
+        reportExportService.writeCsv(type, out, gzip);
+    }
+
+    /**
+     * Writes a {@code /reports} report type as PDF. The target stream is not closed.
+     */
+    public void writePdf(String type, OutputStream out) throws IOException {
+        reportExportService.writePdf(type, out);
+    }
+
+    private Map<String, Object> dataOrEmpty(String type, List<ReportRow> rows, String... keys) {
+        if (rows.isEmpty()) {
+            return Map.of("type", type, "data", List.of(), "message", NO_DATA);
+        }
+        return Map.of("type", type, "data", toDataRows(rows, keys));
+    }
+
+    /**
+     * Converts aggregate rows into JSON rows.
+     *
+     * @param rows aggregate rows
+     * @param keys one key per dimension followed by the key of the count
+     * @return the JSON-ready rows
+     */
+    private List<Map<String, Object>> toDataRows(List<ReportRow> rows, String... keys) {
+        List<Map<String, Object>> data = new ArrayList<>(rows.size());
+        for (ReportRow row : rows) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            for (int i = 0; i < keys.length - 1; i++) {
+                item.put(keys[i], row.dimension(i));
+            }
+            item.put(keys[keys.length - 1], row.count());
+            data.add(item);
+        }
+        return data;
     }
 }
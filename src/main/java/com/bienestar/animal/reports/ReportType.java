@@ -1,12 +1,27 @@
 package com.bienestar.animal.reports;
 
+import com.project.demo.service.report.ReportDataFamily;
+
 /**
  * author nav
  */
 
 public enum ReportType {
-    MASCOTAS_POR_MUNICIPALIDAD,
-    ANIMALES_CALLEJEROS,
-    ANIMALES_CON_HOGAR,
-    INDICADORES_ABANDONO
+    MASCOTAS_POR_MUNICIPALIDAD(ReportDataFamily.ANIMALS),
+    ANIMALES_CALLEJEROS(ReportDataFamily.ANIMALS),
+    ANIMALES_CON_HOGAR(ReportDataFamily.ANIMALS),
+    INDICADORES_ABANDONO(ReportDataFamily.COMPLAINTS);
+
+    private final ReportDataFamily family;
+
+    ReportType(ReportDataFamily family) {
+        this.family = family;
+    }
+
+    /**
+     * @return the family of report tables the report reads
+     */
+    public ReportDataFamily getFamily() {
+        return family;
+    }
 }
@@ -0,0 +1,36 @@
+package com.project.demo;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Async request configuration used by streaming responses ({@code StreamingResponseBody}).
+ * <p>
+ * Streaming exports are written from a bounded pool instead of Spring's default
+ * thread-per-task executor, and get a timeout long enough for large downloads.
+ */
+@Configuration
+public class WebAsyncConfig implements WebMvcConfigurer {
+
+    private static final long STREAMING_TIMEOUT_MILLIS = 10 * 60 * 1000L;
+
+    @Bean
+    public ThreadPoolTaskExecutor streamingTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(16);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("streaming-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingTaskExecutor());
+        configurer.setDefaultTimeout(STREAMING_TIMEOUT_MILLIS);
+    }
+}
@@ -0,0 +1,134 @@
+package com.project.demo.common;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes CSV rows directly to an output stream.
+ * <p>
+ * Output is UTF-8 with a leading BOM (so spreadsheets detect the encoding) and
+ * fields are escaped following RFC 4180. Optionally the stream is gzip-compressed.
+ * Rows are never accumulated in memory, which keeps exports flat in memory
+ * regardless of their size.
+ * <p>
+ * Closing the writer finishes the CSV (and the gzip trailer) but does not close
+ * the underlying stream, which remains owned by the caller.
+ */
+public class CsvStreamWriter implements Closeable, Flushable {
+
+    private static final char BOM = '\uFEFF';
+    private static final char SEPARATOR = ',';
+    private static final String LINE_END = "\r\n";
+    private static final int BUFFER_SIZE = 8192;
+
+    private final OutputStream target;
+    private final GZIPOutputStream gzip;
+    private final Writer writer;
+    private boolean rowStarted;
+
+    /**
+     * Creates a writer and emits the UTF-8 BOM.
+     *
+     * @param out  destination stream
+     * @param gzip whether the output must be gzip-compressed
+     * @throws IOException if the BOM cannot be written
+     */
+    public CsvStreamWriter(OutputStream out, boolean gzip) throws IOException {
+        this.target = out;
+        this.gzip = gzip ? new GZIPOutputStream(out, BUFFER_SIZE, true) : null;
+        this.writer = new BufferedWriter(
+                new OutputStreamWriter(gzip ? this.gzip : out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.writer.write(BOM);
+    }
+
+    /**
+     * Writes a complete row.
+     *
+     * @param values field values; {@code null} is written as an empty field
+     * @throws IOException if writing fails
+     */
+    public void writeRow(Object... values) throws IOException {
+        for (Object value : values) {
+            writeField(value);
+        }
+        endRow();
+    }
+
+    /**
+     * Appends a single field to the current row.
+     *
+     * @param value field value; {@code null} is written as an empty field
+     * @throws IOException if writing fails
+     */
+    public void writeField(Object value) throws IOException {
+        if (rowStarted) {
+            writer.write(SEPARATOR);
+        }
+        rowStarted = true;
+        if (value != null) {
+            writer.write(escape(value.toString()));
+        }
+    }
+
+    /**
+     * Terminates the current row.
+     *
+     * @throws IOException if writing fails
+     */
+    public void endRow() throws IOException {
+        writer.write(LINE_END);
+        rowStarted = false;
+    }
+
+    /**
+     * Pushes buffered rows to the client so the first bytes arrive as soon as possible.
+     *
+     * @throws IOException if flushing fails
+     */
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+        if (gzip != null) {
+            gzip.flush();
+        }
+        target.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+        if (gzip != null) {
+            gzip.finish();
+        }
+        target.flush();
+    }
+
+    /**
+     * Escapes a value following RFC 4180: values containing separators, quotes or
+     * line breaks are quoted and inner quotes are doubled.
+     *
+     * @param value raw value
+     * @return the escaped value
+     */
+    static String escape(String value) {
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == SEPARATOR || c == '"' || c == '\n' || c == '\r') {
+                needsQuotes = true;
+                break;
+            }
+        }
+        if (!needsQuotes) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
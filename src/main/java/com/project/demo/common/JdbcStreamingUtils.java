@@ -0,0 +1,41 @@
+package com.project.demo.common;
+
+import org.springframework.jdbc.core.PreparedStatementCreator;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * Utility class for reading large result sets row by row.
+ * Provides statement creators that open forward-only, read-only cursors so the
+ * JDBC driver streams rows instead of buffering the whole result in memory.
+ */
+public class JdbcStreamingUtils {
+
+    /**
+     * Fetch size that switches the MySQL/MariaDB drivers into row-by-row streaming mode.
+     */
+    public static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    private JdbcStreamingUtils() {
+    }
+
+    /**
+     * Builds a statement creator for a forward-only, read-only streaming cursor.
+     * Use it with {@code JdbcTemplate.query(PreparedStatementCreator, RowCallbackHandler)}.
+     *
+     * @param sql    the SQL to execute
+     * @param params positional parameters, bound in order
+     * @return the statement creator
+     */
+    public static PreparedStatementCreator forwardOnly(String sql, Object... params) {
+        return connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(STREAMING_FETCH_SIZE);
+            for (int i = 0; i < params.length; i++) {
+                ps.setObject(i + 1, params[i]);
+            }
+            return ps;
+        };
+    }
+}
@@ -0,0 +1,105 @@
+package com.project.demo.common;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes newline-delimited JSON (one object per line) directly to an output stream.
+ * <p>
+ * Output is UTF-8, optionally gzip-compressed. Like {@link CsvStreamWriter}, rows are
+ * never accumulated in memory, so exports stay flat in memory regardless of their size.
+ * <p>
+ * Closing the writer finishes the output (and the gzip trailer) but does not close
+ * the underlying stream, which remains owned by the caller.
+ */
+public class NdjsonStreamWriter implements Closeable, Flushable {
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+    private static final int BUFFER_SIZE = 8192;
+
+    private final OutputStream target;
+    private final GZIPOutputStream gzip;
+    private final JsonGenerator generator;
+
+    /**
+     * @param out  destination stream
+     * @param gzip whether the output must be gzip-compressed
+     * @throws IOException if the stream cannot be prepared
+     */
+    public NdjsonStreamWriter(OutputStream out, boolean gzip) throws IOException {
+        this.target = out;
+        this.gzip = gzip ? new GZIPOutputStream(out, BUFFER_SIZE, true) : null;
+        this.generator = JSON_FACTORY.createGenerator(gzip ? this.gzip : out);
+        this.generator.setRootValueSeparator(null);
+    }
+
+    /**
+     * Writes one object on its own line.
+     *
+     * @param names  field names
+     * @param values one value per name; numbers and booleans keep their JSON type,
+     *               {@code null} is written as {@code null} and anything else as a string
+     * @throws IOException if writing fails
+     */
+    public void writeRow(String[] names, Object[] values) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < names.length; i++) {
+            generator.writeFieldName(names[i]);
+            writeValue(values[i]);
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    /**
+     * Pushes buffered rows to the client so the first bytes arrive as soon as possible.
+     *
+     * @throws IOException if flushing fails
+     */
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+        if (gzip != null) {
+            gzip.flush();
+        }
+        target.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+        if (gzip != null) {
+            gzip.finish();
+        }
+        target.flush();
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            generator.writeNumber(((Number) value).longValue());
+        } else if (value instanceof BigDecimal decimal) {
+            generator.writeNumber(decimal);
+        } else if (value instanceof BigInteger integer) {
+            generator.writeNumber(integer);
+        } else if (value instanceof Number number) {
+            generator.writeNumber(number.doubleValue());
+        } else if (value instanceof Boolean bool) {
+            generator.writeBoolean(bool);
+        } else {
+            generator.writeString(value.toString());
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.project.demo.common;
+
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.PageSize;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.Phrase;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfWriter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes paginated PDF reports directly to an output stream.
+ * <p>
+ * Tables are added to the document in chunks of {@link #ROWS_PER_CHUNK} rows, so
+ * iText lays out and writes each completed page as soon as it fills up and only
+ * the rows of the current chunk stay in memory. The table header is repeated on
+ * every page. Fonts and header cell styles are created once and shared by every
+ * report.
+ * <p>
+ * Closing the writer finishes the PDF but does not close the underlying stream,
+ * which remains owned by the caller.
+ */
+public class PdfStreamWriter implements Closeable {
+
+    /**
+     * Number of rows buffered before they are handed to the document for layout.
+     */
+    static final int ROWS_PER_CHUNK = 200;
+
+    private static final Font TITLE_FONT = new Font(Font.FontFamily.HELVETICA, 16, Font.BOLD);
+    private static final Font SUBTITLE_FONT = new Font(Font.FontFamily.HELVETICA, 10, Font.NORMAL, BaseColor.DARK_GRAY);
+    private static final Font HEADER_FONT = new Font(Font.FontFamily.HELVETICA, 10, Font.BOLD, BaseColor.WHITE);
+    private static final Font CELL_FONT = new Font(Font.FontFamily.HELVETICA, 9);
+    private static final Font TEXT_FONT = new Font(Font.FontFamily.HELVETICA, 11);
+    private static final BaseColor HEADER_BACKGROUND = new BaseColor(0x2E, 0x7D, 0x32);
+    private static final DateTimeFormatter GENERATED_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final Document document;
+    private PdfPTable table;
+    private int pendingRows;
+
+    /**
+     * Opens a LETTER document and writes the report title.
+     *
+     * @param out   destination stream
+     * @param title report title shown on the first page
+     * @throws IOException if the document cannot be opened
+     */
+    public PdfStreamWriter(OutputStream out, String title) throws IOException {
+        this.document = new Document(PageSize.LETTER, 40, 40, 40, 40);
+        try {
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            writer.setCloseStream(false);
+            document.open();
+            document.add(new Paragraph(title, TITLE_FONT));
+            Paragraph generated = new Paragraph("Generado: " + LocalDateTime.now().format(GENERATED_FORMAT), SUBTITLE_FONT);
+            generated.setSpacingAfter(12);
+            document.add(generated);
+        } catch (DocumentException e) {
+            throw new IOException("No se pudo iniciar el documento PDF", e);
+        }
+    }
+
+    /**
+     * Starts a new table; any table in progress is finished first.
+     *
+     * @param headers column headers, repeated at the top of every page
+     * @throws IOException if the previous table cannot be written
+     */
+    public void beginTable(String... headers) throws IOException {
+        endTable();
+        table = new PdfPTable(headers.length);
+        table.setWidthPercentage(100);
+        table.setHeaderRows(1);
+        table.setComplete(false);
+        for (String header : headers) {
+            PdfPCell cell = new PdfPCell(new Phrase(header, HEADER_FONT));
+            cell.setBackgroundColor(HEADER_BACKGROUND);
+            cell.setPadding(4);
+            table.addCell(cell);
+        }
+    }
+
+    /**
+     * Adds a row to the current table, flushing a chunk to the document when full.
+     *
+     * @param values one value per column; {@code null} is written as an empty cell
+     * @throws IOException           if the chunk cannot be written
+     * @throws IllegalStateException if no table has been started
+     */
+    public void writeRow(Object... values) throws IOException {
+        if (table == null) {
+            throw new IllegalStateException("beginTable must be called before writeRow");
+        }
+        for (Object value : values) {
+            PdfPCell cell = new PdfPCell(new Phrase(value != null ? value.toString() : "", CELL_FONT));
+            cell.setPadding(3);
+            if (value instanceof Number) {
+                cell.setHorizontalAlignment(Element.ALIGN_RIGHT);
+            }
+            table.addCell(cell);
+        }
+        if (++pendingRows >= ROWS_PER_CHUNK) {
+            add(table);
+            pendingRows = 0;
+        }
+    }
+
+    /**
+     * Writes a paragraph of text, finishing any table in progress.
+     *
+     * @param text the text to write
+     * @throws IOException if the paragraph cannot be written
+     */
+    public void writeText(String text) throws IOException {
+        endTable();
+        add(new Paragraph(text, TEXT_FONT));
+    }
+
+    /**
+     * Finishes the current table, if any.
+     *
+     * @throws IOException if the remaining rows cannot be written
+     */
+    public void endTable() throws IOException {
+        if (table == null) {
+            return;
+        }
+        table.setComplete(true);
+        add(table);
+        table = null;
+        pendingRows = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        endTable();
+        document.close();
+    }
+
+    private void add(Element element) throws IOException {
+        try {
+            document.add(element);
+        } catch (DocumentException e) {
+            throw new IOException("No se pudo escribir el documento PDF", e);
+        }
+    }
+}
@@ -14,6 +14,7 @@ public class SchedulerCronConstants {
     public static final String EVERY_5_MINUTES = "0 */5 * * * *";
     public static final String EVERY_HOUR = "0 0 * * * *";
     public static final String EVERY_MIDNIGHT = "0 0 0 * * *";
+    public static final String EVERY_DAY_AT_00_30 = "0 30 0 * * *";
 
     public static final String ZONE_AMERICA_COSTA_RICA = "America/Costa_Rica";
     public static final int DAYS_BETWEEN_NOTIFICATIONS_FOR_REGISTER_COMMUNITY_ANIMALS = 7;
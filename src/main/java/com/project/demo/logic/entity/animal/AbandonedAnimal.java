@@ -18,7 +18,9 @@ import java.time.LocalDateTime;
  * @author gjimenez
  */
 @Entity
-@Table(name = "abandoned_animal")
+@Table(name = "abandoned_animal", indexes = {
+        @Index(name = "idx_abandoned_animal_trend", columnList = "is_abandoned, created_at, canton_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
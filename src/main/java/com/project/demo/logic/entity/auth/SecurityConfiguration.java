@@ -1,6 +1,7 @@
 package com.project.demo.logic.entity.auth;
 
 import com.project.demo.logic.constants.security.PublicEndpointsConstants;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -65,6 +66,8 @@ public class SecurityConfiguration {
                 // Define reglas de autorización. Se permiten ciertas rutas públicas,
                 // mientras que el resto requiere autenticación.
                 .authorizeHttpRequests(auth -> auth
+                        // Las respuestas asíncronas (streams) ya se autorizaron en la petición original
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(HttpMethod.POST, PublicEndpointsConstants.AUTH).permitAll()
                         .requestMatchers(PublicEndpointsConstants.OAUTH2,
                                 PublicEndpointsConstants.LOGIN,
@@ -21,6 +21,8 @@ import com.project.demo.logic.entity.vaccine_application.VaccineApplication;
 import com.project.demo.logic.entity.vaccine_application.VaccineApplicationRepository;
 import com.project.demo.rest.community_animal.dto.CreateAnimalRequestDTO;
 import com.project.demo.rest.community_animal.dto.SanitaryControlDTO;
+import com.project.demo.service.notification.PreventiveCareDueService;
+import com.project.demo.service.report.ReportRollupService;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -44,6 +46,8 @@ public class CommunityAnimalService {
     @Autowired private VaccineApplicationRepository vaccineApplicationRepository;
     @Autowired private UserRepository userRepository;
     @Autowired private AnimalTypeRepository animalTypeRepository;
+    @Autowired private ReportRollupService reportRollupService;
+    @Autowired private PreventiveCareDueService preventiveCareDueService;
 
     /**
      * Creates and persists a new community animal along with its sanitary controls and vaccine applications.
@@ -140,6 +144,8 @@ public class CommunityAnimalService {
         }
 
         CommunityAnimal savedAnimal = communityAnimalRepository.save(animal);
+        communityAnimalRepository.flush();
+        reportRollupService.animalCreated(savedAnimal.getId());
 
         if (dto.getVaccineApplications() != null) {
             List<VaccineApplication> applications = new ArrayList<>();
@@ -154,7 +160,9 @@ public class CommunityAnimalService {
                         .build());
             }
             vaccineApplicationRepository.saveAll(applications);
+            vaccineApplicationRepository.flush();
         }
+        preventiveCareDueService.animalChanged(savedAnimal.getId());
 
         return savedAnimal;
     }
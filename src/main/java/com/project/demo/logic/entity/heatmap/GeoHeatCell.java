@@ -0,0 +1,43 @@
+package com.project.demo.logic.entity.heatmap;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Number of georeferenced points of a source inside a fixed-size grid cell, maintained
+ * incrementally by {@code GeoHeatmapService} for every precision of {@code GeoGrid}.
+ */
+@Entity
+@Table(name = "geo_heat_cell", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_geo_heat_cell_key", columnNames = {"source", "cell_precision", "cell_x", "cell_y"})
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeoHeatCell {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source", nullable = false, length = 32)
+    private HeatmapSource source;
+
+    /**
+     * Cells of precision {@code p} measure {@code 1 / 2^p} degrees per side.
+     */
+    @Column(name = "cell_precision", nullable = false)
+    private int cellPrecision;
+
+    @Column(name = "cell_x", nullable = false)
+    private int cellX;
+
+    @Column(name = "cell_y", nullable = false)
+    private int cellY;
+
+    @Column(name = "total", nullable = false)
+    private long total;
+}
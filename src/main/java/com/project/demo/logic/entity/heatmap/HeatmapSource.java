@@ -0,0 +1,15 @@
+package com.project.demo.logic.entity.heatmap;
+
+/**
+ * Origin of the points counted in a {@link GeoHeatCell}.
+ */
+public enum HeatmapSource {
+    /**
+     * Abandoned animal sightings registered by census users.
+     */
+    ABANDONED_ANIMAL,
+    /**
+     * Complaints filed by users.
+     */
+    COMPLAINT
+}
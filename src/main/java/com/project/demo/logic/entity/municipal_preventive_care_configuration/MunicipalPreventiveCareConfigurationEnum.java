@@ -1,19 +1,27 @@
 package com.project.demo.logic.entity.municipal_preventive_care_configuration;
 
+import com.project.demo.logic.entity.sanitary_control_type.SanitaryControlTypeEnum;
 import lombok.Getter;
 
 @Getter
 public enum MunicipalPreventiveCareConfigurationEnum {
-    VACCINATION("Vacunación", "Frecuencia en meses para vacunación"),
-    DEWORMING("Desparasitación", "Frecuencia en meses para desparasitación"),
-    FLEA_TREATMENT("Pulguicida", "Frecuencia en meses para tratamiento contra pulgas");
+    VACCINATION("Vacunación", "Frecuencia en meses para vacunación", null),
+    DEWORMING("Desparasitación", "Frecuencia en meses para desparasitación", SanitaryControlTypeEnum.DEWORMING),
+    FLEA_TREATMENT("Pulguicida", "Frecuencia en meses para tratamiento contra pulgas", SanitaryControlTypeEnum.FLEA_AND_TICK_CONTROL);
 
     private final String name;
     private final String description;
 
-    MunicipalPreventiveCareConfigurationEnum(String name, String description) {
+    /**
+     * Sanitary control that satisfies this care, or {@code null} when it is tracked
+     * through vaccine applications.
+     */
+    private final SanitaryControlTypeEnum sanitaryControlType;
+
+    MunicipalPreventiveCareConfigurationEnum(String name, String description, SanitaryControlTypeEnum sanitaryControlType) {
         this.name = name;
         this.description = description;
+        this.sanitaryControlType = sanitaryControlType;
     }
 }
 
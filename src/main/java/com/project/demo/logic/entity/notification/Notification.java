@@ -11,7 +11,13 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
-@Table(name = "notification")
+@Table(name = "notification", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_notification_outbox_event_user", columnNames = {"outbox_event_id", "user_id"})
+}, indexes = {
+        @Index(name = "idx_notification_user_type_date", columnList = "user_id, notification_type_id, date_issued"),
+        @Index(name = "idx_notification_user_date", columnList = "user_id, date_issued"),
+        @Index(name = "idx_notification_user_created", columnList = "user_id, created_at")
+})
 @Entity
 @Getter
 @Setter
@@ -37,6 +43,10 @@ public class Notification {
     @Column(name = "action_url")
     private String actionUrl;
 
+    // Outbox event that created the notification; null when it was created directly
+    @Column(name = "outbox_event_id")
+    private Long outboxEventId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -0,0 +1,184 @@
+package com.project.demo.logic.entity.notification;
+
+import com.project.demo.service.notification.NotificationCounterService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Inserts the notifications of a fan-out (the same notification for many users) with
+ * multi-row JDBC inserts.
+ * <p>
+ * {@link Notification} ids are {@code IDENTITY}, which disables Hibernate insert batching,
+ * so saving a fan-out through the repository costs one round trip per user. Here each
+ * chunk of {@code notifications.bulk.chunk-size} users is a single statement committed
+ * in its own transaction, independent of any transaction of the caller, so a large
+ * fan-out never holds one long transaction. The chunk's transaction also updates the
+ * recipients' counters ({@link NotificationCounterService}).
+ * <p>
+ * Because chunks commit independently, a fan-out that fails halfway leaves the previous
+ * chunks committed. A fan-out with an {@link NotificationFanOut#outboxEventId() outbox event}
+ * is therefore idempotent: each chunk skips the users that already have a notification of
+ * that event, and the unique key {@code (outbox_event_id, user_id)} rejects a chunk written
+ * concurrently, so retrying the event only inserts the missing notifications.
+ */
+@Component
+public class NotificationBulkWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationBulkWriter.class);
+
+    private static final String INSERT_SQL = """
+            INSERT INTO notification (title, description, action_url, date_issued, user_id,
+                                      notification_type_id, notification_status_id, outbox_event_id,
+                                      created_at, updated_at)
+            VALUES\s""";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String EXISTING_SQL = "SELECT user_id FROM notification WHERE outbox_event_id = ? AND user_id IN (";
+    private static final int COLUMNS = 10;
+    // Prepared statements accept at most 65535 parameters
+    static final int MAX_CHUNK_SIZE = 65535 / COLUMNS;
+
+    private final JdbcTemplate jdbc;
+    private final NotificationCounterService counterService;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+
+    private final LongAdder fanOuts = new LongAdder();
+    private final LongAdder notifications = new LongAdder();
+    private final LongAdder chunks = new LongAdder();
+    private final LongAdder failedChunks = new LongAdder();
+    private final LongAdder chunkNanos = new LongAdder();
+
+    public NotificationBulkWriter(
+            JdbcTemplate jdbc,
+            NotificationCounterService counterService,
+            PlatformTransactionManager transactionManager,
+            @Value("${notifications.bulk.chunk-size:1000}") int chunkSize
+    ) {
+        this.jdbc = jdbc;
+        this.counterService = counterService;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = Math.max(1, Math.min(chunkSize, MAX_CHUNK_SIZE));
+    }
+
+    /**
+     * Inserts one notification per user.
+     *
+     * @param userIds recipients
+     * @param content content shared by every notification
+     * @return notifications inserted
+     */
+    public int insertForUsers(List<Long> userIds, NotificationFanOut content) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        int inserted = 0;
+        for (int from = 0; from < userIds.size(); from += chunkSize) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + chunkSize, userIds.size()));
+            inserted += insertChunk(chunk, content);
+        }
+        fanOuts.increment();
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        logger.info("Notificaciones '{}' insertadas: {} en {} ms ({} por segundo)",
+                content.title(), inserted, millis, inserted * 1000L / millis);
+        return inserted;
+    }
+
+    /**
+     * @return a snapshot of the writer metrics
+     */
+    public NotificationBulkWriterStats stats() {
+        long committed = chunks.sum();
+        double averageMillis = committed == 0 ? 0 : chunkNanos.sum() / 1_000_000.0 / committed;
+        return new NotificationBulkWriterStats(fanOuts.sum(), notifications.sum(), committed, failedChunks.sum(), averageMillis);
+    }
+
+    private int insertChunk(List<Long> userIds, NotificationFanOut content) {
+        long start = System.nanoTime();
+        try {
+            Integer inserted = chunkTransaction.execute(status -> {
+                List<Long> missing = missingUsers(userIds, content.outboxEventId());
+                if (missing.isEmpty()) {
+                    return 0;
+                }
+                counterService.recordInserted(content.notificationStatusId(), content.dateIssued(), missing);
+                return jdbc.update(buildInsertSql(missing.size()), insertParams(missing, content));
+            });
+            chunks.increment();
+            chunkNanos.add(System.nanoTime() - start);
+            int rows = inserted != null ? inserted : 0;
+            notifications.add(rows);
+            return rows;
+        } catch (RuntimeException e) {
+            failedChunks.increment();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the users of the chunk without a notification of the fan-out's event yet
+     */
+    private List<Long> missingUsers(List<Long> userIds, Long outboxEventId) {
+        if (outboxEventId == null) {
+            return userIds;
+        }
+        StringBuilder sql = new StringBuilder(EXISTING_SQL.length() + userIds.size() * 3).append(EXISTING_SQL);
+        Object[] params = new Object[userIds.size() + 1];
+        params[0] = outboxEventId;
+        for (int i = 0; i < userIds.size(); i++) {
+            sql.append(i > 0 ? ", ?" : "?");
+            params[i + 1] = userIds.get(i);
+        }
+        Set<Long> existing = new HashSet<>(jdbc.queryForList(sql.append(')').toString(), Long.class, params));
+        if (existing.isEmpty()) {
+            return userIds;
+        }
+        logger.info("Evento de notificación {}: {} destinatarios ya notificados, se omiten", outboxEventId, existing.size());
+        return userIds.stream().filter(userId -> !existing.contains(userId)).toList();
+    }
+
+    private static Object[] insertParams(List<Long> userIds, NotificationFanOut content) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Timestamp dateIssued = Timestamp.valueOf(content.dateIssued());
+        List<Object> params = new ArrayList<>(userIds.size() * COLUMNS);
+        for (Long userId : userIds) {
+            params.add(content.title());
+            params.add(content.description());
+            params.add(content.actionUrl());
+            params.add(dateIssued);
+            params.add(userId);
+            params.add(content.notificationTypeId());
+            params.add(content.notificationStatusId());
+            params.add(content.outboxEventId());
+            params.add(now);
+            params.add(now);
+        }
+        return params.toArray();
+    }
+
+    static String buildInsertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_SQL.length() + rows * (ROW.length() + 2)).append(INSERT_SQL);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW);
+        }
+        return sql.toString();
+    }
+}
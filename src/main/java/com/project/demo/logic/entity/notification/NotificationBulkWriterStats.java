@@ -0,0 +1,26 @@
+package com.project.demo.logic.entity.notification;
+
+/**
+ * Snapshot of the {@link NotificationBulkWriter} metrics since startup.
+ *
+ * @param fanOuts            fan-outs written
+ * @param notifications      notifications inserted
+ * @param chunks             chunks committed
+ * @param failedChunks       chunks rolled back
+ * @param averageChunkMillis mean time of the committed chunks, transaction included
+ */
+public record NotificationBulkWriterStats(
+        long fanOuts,
+        long notifications,
+        long chunks,
+        long failedChunks,
+        double averageChunkMillis
+) {
+
+    /**
+     * @return notifications inserted per second of chunk time, or {@code 0} when nothing was written
+     */
+    public double notificationsPerSecond() {
+        return averageChunkMillis == 0 ? 0 : notifications / (averageChunkMillis * chunks / 1000.0);
+    }
+}
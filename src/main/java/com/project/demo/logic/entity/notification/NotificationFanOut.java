@@ -0,0 +1,26 @@
+package com.project.demo.logic.entity.notification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Content shared by every notification of a fan-out written by {@link NotificationBulkWriter}.
+ *
+ * @param title                the notification title
+ * @param description          the notification description
+ * @param actionUrl            optional action URL
+ * @param dateIssued           issue date of every notification
+ * @param notificationTypeId   id of the notification type
+ * @param notificationStatusId id of the initial notification status
+ * @param outboxEventId        id of the outbox event that originated the fan-out, or {@code null};
+ *                             makes the fan-out idempotent, see {@link NotificationBulkWriter}
+ */
+public record NotificationFanOut(
+        String title,
+        String description,
+        String actionUrl,
+        LocalDateTime dateIssued,
+        long notificationTypeId,
+        long notificationStatusId,
+        Long outboxEventId
+) {
+}
@@ -3,11 +3,12 @@ package com.project.demo.logic.entity.notification;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
@@ -23,34 +24,33 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     Page<Notification> findByUser_Email(String email, Pageable pageable);
 
     /**
-     * Counts the number of notifications by their status ID.
+     * Finds paginated notifications of a user, through the {@code (user_id, date_issued)} index
+     * when sorted by issue date.
      *
-     * @param statusId the ID of the notification status
-     * @return the count of notifications with the specified status
-     * @author dgutierrez
+     * @param userId   the ID of the user
+     * @param pageable the pagination object
+     * @return a page of notifications for the specified user
      */
-    long countByNotificationStatus_Id(Long statusId);
+    Page<Notification> findByUser_Id(Long userId, Pageable pageable);
 
     /**
-     * Counts the number of notifications for a user by their email and status ID.
+     * Finds the notifications of some users inserted since a moment, with their type and status.
      *
-     * @param email    the email of the user
-     * @param statusId the ID of the notification status
-     * @return the count of notifications for the specified user and status
-     * @author dgutierrez
+     * @param since   inclusive lower bound of the insertion time
+     * @param userIds recipients
+     * @return the notifications, in id order
      */
-    long countByUser_EmailAndNotificationStatus_Id(String email, Long statusId);
+    @Query("""
+    SELECT n FROM Notification n
+    JOIN FETCH n.notificationType
+    JOIN FETCH n.notificationStatus
+    WHERE n.createdAt >= :since AND n.user.id IN :userIds
+    ORDER BY n.id
+""")
+    List<Notification> findCreatedSinceForUsers(@Param("since") LocalDateTime since,
+                                                @Param("userIds") Collection<Long> userIds);
 
     Optional<Notification> findTopByUserIdAndNotificationType_NameAndTitleOrderByDateIssuedDesc(Long userId, String typeName, String title);
 
     Optional<Notification> findTopByUserIdAndNotificationType_NameOrderByDateIssuedDesc(Long userId, String typeName);
-
-    @Transactional
-    @Modifying
-    @Query("""
-    UPDATE Notification n
-    SET n.notificationStatus.id = :readStatusId
-    WHERE n.user.email = :email
-""")
-    int markAllAsReadForUser(@Param("email") String email, @Param("readStatusId") Long readStatusId);
 }
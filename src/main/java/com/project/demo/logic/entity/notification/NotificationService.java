@@ -11,8 +11,11 @@ import com.project.demo.logic.entity.notification_type.NotificationTypeRepositor
 import com.project.demo.logic.entity.rol.RoleEnum;
 import com.project.demo.logic.entity.user.User;
 import com.project.demo.logic.entity.user.UserRepository;
+import com.project.demo.service.notification.NotificationCounterService;
+import com.project.demo.service.notification.NotificationReadWatermarkService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 
 import java.time.LocalDateTime;
@@ -36,6 +39,9 @@ public class NotificationService {
     private final NotificationTypeRepository notificationTypeRepository;
     private final NotificationStatusRepository notificationStatusRepository;
     private final UserRepository userRepository;
+    private final NotificationBulkWriter notificationBulkWriter;
+    private final NotificationCounterService notificationCounterService;
+    private final NotificationReadWatermarkService notificationReadWatermarkService;
     private static final Logger logger = org.slf4j.LoggerFactory.getLogger(NotificationService.class);
 
     /**
@@ -46,15 +52,17 @@ public class NotificationService {
      * @param actionUrl        Optional override for the action URL.
      * @param municipalityId   Municipality whose users will receive the notification.
      * @param excludedEmail    Email to exclude from notification (e.g., the creator).
+     * @param outboxEventId    Outbox event being dispatched, or {@code null}; see {@link NotificationFanOut}.
      * @author dgutierrez
      */
     public void notifyAnnouncementCreationToMunicipalityUsers(
             NotificationTypeEnum notificationType,
             String actionUrl,
             Long municipalityId,
-            String excludedEmail
+            String excludedEmail,
+            Long outboxEventId
     ) {
-        var users = userRepository.findByMunicipality_IdAndEmailNot(municipalityId, excludedEmail);
+        var userIds = userRepository.findIdsByMunicipalityIdAndEmailNot(municipalityId, excludedEmail);
 
         var type = notificationTypeRepository.findByName(notificationType.getName())
                 .orElseThrow(() -> new IllegalStateException("Notification type '" + notificationType.getName() + "' not found"));
@@ -63,7 +71,7 @@ public class NotificationService {
                 .orElseThrow(() -> new IllegalStateException("Notification status '" + NotificationStatusEnum.SENT.getName() + "' not found"));
 
         var template = NotificationTemplateRegistry.getTemplate(notificationType);
-        getResolvedActionUrl(actionUrl, users, type, status, template);
+        getResolvedActionUrl(actionUrl, userIds, type, status, template, outboxEventId);
     }
 
     /**
@@ -72,21 +80,23 @@ public class NotificationService {
      * <p>
      * This method retrieves all users with the role MUNICIPAL_ADMIN within the specified municipality,
      * builds a notification using a predefined template for complaint creation,
-     * and saves it for each applicable user.
+     * and inserts it for every applicable user in bulk ({@link NotificationBulkWriter}).
      * <p>
      * If no notification type or status is found in the system, the method throws an {@link IllegalStateException}.
      *
      * @param actionUrl optional URL that users can follow to view or act on the complaint;
      *                  if not provided, the default action URL from the template will be used.
      * @param municipalityId the ID of the municipality whose administrators should be notified.
+     * @param outboxEventId  the outbox event being dispatched, or {@code null}; see {@link NotificationFanOut}.
      * @throws IllegalStateException if the notification type or status cannot be found in the system.
      * @author dgutierrez
      */
     public void notifyComplaintCreationToAdministrators(
             String actionUrl,
-            Long municipalityId
+            Long municipalityId,
+            Long outboxEventId
     ) {
-        var users = userRepository.findByMunicipalityIdAndRolesName(municipalityId, RoleEnum.MUNICIPAL_ADMIN);
+        var userIds = userRepository.findIdsByMunicipalityIdAndRolesName(municipalityId, RoleEnum.MUNICIPAL_ADMIN);
 
         var type = notificationTypeRepository.findByName(NotificationTypeEnum.COMPLAINT.getName())
                 .orElseThrow(() -> new IllegalStateException("No se encontró el tipo de notificación 'COMPLAINT_CREATED'"));
@@ -95,27 +105,21 @@ public class NotificationService {
                 .orElseThrow(() -> new IllegalStateException("No se encontró el estado de notificación 'SENT'"));
 
         var template = NotificationTemplateRegistry.getTemplate(NotificationTypeEnum.COMPLAINT);
-        getResolvedActionUrl(actionUrl, users, type, status, template);
+        getResolvedActionUrl(actionUrl, userIds, type, status, template, outboxEventId);
     }
 
-    private void getResolvedActionUrl(String actionUrl, List<User> users, NotificationType type, NotificationStatus status, NotificationTemplate template) {
+    private void getResolvedActionUrl(String actionUrl, List<Long> userIds, NotificationType type, NotificationStatus status, NotificationTemplate template, Long outboxEventId) {
         var resolvedActionUrl = (actionUrl != null && !actionUrl.isBlank()) ? actionUrl : template.actionUrl();
 
-        var dateIssued = LocalDateTime.now();
-
-        users.forEach(user -> {
-            var notification = Notification.builder()
-                    .title(template.title())
-                    .description(template.message())
-                    .actionUrl(resolvedActionUrl)
-                    .dateIssued(dateIssued)
-                    .user(user)
-                    .notificationType(type)
-                    .notificationStatus(status)
-                    .build();
-
-            notificationRepository.save(notification);
-        });
+        notificationBulkWriter.insertForUsers(userIds, new NotificationFanOut(
+                template.title(),
+                template.message(),
+                resolvedActionUrl,
+                LocalDateTime.now(),
+                type.getId(),
+                status.getId(),
+                outboxEventId
+        ));
     }
 
     /**
@@ -168,6 +172,7 @@ public class NotificationService {
                 .user(complaint.getCreatedBy())
                 .build();
 
+        notificationCounterService.recordInserted(List.of(notification));
         notificationRepository.save(notification);
         logger.info("Notificación enviada al usuario {} por cambio de estado de denuncia a '{}'.", complaint.getCreatedBy().getEmail(), stateEnum.getName());
     }
@@ -199,6 +204,7 @@ public class NotificationService {
                 .user(complaint.getCreatedBy())
                 .build();
 
+        notificationCounterService.recordInserted(List.of(notification));
         notificationRepository.save(notification);
         logger.info("Notificación de observaciones enviada a usuario {}", complaint.getCreatedBy().getEmail());
     }
@@ -207,14 +213,16 @@ public class NotificationService {
      * Notifies municipal administrators that a complaint has been resubmitted by the user after corrections.
      * <p>
      * This method retrieves all municipal administrators for the municipality of the complaint,
-     * builds a notification using a predefined template, and saves it for each administrator.
+     * builds a notification using a predefined template, and inserts it for every administrator
+     * in bulk ({@link NotificationBulkWriter}).
      * </p>
      *
-     * @param complaint The complaint that has been resubmitted.
+     * @param complaint     The complaint that has been resubmitted.
+     * @param outboxEventId The outbox event being dispatched, or {@code null}; see {@link NotificationFanOut}.
      * @author dgutierrez
      */
-    public void notifyResubmission(Complaint complaint) {
-        var admins = userRepository.findByMunicipalityIdAndRolesName(
+    public void notifyResubmission(Complaint complaint, Long outboxEventId) {
+        var adminIds = userRepository.findIdsByMunicipalityIdAndRolesName(
                 complaint.getCreatedBy().getMunicipality().getId(),
                 RoleEnum.MUNICIPAL_ADMIN);
 
@@ -224,18 +232,15 @@ public class NotificationService {
         var status = notificationStatusRepository.findByName(NotificationStatusEnum.SENT.getName())
                 .orElseThrow(() -> new IllegalStateException("Notification status '" + NotificationStatusEnum.SENT.getName() + "' not found"));
 
-        for (User admin : admins) {
-            Notification notification = Notification.builder()
-                    .title("Denuncia reenviada")
-                    .description("Una denuncia ha sido reenviada por el usuario tras correcciones.")
-                    .notificationType(type)
-                    .dateIssued(LocalDateTime.now())
-                    .notificationStatus(status)
-                    .user(admin)
-                    .build();
-
-            notificationRepository.save(notification);
-        }
+        notificationBulkWriter.insertForUsers(adminIds, new NotificationFanOut(
+                "Denuncia reenviada",
+                "Una denuncia ha sido reenviada por el usuario tras correcciones.",
+                null,
+                LocalDateTime.now(),
+                type.getId(),
+                status.getId(),
+                outboxEventId
+        ));
 
         logger.info("Notificación de resubmisión enviada a administradores municipales");
     }
@@ -266,7 +271,21 @@ public class NotificationService {
                 .user(complaint.getCreatedBy())
                 .build();
 
+        notificationCounterService.recordInserted(List.of(notification));
         notificationRepository.save(notification);
         logger.info("Notificación de denuncia completada enviada al usuario {}", complaint.getCreatedBy().getEmail());
     }
+
+    /**
+     * Marks every notification issued so far to a user as read by advancing the user's read
+     * watermark, without updating the notifications themselves.
+     *
+     * @param user the user
+     * @return notifications that were unread
+     */
+    @Transactional
+    public long markAllAsReadForUser(User user) {
+        notificationReadWatermarkService.advance(user.getId(), LocalDateTime.now());
+        return notificationCounterService.markAllRead(user.getId());
+    }
 }
@@ -0,0 +1,36 @@
+package com.project.demo.logic.entity.notification_counter;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Number of notifications of a user in a status, maintained by
+ * {@code NotificationCounterService} in the same transaction as every insert or status
+ * change of the user's notifications, so badge counts never scan {@code notification}.
+ */
+@Entity
+@Table(name = "notification_counter", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_notification_counter_user_status", columnNames = {"user_id", "status_id"})
+}, indexes = {
+        @Index(name = "idx_notification_counter_status_total", columnList = "status_id, total")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationCounter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "status_id", nullable = false)
+    private Long statusId;
+
+    @Column(name = "total", nullable = false)
+    private long total;
+}
@@ -0,0 +1,19 @@
+package com.project.demo.logic.entity.notification_outbox;
+
+/**
+ * Domain events that produce notifications, and what the aggregate id of each one refers to.
+ */
+public enum NotificationEventType {
+    /** A complaint was created; aggregate: the municipality whose administrators are notified. */
+    COMPLAINT_CREATED,
+    /** A complaint was resubmitted after corrections; aggregate: the complaint. */
+    COMPLAINT_RESUBMITTED,
+    /** A complaint received observations; aggregate: the complaint. */
+    COMPLAINT_OBSERVED,
+    /** A complaint was approved; aggregate: the complaint. */
+    COMPLAINT_APPROVED,
+    /** A complaint was completed; aggregate: the complaint. */
+    COMPLAINT_COMPLETED,
+    /** An announcement was created; aggregate: the municipality, detail: the creator's email. */
+    ANNOUNCEMENT_CREATED
+}
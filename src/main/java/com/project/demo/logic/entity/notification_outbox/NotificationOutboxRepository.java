@@ -0,0 +1,37 @@
+package com.project.demo.logic.entity.notification_outbox;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for {@link NotificationOutboxEvent} entities.
+ */
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutboxEvent, Long> {
+
+    List<NotificationOutboxEvent> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+            NotificationOutboxStatus status, LocalDateTime now, Pageable pageable);
+
+    /**
+     * Locks an event until the end of the caller's transaction, if it is still pending.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM NotificationOutboxEvent e WHERE e.id = :id AND e.status = :status")
+    Optional<NotificationOutboxEvent> findByIdAndStatusForUpdate(@Param("id") Long id, @Param("status") NotificationOutboxStatus status);
+
+    long countByStatus(NotificationOutboxStatus status);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM NotificationOutboxEvent e WHERE e.status = :status AND e.processedAt < :processedBefore")
+    int deleteProcessedBefore(@Param("status") NotificationOutboxStatus status, @Param("processedBefore") LocalDateTime processedBefore);
+}
@@ -0,0 +1,13 @@
+package com.project.demo.logic.entity.notification_outbox;
+
+/**
+ * Lifecycle of a {@link NotificationOutboxEvent}.
+ */
+public enum NotificationOutboxStatus {
+    /** Waiting to be dispatched, possibly after a failed attempt. */
+    PENDING,
+    /** Notifications created. */
+    DONE,
+    /** Every attempt failed; kept for inspection. */
+    FAILED
+}
@@ -0,0 +1,34 @@
+package com.project.demo.logic.entity.notification_read_watermark;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Moment up to which a user has read all their notifications, maintained by
+ * {@code NotificationReadWatermarkService}. A notification still in the sent status is
+ * read when it was issued at or before the watermark, so marking everything as read
+ * updates this single row instead of every notification of the user.
+ */
+@Entity
+@Table(name = "notification_read_watermark", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_notification_read_watermark_user", columnNames = {"user_id"})
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationReadWatermark {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "last_read_at", nullable = false)
+    private LocalDateTime lastReadAt;
+}
@@ -0,0 +1,56 @@
+package com.project.demo.logic.entity.preventive_care_due;
+
+import com.project.demo.logic.entity.municipal_preventive_care_configuration.MunicipalPreventiveCareConfigurationEnum;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Next date on which a community animal is due for a preventive care reminder,
+ * maintained by {@code PreventiveCareDueService} whenever the animal's vaccine
+ * applications or sanitary controls, or its municipality's configuration, change.
+ * One row per animal and care configured by the owner's municipality.
+ */
+@Entity
+@Table(name = "preventive_care_due", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_preventive_care_due_animal_type", columnNames = {"animal_id", "care_type"})
+}, indexes = {
+        @Index(name = "idx_preventive_care_due_next_due_at", columnList = "next_due_at")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PreventiveCareDue {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "animal_id", nullable = false)
+    private Long animalId;
+
+    /**
+     * Owner to remind.
+     */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "care_type", nullable = false, length = 30)
+    private MunicipalPreventiveCareConfigurationEnum careType;
+
+    /**
+     * Care frequency configured by the municipality, in months.
+     */
+    @Column(name = "interval_months", nullable = false)
+    private int intervalMonths;
+
+    /**
+     * The later of the last qualifying application and the last reminder, plus the interval.
+     */
+    @Column(name = "next_due_at", nullable = false)
+    private LocalDateTime nextDueAt;
+}
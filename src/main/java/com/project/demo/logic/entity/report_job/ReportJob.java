@@ -0,0 +1,68 @@
+package com.project.demo.logic.entity.report_job;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing an asynchronous report generation job.
+ * <p>
+ * The generated file is stored in {@link ReportJobChunk chunks} in the database, so any
+ * instance can serve it; {@code node} is the instance that runs the job.
+ */
+@Entity
+@Table(name = "report_job", indexes = {
+        @Index(name = "idx_report_job_status_finished", columnList = "status, finished_at"),
+        @Index(name = "idx_report_job_node_status", columnList = "node, status")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "report_type", nullable = false, length = 60)
+    private String reportType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format", nullable = false, length = 10)
+    private ReportJobFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 10)
+    private ReportJobStatus status;
+
+    @Column(name = "requested_by", nullable = false)
+    private String requestedBy;
+
+    @Column(name = "node")
+    private String node;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @CreationTimestamp
+    @Column(updatable = false, name = "created_at")
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
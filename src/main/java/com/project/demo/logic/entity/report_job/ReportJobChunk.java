@@ -0,0 +1,35 @@
+package com.project.demo.logic.entity.report_job;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Consecutive piece of the artifact of a {@link ReportJob}, written and read by
+ * {@code ReportJobArtifactStore}. Artifacts live in the database so that every instance of
+ * the cluster can serve any job.
+ */
+@Entity
+@Table(name = "report_job_chunk", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_report_job_chunk_job_seq", columnNames = {"job_id", "seq"})
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "seq", nullable = false)
+    private int seq;
+
+    @Lob
+    @Column(name = "data", nullable = false, columnDefinition = "LONGBLOB")
+    private byte[] data;
+}
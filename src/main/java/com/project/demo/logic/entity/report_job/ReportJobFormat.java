@@ -0,0 +1,21 @@
+package com.project.demo.logic.entity.report_job;
+
+import lombok.Getter;
+
+/**
+ * Output formats supported by the asynchronous report jobs.
+ */
+@Getter
+public enum ReportJobFormat {
+    CSV("text/csv; charset=UTF-8", ".csv"),
+    CSV_GZIP("application/gzip", ".csv.gz"),
+    PDF("application/pdf", ".pdf");
+
+    private final String contentType;
+    private final String extension;
+
+    ReportJobFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+}
@@ -0,0 +1,19 @@
+package com.project.demo.logic.entity.report_job;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for {@link ReportJob} entities.
+ */
+public interface ReportJobRepository extends JpaRepository<ReportJob, Long> {
+
+    List<ReportJob> findByNodeAndStatusIn(String node, Collection<ReportJobStatus> statuses);
+
+    List<ReportJob> findByStatusInAndCreatedAtBefore(Collection<ReportJobStatus> statuses, LocalDateTime createdBefore);
+
+    List<ReportJob> findByStatusInAndFinishedAtBefore(Collection<ReportJobStatus> statuses, LocalDateTime finishedBefore);
+}
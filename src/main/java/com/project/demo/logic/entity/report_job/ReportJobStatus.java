@@ -0,0 +1,15 @@
+package com.project.demo.logic.entity.report_job;
+
+/**
+ * Lifecycle of an asynchronous report job.
+ */
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    /**
+     * The artifact was removed by the retention policy.
+     */
+    EXPIRED
+}
@@ -0,0 +1,64 @@
+package com.project.demo.logic.entity.report_rollup;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Pre-aggregated animal counts used by the report endpoints.
+ * <p>
+ * Each row holds the number of animals of a given source that share the same
+ * municipality, canton, district, species, sex, sterilization status and registration month.
+ * Rows are maintained incrementally by {@code ReportRollupService} and can be rebuilt
+ * from the source tables at any time. Unknown identifiers are stored as {@code 0} so
+ * the unique key can be used for upserts.
+ */
+@Entity
+@Table(name = "animal_report_rollup", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_animal_report_rollup_key", columnNames = {
+                "source", "municipality_id", "canton_id", "district_id", "species_id", "sex_id", "sterilized", "period_month"
+        })
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnimalReportRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source", nullable = false, length = 20)
+    private AnimalRollupSource source;
+
+    @Column(name = "municipality_id", nullable = false)
+    private Long municipalityId;
+
+    @Column(name = "canton_id", nullable = false)
+    private Long cantonId;
+
+    @Column(name = "district_id", nullable = false)
+    private Long districtId;
+
+    @Column(name = "species_id", nullable = false)
+    private Long speciesId;
+
+    @Column(name = "sex_id", nullable = false)
+    private Long sexId;
+
+    @Column(name = "sterilized", nullable = false)
+    private boolean sterilized;
+
+    /**
+     * First day of the month in which the animals were registered.
+     */
+    @Column(name = "period_month", nullable = false)
+    private LocalDate periodMonth;
+
+    @Column(name = "total", nullable = false)
+    private long total;
+}
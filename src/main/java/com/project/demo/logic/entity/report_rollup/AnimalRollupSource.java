@@ -0,0 +1,20 @@
+package com.project.demo.logic.entity.report_rollup;
+
+/**
+ * Origin of the animals counted in an {@link AnimalReportRollup} row. Sources do not
+ * overlap, so adding them up counts every animal once.
+ */
+public enum AnimalRollupSource {
+    /**
+     * Rows of the {@code animal} table that are not community animals, attributed to the owner's municipality.
+     */
+    OWNED_ANIMAL,
+    /**
+     * Sightings registered by census users, attributed to the census user's municipality.
+     */
+    ABANDONED_ANIMAL,
+    /**
+     * Community animals, attributed to the municipality of the user that registered them.
+     */
+    COMMUNITY_ANIMAL
+}
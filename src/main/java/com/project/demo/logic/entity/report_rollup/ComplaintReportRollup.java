@@ -0,0 +1,47 @@
+package com.project.demo.logic.entity.report_rollup;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Pre-aggregated complaint counts per complaint type, state, municipality of the
+ * complainant and month, maintained incrementally by {@code ReportRollupService}.
+ * Unknown identifiers are stored as {@code 0}.
+ */
+@Entity
+@Table(name = "complaint_report_rollup", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_complaint_report_rollup_key", columnNames = {
+                "complaint_type_id", "complaint_state_id", "municipality_id", "period_month"
+        })
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComplaintReportRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "complaint_type_id", nullable = false)
+    private Long complaintTypeId;
+
+    @Column(name = "complaint_state_id", nullable = false)
+    private Long complaintStateId;
+
+    @Column(name = "municipality_id", nullable = false)
+    private Long municipalityId;
+
+    /**
+     * First day of the month in which the complaints were created.
+     */
+    @Column(name = "period_month", nullable = false)
+    private LocalDate periodMonth;
+
+    @Column(name = "total", nullable = false)
+    private long total;
+}
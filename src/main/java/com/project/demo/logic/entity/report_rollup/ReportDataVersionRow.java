@@ -0,0 +1,33 @@
+package com.project.demo.logic.entity.report_rollup;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version of one family of report tables ({@code ReportDataFamily}).
+ * <p>
+ * {@code ReportDataVersion} increments the row of a family in a short transaction of its
+ * own once a write to that family has committed, so every instance of the cluster derives
+ * the same {@code ETag} from it and report writes never wait on each other for the row.
+ */
+@Entity
+@Table(name = "report_data_family_version")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportDataVersionRow {
+
+    @Id
+    @Column(name = "family", length = 32)
+    private String family;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -24,7 +24,9 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "sanitary_control")
+@Table(name = "sanitary_control", indexes = {
+        @Index(name = "idx_sanitary_control_type_animal", columnList = "sanitary_control_type_id, animal_id")
+})
 public class SanitaryControl {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
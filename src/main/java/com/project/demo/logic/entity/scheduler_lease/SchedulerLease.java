@@ -0,0 +1,37 @@
+package com.project.demo.logic.entity.scheduler_lease;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease that lets a single application instance run a scheduled job at a time,
+ * maintained by {@code LeaseLockService}. The fencing token is incremented on
+ * every acquisition, so a holder whose lease expired can detect it was taken over.
+ */
+@Entity
+@Table(name = "scheduler_lease")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerLease {
+
+    @Id
+    @Column(name = "name", length = 100)
+    private String name;
+
+    @Column(name = "owner", nullable = false, length = 150)
+    private String owner;
+
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "acquired_at", nullable = false)
+    private LocalDateTime acquiredAt;
+
+    @Column(name = "fencing_token", nullable = false)
+    private long fencingToken;
+}
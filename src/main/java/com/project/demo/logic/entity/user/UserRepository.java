@@ -48,4 +48,10 @@ public interface UserRepository extends JpaRepository<User, Long>  {
     List<User> findByMunicipality_IdAndEmailNot(Long municipalityId, String excludedEmail);
 
     List<User> findByMunicipalityIdAndRolesName(Long municipalityId, RoleEnum roleName);
+
+    @Query("SELECT u.id FROM User u WHERE u.municipality.id = :municipalityId AND u.email <> :excludedEmail")
+    List<Long> findIdsByMunicipalityIdAndEmailNot(@Param("municipalityId") Long municipalityId, @Param("excludedEmail") String excludedEmail);
+
+    @Query("SELECT u.id FROM User u JOIN u.roles r WHERE u.municipality.id = :municipalityId AND r.name = :roleName")
+    List<Long> findIdsByMunicipalityIdAndRolesName(@Param("municipalityId") Long municipalityId, @Param("roleName") RoleEnum roleName);
 }
@@ -11,7 +11,9 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "vaccine_application")
+@Table(name = "vaccine_application", indexes = {
+        @Index(name = "idx_vaccine_application_animal_date", columnList = "animal_id, application_date")
+})
 @Getter
 @Setter
 @Builder
@@ -3,6 +3,7 @@ package com.project.demo.rest.animal;
 import com.project.demo.logic.entity.animal.AbandonedAnimal;
 import com.project.demo.logic.entity.animal.AbandonedAnimalRepository;
 import com.project.demo.logic.entity.canton.Canton;
+import com.project.demo.logic.entity.heatmap.HeatmapSource;
 import com.project.demo.logic.entity.http.GlobalResponseHandler;
 import com.project.demo.logic.entity.sex.Sex;
 import com.project.demo.logic.entity.sex.SexRepository;
@@ -11,6 +12,8 @@ import com.project.demo.logic.entity.species.SpeciesRepository;
 import com.project.demo.logic.entity.user.User;
 import com.project.demo.logic.entity.user.UserRepository;
 import com.project.demo.rest.animal.dto.CreateAbandonedAnimalRequestDTO;
+import com.project.demo.service.heatmap.GeoHeatmapService;
+import com.project.demo.service.report.ReportRollupService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,6 +32,8 @@ public class AbandonedAnimalRestController {
     @Autowired private SpeciesRepository speciesRepository;
     @Autowired private SexRepository sexRepository;
     @Autowired private UserRepository userRepository;
+    @Autowired private ReportRollupService reportRollupService;
+    @Autowired private GeoHeatmapService geoHeatmapService;
 
     private static final Logger logger = LoggerFactory.getLogger(AbandonedAnimalRestController.class);
 
@@ -94,6 +99,8 @@ public class AbandonedAnimalRestController {
                     .build();
 
             AbandonedAnimal saved = abandonedAnimalRepository.save(animal);
+            reportRollupService.abandonedAnimalCreated(saved.getId());
+            geoHeatmapService.pointAdded(HeatmapSource.ABANDONED_ANIMAL, saved.getLatitude(), saved.getLongitude());
 
             logger.info("Animal abandonado registrado con ID: {}", saved.getId());
 
@@ -9,13 +9,13 @@ import com.project.demo.logic.entity.announcement_state.AnnouncementStateReposit
 import com.project.demo.logic.entity.auth.JwtService;
 import com.project.demo.logic.entity.http.GlobalResponseHandler;
 import com.project.demo.logic.entity.http.Meta;
-import com.project.demo.logic.entity.notification.NotificationService;
-import com.project.demo.logic.entity.notification_type.NotificationTypeEnum;
+import com.project.demo.logic.entity.notification_outbox.NotificationEventType;
 import com.project.demo.logic.entity.user.User;
 import com.project.demo.logic.entity.user.UserRepository;
 import com.project.demo.rest.announcement.dto.CreateAnnouncementMultipartDTO;
 import com.project.demo.rest.announcement.dto.UpdateAnnouncementMultipartDTO;
 import com.project.demo.service.model.Tripo3DService;
+import com.project.demo.service.notification.NotificationOutboxService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,7 +42,7 @@ public class AnnouncementRestController {
     @Autowired private UserRepository userRepository;
     @Autowired private JwtService jwtService;
     @Autowired private Tripo3DService tripo3DService;
-    @Autowired private NotificationService notificationService;
+    @Autowired private NotificationOutboxService notificationOutboxService;
 
 
 
@@ -523,12 +523,7 @@ public class AnnouncementRestController {
 
         announcementRepository.save(announcement);
 
-        notificationService.notifyAnnouncementCreationToMunicipalityUsers(
-                NotificationTypeEnum.ANNOUNCEMENT_CREATED,
-                null,
-                municipality.getId(),
-                email
-        );
+        notificationOutboxService.enqueue(NotificationEventType.ANNOUNCEMENT_CREATED, municipality.getId(), email);
 
         return globalResponseHandler.handleResponse(
                 "Anuncio creado correctamente para la municipalidad del usuario",
@@ -4,12 +4,14 @@ import com.project.demo.common.PaginationUtils;
 import com.project.demo.logic.entity.auth.JwtService;
 import com.project.demo.logic.entity.complaint.Complaint;
 import com.project.demo.logic.entity.complaint.ComplaintRepository;
+import com.project.demo.logic.entity.complaint_state.ComplaintState;
 import com.project.demo.logic.entity.complaint_state.ComplaintStateEnum;
 import com.project.demo.logic.entity.complaint_state.ComplaintStateRepository;
 import com.project.demo.logic.entity.complaint_type.ComplaintTypeRepository;
+import com.project.demo.logic.entity.heatmap.HeatmapSource;
 import com.project.demo.logic.entity.http.GlobalResponseHandler;
 import com.project.demo.logic.entity.http.Meta;
-import com.project.demo.logic.entity.notification.NotificationService;
+import com.project.demo.logic.entity.notification_outbox.NotificationEventType;
 import com.project.demo.logic.entity.user.User;
 import com.project.demo.logic.entity.user.UserRepository;
 import com.project.demo.rest.complaint.dto.ComplaintDTO;
@@ -17,6 +19,10 @@ import com.project.demo.rest.complaint.dto.CreateComplaintMultipartDTO;
 import com.project.demo.rest.complaint.dto.ObservationsDTO;
 import com.project.demo.rest.complaint.dto.UpdateComplaintMultipartDTO;
 import com.project.demo.service.model.Tripo3DService;
+import com.project.demo.service.heatmap.GeoHeatmapService;
+import com.project.demo.service.notification.NotificationOutboxService;
+import com.project.demo.service.report.ComplaintRollupKey;
+import com.project.demo.service.report.ReportRollupService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,7 +53,9 @@ public class ComplaintRestController {
     @Autowired private ComplaintTypeRepository complaintTypeRepository;
     @Autowired private ComplaintStateRepository complaintStateRepository;
     @Autowired private Tripo3DService tripo3DService;
-    @Autowired private NotificationService notificationService;
+    @Autowired private NotificationOutboxService notificationOutboxService;
+    @Autowired private ReportRollupService reportRollupService;
+    @Autowired private GeoHeatmapService geoHeatmapService;
 
     /* ============================================================
        CONSULTAS - ADMIN MUNICIPAL
@@ -266,12 +274,15 @@ public class ComplaintRestController {
                 .build();
 
         complaintRepository.save(complaint);
+        reportRollupService.complaintCreated(complaint);
+        geoHeatmapService.pointAdded(HeatmapSource.COMPLAINT, complaint.getLatitude(), complaint.getLongitude());
 
         logger.info("Denuncia creada exitosamente: {}", complaint);
 
-        notificationService.notifyComplaintCreationToAdministrators(
-                null,
-                complaint.getCreatedBy().getMunicipality().getId()
+        notificationOutboxService.enqueue(
+                NotificationEventType.COMPLAINT_CREATED,
+                complaint.getCreatedBy().getMunicipality().getId(),
+                null
         );
 
         return wrapComplaintAsDto(
@@ -317,9 +328,12 @@ public class ComplaintRestController {
             return handler.badRequest("Solo se puede actualizar si está Abierta o Con observaciones", req);
         }
 
+        Double oldLatitude = c.getLatitude();
+        Double oldLongitude = c.getLongitude();
         if (dto.description() != null) c.setDescription(dto.description());
         if (dto.latitude() != null)   c.setLatitude(dto.latitude());
         if (dto.longitude() != null)  c.setLongitude(dto.longitude());
+        var rollupKey = ComplaintRollupKey.of(c);
         if (dto.complaintTypeId() != null) {
             var optType = complaintTypeRepository.findById(dto.complaintTypeId());
             if (optType.isEmpty()) return handler.badRequest("Tipo de denuncia inválido", req);
@@ -329,13 +343,16 @@ public class ComplaintRestController {
             c.setImageUrl(tripo3DService.uploadToImgur(dto.image()));
         }
 
+        reportRollupService.complaintChanged(rollupKey, c);
+        geoHeatmapService.pointMoved(HeatmapSource.COMPLAINT, oldLatitude, oldLongitude, c.getLatitude(), c.getLongitude());
+
         // Si estaba Con observaciones, reabre
         if (state == ComplaintStateEnum.WITH_OBSERVATIONS) {
             var open = complaintStateRepository.findByName(ComplaintStateEnum.OPEN.getName());
             if (open.isEmpty()) return handler.internalError("Estado Abierta no encontrado", req);
-            c.setComplaintState(open.get());
+            changeState(c, open.get());
             complaintRepository.save(c);
-            notificationService.notifyResubmission(c);
+            notificationOutboxService.enqueue(NotificationEventType.COMPLAINT_RESUBMITTED, c.getId(), null);
             return wrapComplaintAsDto("Denuncia actualizada y reenviada a estado Abierta", c, HttpStatus.OK, req);
         }
 
@@ -374,7 +391,7 @@ public class ComplaintRestController {
         var cancel = complaintStateRepository.findByName(ComplaintStateEnum.CANCELLED.getName());
         if (cancel.isEmpty()) return handler.internalError("Estado Cancelada no encontrado", req);
 
-        c.setComplaintState(cancel.get());
+        changeState(c, cancel.get());
         complaintRepository.save(c);
 
         return wrapComplaintAsDto("Denuncia cancelada", c, HttpStatus.OK, req);
@@ -410,7 +427,7 @@ public class ComplaintRestController {
         var cancel = complaintStateRepository.findByName(ComplaintStateEnum.CANCELLED.getName());
         if (cancel.isEmpty()) return handler.internalError("Estado Cancelada no encontrado", req);
 
-        c.setComplaintState(cancel.get());
+        changeState(c, cancel.get());
         if (c.getObservations() == null || c.getObservations().isBlank()) {
             c.setObservations("Cancelada por la municipalidad.");
         }
@@ -450,10 +467,10 @@ public class ComplaintRestController {
         var stateOpt = complaintStateRepository.findByName(ComplaintStateEnum.OPEN.getName());
         if (stateOpt.isEmpty()) return handler.internalError("Estado Abierta no encontrado", req);
 
-        c.setComplaintState(stateOpt.get());
+        changeState(c, stateOpt.get());
         complaintRepository.save(c);
 
-        notificationService.notifyResubmission(c);
+        notificationOutboxService.enqueue(NotificationEventType.COMPLAINT_RESUBMITTED, c.getId(), null);
         return wrapComplaintAsDto("Denuncia reenviada a estado Abierta", c, HttpStatus.OK, req);
     }
 
@@ -490,11 +507,11 @@ public class ComplaintRestController {
         var next = complaintStateRepository.findByName(ComplaintStateEnum.WITH_OBSERVATIONS.getName());
         if (next.isEmpty()) return handler.internalError("Estado Con observaciones no encontrado", req);
 
-        c.setComplaintState(next.get());
+        changeState(c, next.get());
         c.setObservations(dto.observations());
         complaintRepository.save(c);
 
-        notificationService.notifyComplaintObservationsToUser(c);
+        notificationOutboxService.enqueue(NotificationEventType.COMPLAINT_OBSERVED, c.getId(), null);
         return wrapComplaintAsDto("Observaciones agregadas", c, HttpStatus.OK, req);
     }
 
@@ -526,10 +543,10 @@ public class ComplaintRestController {
         var stateOpt = complaintStateRepository.findByName(ComplaintStateEnum.APPROVED.getName());
         if (stateOpt.isEmpty()) return handler.internalError("Estado Aprobada no encontrado", req);
 
-        c.setComplaintState(stateOpt.get());
+        changeState(c, stateOpt.get());
         complaintRepository.save(c);
 
-        notificationService.notifyComplaintStateChanged(c);
+        notificationOutboxService.enqueue(NotificationEventType.COMPLAINT_APPROVED, c.getId(), null);
         return wrapComplaintAsDto("Denuncia aprobada", c, HttpStatus.OK, req);
     }
 
@@ -561,10 +578,10 @@ public class ComplaintRestController {
         var stateOpt = complaintStateRepository.findByName(ComplaintStateEnum.COMPLETED.getName());
         if (stateOpt.isEmpty()) return handler.internalError("Estado Completada no encontrado", req);
 
-        c.setComplaintState(stateOpt.get());
+        changeState(c, stateOpt.get());
         complaintRepository.save(c);
 
-        notificationService.notifyComplaintCompleted(c);
+        notificationOutboxService.enqueue(NotificationEventType.COMPLAINT_COMPLETED, c.getId(), null);
         return wrapComplaintAsDto("Denuncia completada", c, HttpStatus.OK, req);
     }
 
@@ -598,7 +615,7 @@ public class ComplaintRestController {
         var closed = complaintStateRepository.findByName(ComplaintStateEnum.CLOSED.getName());
         if (closed.isEmpty()) return handler.internalError("Estado Cerrada no encontrado", req);
 
-        c.setComplaintState(closed.get());
+        changeState(c, closed.get());
 
         // mensaje/observación por defecto si venía de WITH_OBSERVATIONS o OPEN
         if ((state == ComplaintStateEnum.WITH_OBSERVATIONS || state == ComplaintStateEnum.OPEN)
@@ -627,6 +644,17 @@ public class ComplaintRestController {
                 .orElse(null);
     }
 
+    /**
+     * Cambia el estado de la denuncia y mueve su conteo en el rollup de reportes.
+     * @param c Denuncia a actualizar
+     * @param next Nuevo estado
+     */
+    private void changeState(Complaint c, ComplaintState next) {
+        var rollupKey = ComplaintRollupKey.of(c);
+        c.setComplaintState(next);
+        reportRollupService.complaintChanged(rollupKey, c);
+    }
+
     /**
      * Verifica si el estado es terminal (Cancelada o Cerrada)
      * @param s
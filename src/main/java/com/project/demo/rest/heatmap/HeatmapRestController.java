@@ -0,0 +1,67 @@
+package com.project.demo.rest.heatmap;
+
+import com.project.demo.logic.entity.heatmap.HeatmapSource;
+import com.project.demo.logic.entity.http.GlobalResponseHandler;
+import com.project.demo.service.heatmap.GeoHeatmapService;
+import com.project.demo.service.heatmap.Heatmap;
+import com.project.demo.service.report.ReportDataFamily;
+import com.project.demo.service.report.ReportDataVersion;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Grid-binned heatmap of abandoned animals and complaints for the municipal map view.
+ */
+@RestController
+@RequestMapping("/heatmap")
+public class HeatmapRestController {
+
+    private static final Logger logger = LoggerFactory.getLogger(HeatmapRestController.class);
+
+    private final GeoHeatmapService geoHeatmapService;
+    private final ReportDataVersion reportDataVersion;
+
+    public HeatmapRestController(GeoHeatmapService geoHeatmapService, ReportDataVersion reportDataVersion) {
+        this.geoHeatmapService = geoHeatmapService;
+        this.reportDataVersion = reportDataVersion;
+    }
+
+    /**
+     * Returns the non-empty cells of the bounding box at a precision suited to the zoom level.
+     *
+     * @param sources sources to add up; every source when omitted
+     */
+    @GetMapping
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'MUNICIPAL_ADMIN')")
+    public ResponseEntity<?> getHeatmap(
+            @RequestParam double minLat,
+            @RequestParam double minLon,
+            @RequestParam double maxLat,
+            @RequestParam double maxLon,
+            @RequestParam int zoom,
+            @RequestParam(required = false) List<HeatmapSource> sources,
+            HttpServletRequest request,
+            WebRequest webRequest
+    ) {
+        var globalResponseHandler = new GlobalResponseHandler();
+        if (minLat > maxLat || minLon > maxLon || minLat < -90 || maxLat > 90 || minLon < -180 || maxLon > 180) {
+            return globalResponseHandler.badRequest("El área solicitada no es válida", request);
+        }
+
+        if (reportDataVersion.checkNotModified(webRequest, ReportDataFamily.HEATMAP)) {
+            return null;
+        }
+        logger.info("Invocando getHeatmap - zoom {} en [{}, {}, {}, {}]", zoom, minLat, minLon, maxLat, maxLon);
+        Heatmap heatmap = geoHeatmapService.heatmap(minLat, minLon, maxLat, maxLon, zoom,
+                sources == null || sources.isEmpty() ? EnumSet.allOf(HeatmapSource.class) : EnumSet.copyOf(sources));
+        return globalResponseHandler.success("Mapa de calor obtenido correctamente", heatmap, request);
+    }
+}
@@ -6,6 +6,7 @@ import com.project.demo.logic.entity.http.Meta;
 import com.project.demo.logic.entity.municipal_preventive_care_configuration.MunicipalPreventiveCareConfiguration;
 import com.project.demo.logic.entity.municipal_preventive_care_configuration.MunicipalPreventiveCareConfigurationRepository;
 import com.project.demo.rest.municipal_preventive_care_configuration.dto.MunicipalPreventiveCareConfigurationDTO;
+import com.project.demo.service.notification.PreventiveCareDueService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,6 +28,7 @@ public class MunicipalPreventiveCareConfigurationRestController {
     private static final Logger logger = LoggerFactory.getLogger(MunicipalPreventiveCareConfigurationRestController.class);
 
     @Autowired private MunicipalPreventiveCareConfigurationRepository configurationRepository;
+    @Autowired private PreventiveCareDueService preventiveCareDueService;
 
     @GetMapping
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'MUNICIPAL_ADMIN')")
@@ -103,6 +105,7 @@ public class MunicipalPreventiveCareConfigurationRestController {
         current.setValue(configDTO.value());
 
         configurationRepository.save(current);
+        preventiveCareDueService.configurationChanged(current.getId());
 
         MunicipalPreventiveCareConfigurationDTO dto = MunicipalPreventiveCareConfigurationDTO.fromEntity(current);
 
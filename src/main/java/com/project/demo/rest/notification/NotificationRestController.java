@@ -1,24 +1,32 @@
 package com.project.demo.rest.notification;
 
 import com.project.demo.common.PaginationUtils;
-import com.project.demo.logic.entity.auth.JwtService;
 import com.project.demo.logic.entity.http.GlobalResponseHandler;
 import com.project.demo.logic.entity.http.Meta;
 import com.project.demo.logic.entity.notification.Notification;
+import com.project.demo.logic.entity.notification.NotificationBulkWriter;
 import com.project.demo.logic.entity.notification.NotificationRepository;
-import com.project.demo.logic.entity.notification_status.NotificationStatusEnum;
+import com.project.demo.logic.entity.notification.NotificationService;
 import com.project.demo.logic.entity.notification_status.NotificationStatusRepository;
+import com.project.demo.logic.entity.user.User;
 import com.project.demo.rest.notification.dto.NotificationDTO;
+import com.project.demo.service.notification.NotificationCounterService;
+import com.project.demo.service.notification.NotificationReadWatermarkService;
+import com.project.demo.service.notification.NotificationStreamService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.*;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @RestController
@@ -29,7 +37,23 @@ public class NotificationRestController {
 
     @Autowired private NotificationRepository notificationRepository;
     @Autowired private NotificationStatusRepository notificationStatusRepository;
-    @Autowired private JwtService jwtService;
+    @Autowired private NotificationBulkWriter notificationBulkWriter;
+    @Autowired private NotificationStreamService notificationStreamService;
+    @Autowired private NotificationCounterService notificationCounterService;
+    @Autowired private NotificationService notificationService;
+    @Autowired private NotificationReadWatermarkService notificationReadWatermarkService;
+
+    /**
+     * Opens a Server-Sent Events stream with the new notifications ({@code notification}) and
+     * unread count changes ({@code unread-count}) of the authenticated user. On {@code resync}
+     * the client missed events and should reload its notifications.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public SseEmitter stream(@AuthenticationPrincipal User currentUser) {
+        logger.info("Invocando stream - Abriendo stream de notificaciones para el usuario {}", currentUser.getId());
+        return notificationStreamService.subscribe(currentUser.getId());
+    }
 
     /**
      * @author dgutierrez
@@ -37,18 +61,18 @@ public class NotificationRestController {
     @GetMapping("/my-notifications")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> getMyNotifications(
-            @RequestHeader("Authorization") String authHeader,
+            @AuthenticationPrincipal User currentUser,
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int size,
             HttpServletRequest request
     ) {
         logger.info("Invocando getMyNotifications - Obteniendo mis notificaciones. Page: {}, Size: {}", page, size);
 
-        String email = jwtService.extractUsername(jwtService.getTokenFromHeader(authHeader));
-        Pageable pageable = PageRequest.of(page - 1, size, Sort.by(Sort.Direction.DESC, "createdAt"));
+        Pageable pageable = PageRequest.of(page - 1, size, Sort.by(Sort.Direction.DESC, "dateIssued"));
 
-        Page<Notification> notificationPage = notificationRepository.findByUser_Email(email, pageable);
-        Page<NotificationDTO> dtoPage = notificationPage.map(NotificationDTO::fromEntity);
+        Page<Notification> notificationPage = notificationRepository.findByUser_Id(currentUser.getId(), pageable);
+        LocalDateTime readWatermark = notificationReadWatermarkService.find(currentUser.getId()).orElse(null);
+        Page<NotificationDTO> dtoPage = notificationPage.map(notification -> NotificationDTO.fromEntity(notification, readWatermark));
 
         Meta meta = PaginationUtils.buildMeta(request, dtoPage);
 
@@ -70,7 +94,9 @@ public class NotificationRestController {
         Optional<Notification> optional = notificationRepository.findById(notificationId);
 
         if (optional.isPresent()) {
-            NotificationDTO dto = NotificationDTO.fromEntity(optional.get());
+            Notification notification = optional.get();
+            NotificationDTO dto = NotificationDTO.fromEntity(notification,
+                    notificationReadWatermarkService.find(notification.getUser().getId()).orElse(null));
 
             return new GlobalResponseHandler().handleResponse(
                     "Notificación obtenida correctamente",
@@ -92,7 +118,7 @@ public class NotificationRestController {
     @GetMapping("/count-my-notifications-by-status")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> countMyNotificationsByStatus(
-            @RequestHeader("Authorization") String authHeader,
+            @AuthenticationPrincipal User currentUser,
             @RequestParam("statusId") Long statusId,
             HttpServletRequest request
     ) {
@@ -113,8 +139,7 @@ public class NotificationRestController {
             );
         }
 
-        String email = jwtService.extractUsername(jwtService.getTokenFromHeader(authHeader));
-        long count = notificationRepository.countByUser_EmailAndNotificationStatus_Id(email, statusId);
+        long count = notificationCounterService.countForUser(currentUser.getId(), statusId);
 
         return globalResponseHandler.handleResponse(
                 "Conteo de notificaciones del usuario por estado obtenido correctamente",
@@ -150,7 +175,7 @@ public class NotificationRestController {
             );
         }
 
-        long count = notificationRepository.countByNotificationStatus_Id(statusId);
+        long count = notificationCounterService.countForStatus(statusId);
 
         return globalResponseHandler.handleResponse(
                 "Conteo de notificaciones por estado obtenido correctamente",
@@ -160,35 +185,36 @@ public class NotificationRestController {
         );
     }
 
+    /**
+     * Exposes the bulk notification writer metrics (fan-outs, rows, chunk times).
+     */
+    @GetMapping("/bulk-stats")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN')")
+    public ResponseEntity<?> getBulkStats(HttpServletRequest request) {
+        return new GlobalResponseHandler().success(
+                "Métricas de inserción masiva de notificaciones obtenidas correctamente",
+                notificationBulkWriter.stats(),
+                request
+        );
+    }
+
     /**
      * @author dgutierrez
      */
     @PutMapping("/mark-my-notifications-as-read")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> markMyNotificationsAsRead(
-            @RequestHeader("Authorization") String authHeader,
+            @AuthenticationPrincipal User currentUser,
             HttpServletRequest request
     ) {
         logger.info("Invocando markMyNotificationsAsRead - marcando como leídas todas las notificaciones del usuario autenticado");
 
         var globalResponseHandler = new GlobalResponseHandler();
 
-        String email = jwtService.extractUsername(jwtService.getTokenFromHeader(authHeader));
-
-        var readStatusOpt = notificationStatusRepository.findByName(NotificationStatusEnum.READ.getName());
-
-        if (readStatusOpt.isEmpty()) {
-            return globalResponseHandler.internalError(
-                    "El estado 'READ' no se encuentra configurado en la base de datos.",
-                    request
-            );
-        }
-
-        var readStatus = readStatusOpt.get();
-
-        var updatedCount = notificationRepository.markAllAsReadForUser(email, readStatus.getId());
+        var updatedCount = notificationService.markAllAsReadForUser(currentUser);
 
-        logger.info("Se marcaron {} notificaciones como leídas para el usuario {}", updatedCount, email);
+        logger.info("Se marcaron {} notificaciones como leídas para el usuario {}", updatedCount, currentUser.getEmail());
+        notificationStreamService.push(currentUser.getId(), NotificationStreamService.UNREAD_COUNT_EVENT, null, 0L);
 
         return globalResponseHandler.handleResponse(
                 "Notificaciones marcadas como leídas correctamente",
@@ -1,6 +1,7 @@
 package com.project.demo.rest.notification.dto;
 
 import com.project.demo.logic.entity.notification.Notification;
+import com.project.demo.logic.entity.notification_status.NotificationStatusEnum;
 import lombok.Builder;
 
 import java.time.LocalDate;
@@ -20,6 +21,23 @@ public record NotificationDTO(
         LocalDateTime updatedAt
 ) {
     public static NotificationDTO fromEntity(Notification notification) {
+        return fromEntity(notification, null);
+    }
+
+    /**
+     * Builds the DTO with the effective status of the notification: a sent notification
+     * issued up to the user's read watermark is reported as read.
+     *
+     * @param notification  the notification
+     * @param readWatermark the recipient's read watermark, or {@code null}
+     */
+    public static NotificationDTO fromEntity(Notification notification, LocalDateTime readWatermark) {
+        String statusName = notification.getNotificationStatus().getName();
+        if (readWatermark != null
+                && NotificationStatusEnum.SENT.getName().equals(statusName)
+                && !notification.getDateIssued().isAfter(readWatermark)) {
+            statusName = NotificationStatusEnum.READ.getName();
+        }
         return NotificationDTO.builder()
                 .id(notification.getId())
                 .title(notification.getTitle())
@@ -27,7 +45,7 @@ public record NotificationDTO(
                 .imageUrl(notification.getImageUrl())
                 .dateIssued(notification.getDateIssued())
                 .actionUrl(notification.getActionUrl())
-                .notificationStatusName(notification.getNotificationStatus().getName())
+                .notificationStatusName(statusName)
                 .notificationTypeName(notification.getNotificationType().getName())
                 .createdAt(notification.getCreatedAt())
                 .updatedAt(notification.getUpdatedAt())
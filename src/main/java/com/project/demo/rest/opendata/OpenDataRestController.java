@@ -0,0 +1,98 @@
+package com.project.demo.rest.opendata;
+
+import com.project.demo.logic.entity.http.GlobalResponseHandler;
+import com.project.demo.service.opendata.OpenDataColumn;
+import com.project.demo.service.opendata.OpenDataExportService;
+import com.project.demo.service.opendata.OpenDataFormat;
+import com.project.demo.service.opendata.OpenDataset;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bulk export of anonymized datasets for external partners.
+ */
+@RestController
+@RequestMapping("/open-data")
+public class OpenDataRestController {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpenDataRestController.class);
+
+    private final OpenDataExportService openDataExportService;
+
+    public OpenDataRestController(OpenDataExportService openDataExportService) {
+        this.openDataExportService = openDataExportService;
+    }
+
+    /**
+     * Lists the datasets and the columns each one may export.
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<?> listDatasets(HttpServletRequest request) {
+        Map<OpenDataset, List<String>> datasets = new LinkedHashMap<>();
+        for (OpenDataset dataset : OpenDataset.values()) {
+            datasets.put(dataset, dataset.getColumns().stream().map(OpenDataColumn::name).toList());
+        }
+        return new GlobalResponseHandler().success("Conjuntos de datos abiertos obtenidos correctamente", datasets, request);
+    }
+
+    /**
+     * Streams a dataset in key order. To resume an interrupted export, pass the {@code id}
+     * of the last row received as {@code after}; {@code limit} splits an export in pages.
+     *
+     * @param dataset {@code ABANDONED_ANIMALS}, {@code COMPLAINTS} or {@code VACCINATION_COVERAGE}
+     * @param format  {@code NDJSON} or {@code CSV}
+     * @param gzip    whether the output is gzip-compressed
+     * @param columns columns to export, comma separated; every allowed column when omitted.
+     *                The {@code id} is always included
+     * @param after   last {@code id} already received
+     * @param limit   maximum number of rows; every remaining row when omitted
+     */
+    @GetMapping("/{dataset}")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<?> export(
+            @PathVariable String dataset,
+            @RequestParam(defaultValue = "NDJSON") String format,
+            @RequestParam(defaultValue = "true") boolean gzip,
+            @RequestParam(required = false) List<String> columns,
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(required = false) Long limit,
+            HttpServletRequest request
+    ) {
+        var globalResponseHandler = new GlobalResponseHandler();
+        OpenDataset openDataset;
+        OpenDataFormat openDataFormat;
+        List<OpenDataColumn> exported;
+        try {
+            openDataset = OpenDataset.valueOf(dataset.trim().toUpperCase(Locale.ROOT));
+            openDataFormat = OpenDataFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+            exported = OpenDataExportService.resolveColumns(openDataset, columns);
+        } catch (IllegalArgumentException e) {
+            return globalResponseHandler.badRequest("Solicitud inválida: " + e.getMessage(), request);
+        }
+        if (limit != null && limit < 1) {
+            return globalResponseHandler.badRequest("El límite debe ser mayor que cero", request);
+        }
+
+        logger.info("Exportando datos abiertos {} ({}, gzip: {}) desde {}", openDataset, openDataFormat, gzip, after);
+        StreamingResponseBody body = out ->
+                openDataExportService.export(openDataset, exported, after, limit, openDataFormat, gzip, out);
+        String filename = openDataset.name().toLowerCase(Locale.ROOT) + openDataFormat.getExtension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.parseMediaType(openDataFormat.getContentType()))
+                .body(body);
+    }
+}
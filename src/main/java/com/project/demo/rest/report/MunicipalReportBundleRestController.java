@@ -0,0 +1,168 @@
+package com.project.demo.rest.report;
+
+import com.project.demo.logic.entity.http.GlobalResponseHandler;
+import com.project.demo.logic.entity.municipality.Municipality;
+import com.project.demo.logic.entity.municipality.MunicipalityRepository;
+import com.project.demo.logic.entity.report_job.ReportJobFormat;
+import com.project.demo.logic.entity.user.User;
+import com.project.demo.logic.entity.user.UserRepository;
+import com.project.demo.service.report.MunicipalReport;
+import com.project.demo.service.report.MunicipalReportBundleService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Downloads of the standard municipal reports.
+ * <p>
+ * Serves the bundle pre-rendered by {@link MunicipalReportBundleService} when it exists,
+ * handing the file to the connector with sendfile (zero-copy) when it supports it, and
+ * generates the report live otherwise.
+ */
+@RestController
+@RequestMapping("/reports/municipal")
+public class MunicipalReportBundleRestController {
+
+    private static final Logger logger = LoggerFactory.getLogger(MunicipalReportBundleRestController.class);
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final MunicipalReportBundleService municipalReportBundleService;
+    private final MunicipalityRepository municipalityRepository;
+    private final UserRepository userRepository;
+
+    public MunicipalReportBundleRestController(
+            MunicipalReportBundleService municipalReportBundleService,
+            MunicipalityRepository municipalityRepository,
+            UserRepository userRepository
+    ) {
+        this.municipalReportBundleService = municipalReportBundleService;
+        this.municipalityRepository = municipalityRepository;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Downloads a report of the authenticated administrator's municipality.
+     *
+     * @param report {@code ANIMALES}, {@code ESTERILIZACION} or {@code DENUNCIAS}
+     * @param format {@code CSV}, {@code CSV_GZIP} or {@code PDF}
+     */
+    @GetMapping("/{report}")
+    @PreAuthorize("hasRole('MUNICIPAL_ADMIN')")
+    public ResponseEntity<?> downloadMyMunicipality(
+            @PathVariable String report,
+            @RequestParam(defaultValue = "PDF") String format,
+            @AuthenticationPrincipal UserDetails userDetails,
+            HttpServletRequest request,
+            WebRequest webRequest
+    ) {
+        Optional<User> user = userRepository.findByEmail(userDetails.getUsername());
+        if (user.isEmpty() || user.get().getMunicipality() == null) {
+            return new GlobalResponseHandler().notFound("No se encontró la municipalidad del usuario autenticado", request);
+        }
+        return download(user.get().getMunicipality(), report, format, request, webRequest);
+    }
+
+    /**
+     * Downloads a report of any municipality.
+     *
+     * @param report {@code ANIMALES}, {@code ESTERILIZACION} or {@code DENUNCIAS}
+     * @param format {@code CSV}, {@code CSV_GZIP} or {@code PDF}
+     */
+    @GetMapping("/{municipalityId}/{report}")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<?> download(
+            @PathVariable Long municipalityId,
+            @PathVariable String report,
+            @RequestParam(defaultValue = "PDF") String format,
+            HttpServletRequest request,
+            WebRequest webRequest
+    ) {
+        Optional<Municipality> municipality = municipalityRepository.findById(municipalityId);
+        if (municipality.isEmpty()) {
+            return new GlobalResponseHandler().notFound("La municipalidad con ID " + municipalityId + " no fue encontrada", request);
+        }
+        return download(municipality.get(), report, format, request, webRequest);
+    }
+
+    private ResponseEntity<?> download(Municipality municipality, String report, String format,
+                                       HttpServletRequest request, WebRequest webRequest) {
+        MunicipalReport municipalReport;
+        ReportJobFormat reportFormat;
+        try {
+            municipalReport = MunicipalReport.valueOf(report.trim().toUpperCase(Locale.ROOT));
+            reportFormat = ReportJobFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return new GlobalResponseHandler().badRequest("Reporte o formato inválido: " + report + " (" + format + ")", request);
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(reportFormat.getContentType()));
+        headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=reporte-" + municipality.getId() + "-"
+                + MunicipalReportBundleService.fileName(municipalReport, reportFormat));
+
+        Optional<Path> bundle = municipalReportBundleService.findBundle(municipality.getId(), municipalReport, reportFormat);
+        if (bundle.isPresent()) {
+            try {
+                Path file = bundle.get();
+                long lastModified = Files.getLastModifiedTime(file).toMillis();
+                if (webRequest.checkNotModified(lastModified)) {
+                    return null;
+                }
+                long size = Files.size(file);
+                logger.info("Sirviendo reporte pre-renderizado {} ({}) de la municipalidad {}",
+                        municipalReport, reportFormat, municipality.getId());
+                if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+                    request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+                    request.setAttribute(SENDFILE_START, 0L);
+                    request.setAttribute(SENDFILE_END, size);
+                    return ResponseEntity.ok().headers(headers).contentLength(size).build();
+                }
+                StreamingResponseBody body = out -> transfer(file, size, Channels.newChannel(out));
+                return ResponseEntity.ok().headers(headers).contentLength(size).body(body);
+            } catch (IOException e) {
+                logger.warn("No se pudo leer el reporte pre-renderizado {}, generándolo en vivo", bundle.get(), e);
+            }
+        }
+
+        logger.info("Generando en vivo el reporte {} ({}) de la municipalidad {}",
+                municipalReport, reportFormat, municipality.getId());
+        StreamingResponseBody body = out -> municipalReportBundleService.write(municipalReport, municipality, reportFormat, out);
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+
+    private static void transfer(Path file, long size, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long position = 0;
+            while (position < size) {
+                long sent = channel.transferTo(position, size - position, target);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.project.demo.rest.report;
+
+import com.project.demo.logic.entity.http.GlobalResponseHandler;
+import com.project.demo.service.report.CubeDimension;
+import com.project.demo.service.report.CubeFact;
+import com.project.demo.service.report.CubeMeasure;
+import com.project.demo.service.report.CubeResult;
+import com.project.demo.service.report.ReportDataVersion;
+import com.project.demo.service.report.ReportCubeService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ad-hoc report cube: any subset of dimensions and measures of a fact, with optional filters.
+ * <p>
+ * Example: {@code GET /reports/cube?fact=ANIMALS&dimensions=CANTON,SPECIES&measures=COUNT,STERILIZATION_RATE&filter=SOURCE:OWNED_ANIMAL}
+ */
+@RestController
+@RequestMapping("/reports/cube")
+public class ReportCubeRestController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportCubeRestController.class);
+
+    private final ReportCubeService reportCubeService;
+    private final ReportDataVersion reportDataVersion;
+
+    public ReportCubeRestController(ReportCubeService reportCubeService, ReportDataVersion reportDataVersion) {
+        this.reportCubeService = reportCubeService;
+        this.reportDataVersion = reportDataVersion;
+    }
+
+    /**
+     * @param fact       {@code ANIMALS} or {@code COMPLAINTS}
+     * @param dimensions dimensions to group by, comma separated
+     * @param measures   measures to compute, comma separated; {@code COUNT} when omitted
+     * @param filter     {@code DIMENSION:value} pairs; repeated pairs of the same dimension are combined with OR
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<?> query(
+            @RequestParam String fact,
+            @RequestParam(required = false) List<String> dimensions,
+            @RequestParam(required = false) List<String> measures,
+            @RequestParam(required = false) List<String> filter,
+            HttpServletRequest request,
+            WebRequest webRequest
+    ) {
+        var globalResponseHandler = new GlobalResponseHandler();
+        try {
+            CubeFact cubeFact = parse(CubeFact.class, fact);
+            List<CubeDimension> groupBy = new ArrayList<>();
+            for (String dimension : dimensions != null ? dimensions : List.<String>of()) {
+                groupBy.add(parse(CubeDimension.class, dimension));
+            }
+            List<CubeMeasure> computed = new ArrayList<>();
+            for (String measure : measures != null ? measures : List.<String>of()) {
+                computed.add(parse(CubeMeasure.class, measure));
+            }
+            Map<CubeDimension, Set<String>> filters = new EnumMap<>(CubeDimension.class);
+            for (String pair : filter != null ? filter : List.<String>of()) {
+                int separator = pair.indexOf(':');
+                if (separator < 1) {
+                    return globalResponseHandler.badRequest("Filtro inválido: " + pair + ". Use DIMENSION:valor", request);
+                }
+                filters.computeIfAbsent(parse(CubeDimension.class, pair.substring(0, separator)), d -> new LinkedHashSet<>())
+                        .add(pair.substring(separator + 1));
+            }
+
+            if (reportDataVersion.checkNotModified(webRequest, cubeFact.getFamily())) {
+                return null;
+            }
+            logger.info("Invocando query - cubo {} por {} con {}", cubeFact, groupBy, filters.keySet());
+            CubeResult result = reportCubeService.query(cubeFact, groupBy, computed, filters);
+            return globalResponseHandler.success("Cubo de reportes obtenido correctamente", result, request);
+        } catch (IllegalArgumentException e) {
+            return globalResponseHandler.badRequest(e.getMessage(), request);
+        }
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Valor inválido: " + value);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.project.demo.rest.report;
+
+import com.project.demo.logic.entity.http.GlobalResponseHandler;
+import com.project.demo.logic.entity.report_job.ReportJob;
+import com.project.demo.logic.entity.report_job.ReportJobStatus;
+import com.project.demo.rest.report.dto.CreateReportJobDTO;
+import com.project.demo.rest.report.dto.ReportJobDTO;
+import com.project.demo.service.report.ReportJobService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Optional;
+
+/**
+ * Asynchronous report generation: submit a job, poll its status and download the artifact.
+ */
+@RestController
+@RequestMapping("/reports/jobs")
+public class ReportJobRestController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobRestController.class);
+
+    private final ReportJobService reportJobService;
+
+    public ReportJobRestController(ReportJobService reportJobService) {
+        this.reportJobService = reportJobService;
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<?> submit(
+            @RequestBody CreateReportJobDTO dto,
+            @AuthenticationPrincipal UserDetails userDetails,
+            HttpServletRequest request
+    ) {
+        var globalResponseHandler = new GlobalResponseHandler();
+        if (dto.type() == null || dto.type().isBlank() || dto.format() == null) {
+            return globalResponseHandler.badRequest("El tipo y el formato del reporte son obligatorios", request);
+        }
+
+        logger.info("Solicitando reporte asíncrono {} ({}) por {}", dto.type(), dto.format(), userDetails.getUsername());
+        ReportJob job = reportJobService.submit(dto.type(), dto.format(), userDetails.getUsername());
+        if (job.getStatus() == ReportJobStatus.FAILED) {
+            return globalResponseHandler.handleResponse(job.getErrorMessage(), ReportJobDTO.from(job), HttpStatus.SERVICE_UNAVAILABLE, request);
+        }
+        return globalResponseHandler.handleResponse("Reporte en cola", ReportJobDTO.from(job), HttpStatus.ACCEPTED, request);
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<?> getStatus(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserDetails userDetails,
+            HttpServletRequest request
+    ) {
+        var globalResponseHandler = new GlobalResponseHandler();
+        Optional<ReportJob> job = reportJobService.findForUser(id, userDetails.getUsername());
+        if (job.isEmpty()) {
+            return globalResponseHandler.notFound("El trabajo de reporte con ID " + id + " no fue encontrado", request);
+        }
+        return globalResponseHandler.success("Estado del reporte obtenido correctamente", ReportJobDTO.from(job.get()), request);
+    }
+
+    @GetMapping("/{id}/download")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<?> download(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserDetails userDetails,
+            HttpServletRequest request
+    ) {
+        var globalResponseHandler = new GlobalResponseHandler();
+        Optional<ReportJob> opt = reportJobService.findForUser(id, userDetails.getUsername());
+        if (opt.isEmpty()) {
+            return globalResponseHandler.notFound("El trabajo de reporte con ID " + id + " no fue encontrado", request);
+        }
+
+        ReportJob job = opt.get();
+        if (job.getStatus() != ReportJobStatus.COMPLETED) {
+            return globalResponseHandler.handleResponse(
+                    "El reporte no está disponible (estado: " + job.getStatus() + ")",
+                    ReportJobDTO.from(job),
+                    HttpStatus.CONFLICT,
+                    request
+            );
+        }
+
+        StreamingResponseBody body = out -> reportJobService.writeArtifact(job, out);
+        String filename = "reporte-" + job.getReportType() + "-" + job.getId() + job.getFormat().getExtension();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
+                .contentType(MediaType.parseMediaType(job.getFormat().getContentType()))
+                .contentLength(job.getFileSize())
+                .body(body);
+    }
+}
@@ -0,0 +1,10 @@
+package com.project.demo.rest.report.dto;
+
+import com.project.demo.logic.entity.report_job.ReportJobFormat;
+
+/**
+ * Request body to submit an asynchronous report job.
+ * @param type   report type, same values as {@code /reports/download/*}
+ * @param format output format
+ */
+public record CreateReportJobDTO(String type, ReportJobFormat format) {}
@@ -0,0 +1,36 @@
+package com.project.demo.rest.report.dto;
+
+import com.project.demo.logic.entity.report_job.ReportJob;
+import com.project.demo.logic.entity.report_job.ReportJobFormat;
+import com.project.demo.logic.entity.report_job.ReportJobStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Status of an asynchronous report job, without the server-side file location.
+ */
+public record ReportJobDTO(
+        Long id,
+        String type,
+        ReportJobFormat format,
+        ReportJobStatus status,
+        Long fileSize,
+        String errorMessage,
+        LocalDateTime createdAt,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt
+) {
+    public static ReportJobDTO from(ReportJob job) {
+        return new ReportJobDTO(
+                job.getId(),
+                job.getReportType(),
+                job.getFormat(),
+                job.getStatus(),
+                job.getFileSize(),
+                job.getErrorMessage(),
+                job.getCreatedAt(),
+                job.getStartedAt(),
+                job.getFinishedAt()
+        );
+    }
+}
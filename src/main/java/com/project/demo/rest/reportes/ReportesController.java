@@ -1,11 +1,28 @@
 package com.project.demo.rest.reportes;
 
+import com.project.demo.common.CsvStreamWriter;
+import com.project.demo.common.JdbcStreamingUtils;
+import com.project.demo.service.report.AbandonedAnimalFilter;
+import com.project.demo.service.report.AbandonmentTrendService;
+import com.project.demo.service.report.ReportCache;
+import com.project.demo.service.report.ReportCacheKey;
+import com.project.demo.service.report.ReportDataFamily;
+import com.project.demo.service.report.ReportDataVersion;
+import com.project.demo.service.report.TrendBucket;
+import com.project.demo.service.report.TrendGrouping;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.MediaType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
 
 @RestController
@@ -13,11 +30,20 @@ import java.util.*;
 @CrossOrigin(origins = "http://localhost:4200")
 public class ReportesController {
 
+    private static final Logger logger = LoggerFactory.getLogger(ReportesController.class);
+
     private final JdbcTemplate jdbc;
+    private final ReportCache reportCache;
+    private final AbandonmentTrendService abandonmentTrendService;
+    private final ReportDataVersion reportDataVersion;
 
     @Autowired
-    public ReportesController(JdbcTemplate jdbc) {
+    public ReportesController(JdbcTemplate jdbc, ReportCache reportCache, AbandonmentTrendService abandonmentTrendService,
+                              ReportDataVersion reportDataVersion) {
         this.jdbc = jdbc;
+        this.reportCache = reportCache;
+        this.abandonmentTrendService = abandonmentTrendService;
+        this.reportDataVersion = reportDataVersion;
     }
 
     public record RowDTO(String canton, long total) {}
@@ -28,75 +54,119 @@ public ResponseEntity<?> abandonadosJson(
     @RequestParam(required=false) Long cantonId,
     @RequestParam(required=false) Long municipalityId,
     @RequestParam(required=false) String speciesId,
-    @RequestParam(required=false) String district
+    @RequestParam(required=false) String district,
+    WebRequest webRequest
 ) {
+    if (reportDataVersion.checkNotModified(webRequest, ReportDataFamily.ANIMALS)) {
+        return null;
+    }
     try {
-        var q = buildSql(from, to, cantonId, municipalityId, speciesId, district);
-        List<RowDTO> result = jdbc.query(q.sql, q.params.toArray(),
-            (rs, i) -> new RowDTO(rs.getString("canton"), rs.getLong("total")));
+        var filter = AbandonedAnimalFilter.of(from, to, cantonId, municipalityId, speciesId, district);
+        var q = buildSql(filter);
+        List<RowDTO> result = reportCache.get(abandonadosKey(filter),
+            () -> jdbc.query(q.sql, q.params.toArray(),
+                (rs, i) -> new RowDTO(rs.getString("canton"), rs.getLong("total"))));
         return ResponseEntity.ok(result);
     } catch (Exception e) {
         e.printStackTrace();
         return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
     }
 }
-    @GetMapping(value="/abandonados.csv", produces="text/csv; charset=UTF-8")
-    public ResponseEntity<String> abandonadosCsv(
+    /**
+     * Abandoned animal sightings counted per day, week or month over {@code [from, to]},
+     * optionally split by species, district or canton.
+     */
+    @GetMapping(value="/abandonados/tendencia", produces=MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> abandonadosTendencia(
         @RequestParam long from, @RequestParam long to,
+        @RequestParam(defaultValue="MONTH") String bucket,
+        @RequestParam(defaultValue="NONE") String groupBy,
         @RequestParam(required=false) Long cantonId,
         @RequestParam(required=false) Long municipalityId,
         @RequestParam(required=false) String speciesId,
-        @RequestParam(required=false) String district
+        @RequestParam(required=false) String district,
+        WebRequest webRequest
     ) {
-        var q = buildSql(from, to, cantonId, municipalityId, speciesId, district);
-        var rows = jdbc.queryForList(q.sql, q.params.toArray());
-        StringBuilder csv = new StringBuilder("\uFEFFcanton,total\n");
-        for (var r : rows) {
-            String canton = String.valueOf(r.get("canton")).replace("\"", "\"\"");
-            csv.append("\"").append(canton).append("\",").append(r.get("total")).append("\n");
+        if (to < from) {
+            return ResponseEntity.badRequest().body(Map.of("error", "El parámetro 'to' debe ser mayor o igual a 'from'"));
+        }
+        TrendBucket trendBucket;
+        TrendGrouping trendGrouping;
+        try {
+            trendBucket = TrendBucket.valueOf(bucket.toUpperCase(Locale.ROOT));
+            trendGrouping = TrendGrouping.valueOf(groupBy.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error",
+                "Parámetros inválidos: bucket debe ser DAY, WEEK o MONTH y groupBy NONE, SPECIES, DISTRICT o CANTON"));
         }
+        if (reportDataVersion.checkNotModified(webRequest, ReportDataFamily.ANIMALS)) {
+            return null;
+        }
+        try {
+            var filter = AbandonedAnimalFilter.of(from, to, cantonId, municipalityId, speciesId, district);
+            return ResponseEntity.ok(abandonmentTrendService.trend(filter, trendBucket, trendGrouping));
+        } catch (Exception e) {
+            logger.error("Error calculando la tendencia de animales abandonados", e);
+            return ResponseEntity.status(500).body(Map.of("error", "No se pudo calcular la tendencia de animales abandonados"));
+        }
+    }
+
+    @GetMapping("/abandonados.csv")
+    public ResponseEntity<StreamingResponseBody> abandonadosCsv(
+        @RequestParam long from, @RequestParam long to,
+        @RequestParam(required=false) Long cantonId,
+        @RequestParam(required=false) Long municipalityId,
+        @RequestParam(required=false) String speciesId,
+        @RequestParam(required=false) String district,
+        @RequestParam(defaultValue="false") boolean gzip
+    ) {
+        var filter = AbandonedAnimalFilter.of(from, to, cantonId, municipalityId, speciesId, district);
+        var q = buildSql(filter);
+        List<RowDTO> cached = reportCache.getIfPresent(abandonadosKey(filter));
+        StreamingResponseBody body = out -> {
+            try (CsvStreamWriter csv = new CsvStreamWriter(out, gzip)) {
+                csv.writeRow("canton", "total");
+                if (cached != null) {
+                    for (RowDTO row : cached) {
+                        csv.writeRow(row.canton(), row.total());
+                    }
+                    return;
+                }
+                csv.flush();
+                jdbc.query(JdbcStreamingUtils.forwardOnly(q.sql, q.params.toArray()), (RowCallbackHandler) rs -> {
+                    try {
+                        csv.writeRow(rs.getString("canton"), rs.getLong("total"));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
         return ResponseEntity.ok()
-            .header("Content-Disposition", "attachment; filename=abandonados.csv")
-            .body(csv.toString());
+            .header("Content-Disposition", "attachment; filename=abandonados" + (gzip ? ".csv.gz" : ".csv"))
+            .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : "text/csv; charset=UTF-8"))
+            .body(body);
+    }
+
+    private static ReportCacheKey abandonadosKey(AbandonedAnimalFilter filter) {
+        return ReportCacheKey.of("reportes.abandonados", filter);
     }
 
     private static class Q { String sql; List<Object> params; }
-    private Q buildSql(long from, long to, Long cantonId, Long municipalityId,
-                      String speciesId, String district) {
+    private Q buildSql(AbandonedAnimalFilter filter) {
         StringBuilder sql = new StringBuilder("""
     SELECT c.name AS canton, COUNT(*) AS total
     FROM abandoned_animal aa
     JOIN canton c ON c.id = aa.canton_id
-    WHERE CAST(aa.is_abandoned AS UNSIGNED) = 1
-      AND aa.created_at BETWEEN FROM_UNIXTIME(?/1000) AND FROM_UNIXTIME(?/1000)
 """);
-        var params = new ArrayList<Object>();
-        params.add(from); params.add(to);
-
-        if (cantonId != null) { sql.append(" AND aa.canton_id = ? "); params.add(cantonId); }
-        if (municipalityId != null) { sql.append(" AND m.id = ? "); params.add(municipalityId); }
-
-        java.util.function.Function<String, List<String>> splitCsv = s ->
-            Arrays.stream(s.split(",")).map(String::trim)
-                .filter(v -> !v.isEmpty() && !"__all".equalsIgnoreCase(v)).toList();
-
-        if (speciesId != null && !speciesId.isBlank()) {
-            var ids = splitCsv.apply(speciesId);
-            if (!ids.isEmpty()) {
-                sql.append(" AND aa.species_id IN (")
-                   .append("?,".repeat(ids.size()).replaceFirst(",$", "")).append(") ");
-                params.addAll(ids);
-            }
-        }
-        if (district != null && !district.isBlank()) {
-            var dists = splitCsv.apply(district);
-            if (!dists.isEmpty()) {
-                sql.append(" AND aa.district IN (")
-                   .append("?,".repeat(dists.size()).replaceFirst(",$", "")).append(") ");
-                params.addAll(dists);
-            }
+        if (filter.needsUserJoin()) {
+            sql.append(" JOIN `user` u ON u.id = aa.created_by ");
         }
+        var params = new ArrayList<Object>();
+        filter.appendTo(sql, params);
         sql.append(" GROUP BY c.name ORDER BY total DESC ");
         var q = new Q(); q.sql = sql.toString(); q.params = params; return q;
     }
-}
\ No newline at end of file
+}
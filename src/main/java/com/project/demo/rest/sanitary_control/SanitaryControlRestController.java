@@ -5,6 +5,8 @@ import com.project.demo.logic.entity.http.GlobalResponseHandler;
 import com.project.demo.logic.entity.http.Meta;
 import com.project.demo.logic.entity.sanitary_control.SanitaryControl;
 import com.project.demo.logic.entity.sanitary_control.SanitaryControlRepository;
+import com.project.demo.service.notification.PreventiveCareDueService;
+import com.project.demo.service.report.ReportRollupService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,6 +29,12 @@ public class SanitaryControlRestController {
     @Autowired
     private SanitaryControlRepository sanitaryControlRepository;
 
+    @Autowired
+    private ReportRollupService reportRollupService;
+
+    @Autowired
+    private PreventiveCareDueService preventiveCareDueService;
+
     @GetMapping
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> getAll(
@@ -79,7 +87,13 @@ public class SanitaryControlRestController {
         logger.info("Invocando create - creando nuevo registro de control sanitario para tipo: {}", sanitaryControl.getSanitaryControlType().getName());
         var globalResponseHandler = new GlobalResponseHandler();
 
+        Long animalId = sanitaryControl.getAnimal() != null ? sanitaryControl.getAnimal().getId() : null;
+        boolean sterilizedBefore = animalId != null && reportRollupService.isSterilized(animalId);
         sanitaryControlRepository.save(sanitaryControl);
+        if (animalId != null) {
+            reportRollupService.sterilizationChanged(animalId, sterilizedBefore);
+            preventiveCareDueService.animalChanged(animalId);
+        }
         return globalResponseHandler.created(
                 "Registro de control sanitario creado correctamente",
                 sanitaryControl,
@@ -103,11 +117,15 @@ public class SanitaryControlRestController {
         }
 
         SanitaryControl current = opt.get();
+        Long animalId = current.getAnimal().getId();
+        boolean sterilizedBefore = reportRollupService.isSterilized(animalId);
         current.setLastApplicationDate(sanitaryControl.getLastApplicationDate());
         current.setProductUsed(sanitaryControl.getProductUsed());
         current.setSanitaryControlType(sanitaryControl.getSanitaryControlType());
 
         sanitaryControlRepository.save(current);
+        reportRollupService.sterilizationChanged(animalId, sterilizedBefore);
+        preventiveCareDueService.animalChanged(animalId);
         return globalResponseHandler.success(
                 "Registro de control sanitario actualizado correctamente",
                 current,
@@ -123,7 +141,11 @@ public class SanitaryControlRestController {
 
         Optional<SanitaryControl> opt = sanitaryControlRepository.findById(id);
         if (opt.isPresent()) {
+            Long animalId = opt.get().getAnimal().getId();
+            boolean sterilizedBefore = reportRollupService.isSterilized(animalId);
             sanitaryControlRepository.deleteById(id);
+            reportRollupService.sterilizationChanged(animalId, sterilizedBefore);
+            preventiveCareDueService.animalChanged(animalId);
             logger.info("Registro de control sanitario con ID {} eliminado correctamente", id);
             return globalResponseHandler.success(
                     "Registro de control sanitario eliminado correctamente",
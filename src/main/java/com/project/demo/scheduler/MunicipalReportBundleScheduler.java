@@ -0,0 +1,27 @@
+package com.project.demo.scheduler;
+
+import com.project.demo.logic.constants.scheduling.SchedulerCronConstants;
+import com.project.demo.service.report.MunicipalReportBundleService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduler that pre-renders the standard report set of every municipality.
+ * <p>
+ * Runs every day at 00:30 Costa Rica time, so the bundles reflect the previous day
+ * and are ready before the municipal administrators start their day.
+ */
+@Component
+public class MunicipalReportBundleScheduler {
+
+    private final MunicipalReportBundleService municipalReportBundleService;
+
+    public MunicipalReportBundleScheduler(MunicipalReportBundleService municipalReportBundleService) {
+        this.municipalReportBundleService = municipalReportBundleService;
+    }
+
+    @Scheduled(cron = SchedulerCronConstants.EVERY_DAY_AT_00_30, zone = SchedulerCronConstants.ZONE_AMERICA_COSTA_RICA)
+    public void renderMunicipalReportBundles() {
+        municipalReportBundleService.renderAll();
+    }
+}
@@ -1,7 +1,6 @@
 package com.project.demo.scheduler;
 
 import com.project.demo.logic.constants.scheduling.SchedulerCronConstants;
-import com.project.demo.logic.entity.community_animal.CommunityAnimalRepository;
 import com.project.demo.logic.entity.notification.Notification;
 import com.project.demo.logic.entity.notification.NotificationRepository;
 import com.project.demo.logic.entity.notification_status.NotificationStatus;
@@ -10,16 +9,19 @@ import com.project.demo.logic.entity.notification_status.NotificationStatusRepos
 import com.project.demo.logic.entity.notification_type.NotificationType;
 import com.project.demo.logic.entity.notification_type.NotificationTypeEnum;
 import com.project.demo.logic.entity.notification_type.NotificationTypeRepository;
-import com.project.demo.logic.entity.rol.RoleEnum;
-import com.project.demo.logic.entity.user.User;
 import com.project.demo.logic.entity.user.UserRepository;
+import com.project.demo.service.notification.NotificationCounterService;
+import com.project.demo.service.notification.RegistrationReminderService;
+import com.project.demo.service.scheduling.LeaseLockService;
+import com.project.demo.service.scheduling.LeaseLocked;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -27,7 +29,9 @@ import java.util.List;
  * <p>
  * This scheduler runs every MIDNIGHT and checks for users with the COMMUNITY_USER role
  * who do not have any registered animals. If such users exist, it sends them a notification
- * reminding them to register their community animals.
+ * reminding them to register their community animals. The users are found with a single
+ * anti-join ({@link RegistrationReminderService}) and their notifications saved together.
+ * Each tick runs on a single instance of the cluster ({@link LeaseLocked}).
  * @author dgutierrez
  */
 @Component
@@ -39,76 +43,62 @@ public class NotificationGenerationRegisterAnimalsScheduler {
     private final NotificationRepository notificationRepository;
     private final NotificationTypeRepository notificationTypeRepository;
     private final NotificationStatusRepository notificationStatusRepository;
-    private final CommunityAnimalRepository communityAnimalRepository;
+    private final RegistrationReminderService registrationReminderService;
+    private final NotificationCounterService notificationCounterService;
+    private final LeaseLockService leaseLockService;
 
     public NotificationGenerationRegisterAnimalsScheduler(
             UserRepository userRepository,
             NotificationRepository notificationRepository,
             NotificationTypeRepository notificationTypeRepository,
             NotificationStatusRepository notificationStatusRepository,
-            CommunityAnimalRepository communityAnimalRepository
+            RegistrationReminderService registrationReminderService,
+            NotificationCounterService notificationCounterService,
+            LeaseLockService leaseLockService
     ) {
         this.userRepository = userRepository;
         this.notificationRepository = notificationRepository;
         this.notificationTypeRepository = notificationTypeRepository;
         this.notificationStatusRepository = notificationStatusRepository;
-        this.communityAnimalRepository = communityAnimalRepository;
+        this.registrationReminderService = registrationReminderService;
+        this.notificationCounterService = notificationCounterService;
+        this.leaseLockService = leaseLockService;
     }
 
     @Scheduled(cron = SchedulerCronConstants.EVERY_5_MINUTES, zone = SchedulerCronConstants.ZONE_AMERICA_COSTA_RICA)
+    @LeaseLocked(name = "animal-registration-reminders")
+    @Transactional
     public void notifyUsersWithoutRegisteredAnimals() {
         logger.info("Ejecutando scheduler de usuarios sin animales registrados...");
 
-        List<User> communityUsers = userRepository.findAllByRoleName(RoleEnum.COMMUNITY_USER);
+        NotificationType type = notificationTypeRepository.findByName(NotificationTypeEnum.ANIMAL_REGISTRATION.getName())
+                .orElseThrow(() -> new IllegalStateException("Tipo ANIMAL_REGISTRATION no encontrado"));
 
-        if (communityUsers.isEmpty()) {
-            logger.info("No hay usuarios COMMUNITY sin animales registrados.");
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> userIds = registrationReminderService.findUsersToRemind(type.getId(), now);
+        if (userIds.isEmpty()) {
+            logger.info("No hay usuarios COMMUNITY sin animales registrados pendientes de notificar.");
             return;
         }
 
-        NotificationType type = notificationTypeRepository.findByName(NotificationTypeEnum.ANIMAL_REGISTRATION.getName())
-                .orElseThrow(() -> new IllegalStateException("Tipo ANIMAL_REGISTRATION no encontrado"));
-
         NotificationStatus status = notificationStatusRepository.findByName(NotificationStatusEnum.SENT.getName())
                 .orElseThrow(() -> new IllegalStateException("Estado SENT no encontrado"));
 
-        for (User user : communityUsers) {
-            if (communityAnimalRepository.existsByUser_Email(user.getEmail())) {
-                continue;
-            }
-
-            notificationRepository.findTopByUserIdAndNotificationType_NameOrderByDateIssuedDesc(user.getId(), type.getName())
-                    .ifPresentOrElse(lastNotif -> {
-                        LocalDateTime lastIssued = lastNotif.getDateIssued();
-                        if (lastIssued.plusDays(SchedulerCronConstants.DAYS_BETWEEN_NOTIFICATIONS_FOR_REGISTER_COMMUNITY_ANIMALS).isAfter(LocalDateTime.now())) {
-                            logger.info(
-                                    "Usuario {} ya fue notificado el {}. No se enviará otra hasta pasar {} días.",
-                                    user.getId(),
-                                    lastIssued,
-                                    SchedulerCronConstants.DAYS_BETWEEN_NOTIFICATIONS_FOR_REGISTER_COMMUNITY_ANIMALS
-                            );
-                            return;
-                        }
-                        sendNotification(user, type, status);
-                    }, () -> {
-                        sendNotification(user, type, status);
-                    });
+        List<Notification> notifications = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            notifications.add(Notification.builder()
+                    .user(userRepository.getReferenceById(userId))
+                    .title("🐶 ¡No dejes solo a tu amigo!")
+                    .description("Aún no has registrado animales en el sistema. Hazlo para que podamos recordarte sus cuidados y atenciones sanitarias 🩺.")
+                    .dateIssued(now)
+                    .notificationStatus(status)
+                    .notificationType(type)
+                    .build());
         }
 
-        logger.info("Scheduler de usuarios sin animales finalizado.");
-    }
-
-    private void sendNotification(User user, NotificationType type, NotificationStatus status) {
-        Notification notif = Notification.builder()
-                .user(user)
-                .title("🐶 ¡No dejes solo a tu amigo!")
-                .description("Aún no has registrado animales en el sistema. Hazlo para que podamos recordarte sus cuidados y atenciones sanitarias 🩺.")
-                .dateIssued(LocalDateTime.now())
-                .notificationStatus(status)
-                .notificationType(type)
-                .build();
-
-        notificationRepository.save(notif);
-        logger.info("Notificación enviada a usuario {}", user.getId());
+        leaseLockService.assertHeld();
+        notificationCounterService.recordInserted(notifications);
+        notificationRepository.saveAll(notifications);
+        logger.info("Scheduler de usuarios sin animales finalizado: {} notificaciones enviadas.", notifications.size());
     }
 }
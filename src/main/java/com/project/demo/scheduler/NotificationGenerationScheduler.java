@@ -1,13 +1,6 @@
 package com.project.demo.scheduler;
 
 import com.project.demo.logic.constants.scheduling.SchedulerCronConstants;
-import com.project.demo.logic.entity.community_animal.CommunityAnimal;
-import com.project.demo.logic.entity.community_animal.CommunityAnimalRepository;
-import com.project.demo.logic.entity.municipal_preventive_care_configuration.MunicipalPreventiveCareConfiguration;
-import com.project.demo.logic.entity.municipal_preventive_care_configuration.MunicipalPreventiveCareConfigurationEnum;
-import com.project.demo.logic.entity.municipal_preventive_care_configuration.MunicipalPreventiveCareConfigurationRepository;
-import com.project.demo.logic.entity.municipality.Municipality;
-import com.project.demo.logic.entity.municipality.MunicipalityRepository;
 import com.project.demo.logic.entity.notification.Notification;
 import com.project.demo.logic.entity.notification.NotificationRepository;
 import com.project.demo.logic.entity.notification.NotificationTemplateRegistry;
@@ -17,26 +10,36 @@ import com.project.demo.logic.entity.notification_status.NotificationStatusEnum;
 import com.project.demo.logic.entity.notification_type.NotificationType;
 import com.project.demo.logic.entity.notification_type.NotificationTypeEnum;
 import com.project.demo.logic.entity.notification_type.NotificationTypeRepository;
-import com.project.demo.logic.entity.sanitary_control.SanitaryControl;
-import com.project.demo.logic.entity.sanitary_control.SanitaryControlRepository;
-import com.project.demo.logic.entity.user.User;
-import com.project.demo.logic.entity.vaccine_application.VaccineApplication;
-import com.project.demo.logic.entity.vaccine_application.VaccineApplicationRepository;
+import com.project.demo.logic.entity.user.UserRepository;
+import com.project.demo.service.notification.DuePartition;
+import com.project.demo.service.notification.NotificationCounterService;
+import com.project.demo.service.notification.OverdueCare;
+import com.project.demo.service.notification.PreventiveCareDueService;
+import com.project.demo.service.scheduling.Lease;
+import com.project.demo.service.scheduling.LeaseLockService;
+import com.project.demo.service.scheduling.LeaseLocked;
+import com.project.demo.service.scheduling.PartitionedExecutionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 
 /**
- * Scheduled task that runs daily at midnight to generate user notifications
- * based on registered animals in the system.
+ * Scheduled task that generates preventive care reminders for community animals.
  * <p>
- * This class is responsible for orchestrating the execution of the notification
- * generation logic and should delegate business logic to the appropriate service layer.
+ * Due animals are read from the queue kept by {@link PreventiveCareDueService}, so a run
+ * only touches the animals whose reminder is due instead of evaluating every animal.
+ * The due reminders are split by municipality (and by animal id ranges within large
+ * municipalities), and the partitions run concurrently through
+ * {@link PartitionedExecutionService}, so a large municipality does not delay the others.
+ * Each partition saves its notifications and moves its animals forward in the queue in
+ * its own transaction. The queue is rebuilt every night to correct any drift.
+ * <p>
+ * Both tasks run on a single instance of the cluster per tick ({@link LeaseLocked}).
  *
  * @author dgutierrez
  */
@@ -47,160 +50,95 @@ public class NotificationGenerationScheduler {
     private final NotificationRepository notificationRepository;
     private final NotificationTypeRepository notificationTypeRepository;
     private final NotificationStatusRepository notificationStatusRepository;
-    private final CommunityAnimalRepository communityAnimalRepository;
-    private final MunicipalPreventiveCareConfigurationRepository configurationRepository;
-    private final MunicipalityRepository municipalityRepository;
-    private final SanitaryControlRepository sanitaryControlRepository;
-    private final VaccineApplicationRepository vaccineApplicationRepository;
+    private final UserRepository userRepository;
+    private final PreventiveCareDueService preventiveCareDueService;
+    private final NotificationCounterService notificationCounterService;
+    private final LeaseLockService leaseLockService;
+    private final PartitionedExecutionService partitionedExecutionService;
+
+    @Value("${notifications.preventive-care.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${notifications.preventive-care.partition-size:5000}")
+    private int partitionSize;
 
     public NotificationGenerationScheduler(
             NotificationRepository notificationRepository,
             NotificationTypeRepository notificationTypeRepository,
             NotificationStatusRepository notificationStatusRepository,
-            CommunityAnimalRepository communityAnimalRepository,
-            MunicipalPreventiveCareConfigurationRepository configurationRepository,
-            MunicipalityRepository municipalityRepository,
-            SanitaryControlRepository sanitaryControlRepository,
-            VaccineApplicationRepository vaccineApplicationRepository
+            UserRepository userRepository,
+            PreventiveCareDueService preventiveCareDueService,
+            NotificationCounterService notificationCounterService,
+            LeaseLockService leaseLockService,
+            PartitionedExecutionService partitionedExecutionService
     ) {
         this.notificationRepository = notificationRepository;
         this.notificationTypeRepository = notificationTypeRepository;
         this.notificationStatusRepository = notificationStatusRepository;
-        this.communityAnimalRepository = communityAnimalRepository;
-        this.configurationRepository = configurationRepository;
-        this.municipalityRepository = municipalityRepository;
-        this.sanitaryControlRepository = sanitaryControlRepository;
-        this.vaccineApplicationRepository = vaccineApplicationRepository;
+        this.userRepository = userRepository;
+        this.preventiveCareDueService = preventiveCareDueService;
+        this.notificationCounterService = notificationCounterService;
+        this.leaseLockService = leaseLockService;
+        this.partitionedExecutionService = partitionedExecutionService;
     }
 
     @Scheduled(cron = SchedulerCronConstants.EVERY_5_MINUTES, zone = SchedulerCronConstants.ZONE_AMERICA_COSTA_RICA)
+    @LeaseLocked(name = "preventive-care-reminders")
     public void runMidnightNotificationTask() {
-        logger.info("Ejecutando scheduler de generación de notificaciones: {}", LocalDateTime.now());
-
-        List<Municipality> municipalities = municipalityRepository.findAll();
-        if (municipalities.isEmpty()) {
-            logger.warn("No hay municipalidades registradas. El scheduler termina.");
-            return;
-        }
-
-        municipalities.forEach(this::processMunicipality);
-    }
+        LocalDateTime now = LocalDateTime.now();
+        logger.info("Ejecutando scheduler de generación de notificaciones: {}", now);
 
-    private void processMunicipality(Municipality municipality) {
-        logger.info("Procesando municipalidad: {}", municipality.getName());
-
-        List<MunicipalPreventiveCareConfiguration> configs = configurationRepository.findAll().stream()
-                .filter(conf -> conf.getMunicipality().getId().equals(municipality.getId()))
-                .toList();
-
-        if (configs.isEmpty()) {
-            logger.warn("No hay configuraciones para la municipalidad {}", municipality.getName());
+        List<DuePartition> partitions = preventiveCareDueService.findDuePartitions(now, partitionSize);
+        if (partitions.isEmpty()) {
+            logger.info("No hay animales con cuidados preventivos atrasados.");
             return;
         }
 
-        List<CommunityAnimal> animals = communityAnimalRepository.findAll().stream()
-                .filter(animal -> Optional.ofNullable(animal.getUser())
-                        .map(User::getMunicipality)
-                        .map(m -> m.getId().equals(municipality.getId()))
-                        .orElse(false))
-                .toList();
+        NotificationType typeEntity = notificationTypeRepository.findByName(NotificationTypeEnum.SANITARY_ALERT.getName())
+                .orElseThrow(() -> new IllegalStateException("Tipo SANITARY_ALERT no encontrado"));
+        NotificationStatus statusEntity = notificationStatusRepository.findByName(NotificationStatusEnum.SENT.getName())
+                .orElseThrow(() -> new IllegalStateException("Estado SENT no encontrado"));
+        Optional<Lease> lease = leaseLockService.currentLease();
 
-        animals.forEach(animal -> processAnimal(animal, configs));
+        partitionedExecutionService.runAll("Recordatorios de cuidados preventivos", partitions,
+                partition -> remindPartition(partition, now, typeEntity, statusEntity, lease));
     }
 
-    private void processAnimal(CommunityAnimal animal, List<MunicipalPreventiveCareConfiguration> configs) {
-        logger.info("Procesando animal con ID: {} y nombre: {}", animal.getId(), animal.getName());
-        for (MunicipalPreventiveCareConfiguration config : configs) {
-            boolean needsNotification;
-
-            if (config.getType() == MunicipalPreventiveCareConfigurationEnum.VACCINATION) {
-                needsNotification = evaluateVaccination(animal, config);
-            } else {
-                needsNotification = evaluateSanitaryControl(animal, config);
-            }
-
-            if (needsNotification) {
-                generateNotification(animal, config);
-            }
+    private int remindPartition(DuePartition partition, LocalDateTime now, NotificationType typeEntity,
+                                NotificationStatus statusEntity, Optional<Lease> lease) {
+        // The reminder title only names the animal, so an animal due for several cares gets a single reminder.
+        Map<Long, OverdueCare> overdue = new LinkedHashMap<>();
+        preventiveCareDueService.findDue(now, partition, batchSize)
+                .forEach(animal -> overdue.putIfAbsent(animal.animalId(), animal));
+        if (overdue.isEmpty()) {
+            return 0;
         }
-    }
 
-    private boolean evaluateVaccination(CommunityAnimal animal, MunicipalPreventiveCareConfiguration config) {
-        LocalDate threshold = LocalDate.now().minusMonths(config.getValue());
-
-        List<VaccineApplication> applications = vaccineApplicationRepository.findAll().stream()
-                .filter(va -> va.getAnimal().getId().equals(animal.getId()))
-                .filter(va -> va.getApplicationDate() != null && va.getApplicationDate().isAfter(threshold))
-                .toList();
-
-        boolean isValid = !applications.isEmpty();
-        logger.debug("Evaluando vacunación para animal {} → {}", animal.getId(), isValid ? "al día" : "atrasado");
-        return !isValid;
-    }
-
-    private boolean evaluateSanitaryControl(CommunityAnimal animal, MunicipalPreventiveCareConfiguration config) {
-        LocalDate threshold = LocalDate.now().minusMonths(config.getValue());
-
-        List<SanitaryControl> controls = sanitaryControlRepository.findAll().stream()
-                .filter(sc -> sc.getAnimal().getId().equals(animal.getId()))
-                .filter(sc -> sc.getSanitaryControlType().getName().equalsIgnoreCase(config.getType().name()))
-                .filter(sc -> sc.getLastApplicationDate() != null && sc.getLastApplicationDate().isAfter(threshold))
-                .toList();
-
-        boolean isValid = !controls.isEmpty();
-        logger.debug("Evaluando control sanitario [{}] para animal {} → {}", config.getType(), animal.getId(), isValid ? "al día" : "atrasado");
-        return !isValid;
-    }
-
-    private void generateNotification(CommunityAnimal animal, MunicipalPreventiveCareConfiguration config) {
-        int monthsInterval = config.getValue();
-        NotificationTypeEnum typeEnum = NotificationTypeEnum.SANITARY_ALERT;
-
-        String title = "🦴 Recuerdos cariñosos para tu amigo " + animal.getName();
-
-        Optional<Notification> latestNotif = notificationRepository
-                .findTopByUserIdAndNotificationType_NameAndTitleOrderByDateIssuedDesc(
-                        animal.getUser().getId(),
-                        typeEnum.getName(),
-                        title
-                );
-
-        if (latestNotif.isPresent()) {
-            LocalDateTime lastSentDate = latestNotif.get().getDateIssued();
-            if (lastSentDate.plusMonths(monthsInterval).isAfter(LocalDateTime.now())) {
-                logger.info("Notificación omitida: ya se envió a {} sobre {} para {} hace {}. Próxima después de {}",
-                        animal.getUser().getId(),
-                        config.getType().getName(),
-                        animal.getName(),
-                        lastSentDate,
-                        lastSentDate.plusMonths(monthsInterval)
-                );
-                return;
-            }
+        var template = NotificationTemplateRegistry.getTemplate(NotificationTypeEnum.SANITARY_ALERT);
+
+        List<Notification> notifications = new ArrayList<>(overdue.size());
+        for (OverdueCare care : overdue.values()) {
+            notifications.add(Notification.builder()
+                    .user(userRepository.getReferenceById(care.userId()))
+                    .title(PreventiveCareDueService.reminderTitle(care.animalName()))
+                    .description(template.message())
+                    .actionUrl(template.actionUrl())
+                    .dateIssued(now)
+                    .notificationStatus(statusEntity)
+                    .notificationType(typeEntity)
+                    .build());
         }
 
-        NotificationType typeEntity = notificationTypeRepository.findByName(typeEnum.getName())
-                .orElseThrow(() -> new IllegalStateException("Tipo SANITARY_ALERT no encontrado"));
-
-        NotificationStatus statusEntity = notificationStatusRepository.findByName(NotificationStatusEnum.SENT.getName())
-                .orElseThrow(() -> new IllegalStateException("Estado SENT no encontrado"));
-
-        var template = NotificationTemplateRegistry.getTemplate(typeEnum);
-
-        String resolvedDescription = template.message();
-        String resolvedActionUrl = template.actionUrl();
-
-        Notification notif = Notification.builder()
-                .user(animal.getUser())
-                .title(title)
-                .description(resolvedDescription)
-                .actionUrl(resolvedActionUrl)
-                .dateIssued(LocalDateTime.now())
-                .notificationStatus(statusEntity)
-                .notificationType(typeEntity)
-                .build();
+        lease.ifPresent(leaseLockService::assertHeld);
+        notificationCounterService.recordInserted(notifications);
+        notificationRepository.saveAll(notifications);
+        preventiveCareDueService.markReminded(overdue.keySet(), now);
+        return notifications.size();
+    }
 
-        notificationRepository.save(notif);
-        logger.info("Notificación generada para usuario {} por tipo {}", animal.getUser().getId(), config.getType().getName());
+    @Scheduled(cron = SchedulerCronConstants.EVERY_MIDNIGHT, zone = SchedulerCronConstants.ZONE_AMERICA_COSTA_RICA)
+    @LeaseLocked(name = "preventive-care-due-rebuild", leaseSeconds = 1800, minHoldSeconds = 300)
+    public void rebuildPreventiveCareDueQueue() {
+        preventiveCareDueService.rebuild();
     }
 }
@@ -0,0 +1,129 @@
+package com.project.demo.scheduler;
+
+import com.project.demo.logic.constants.scheduling.SchedulerCronConstants;
+import com.project.demo.logic.entity.notification_outbox.NotificationOutboxEvent;
+import com.project.demo.service.notification.NotificationOutboxService;
+import com.project.demo.service.scheduling.Lease;
+import com.project.demo.service.scheduling.LeaseLockService;
+import com.project.demo.service.scheduling.LeaseLocked;
+import com.project.demo.service.scheduling.PartitionedExecutionService;
+import com.project.demo.service.scheduling.PartitionedExecutionService.PartitionResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Drains the notification outbox ({@link NotificationOutboxService}) in the background.
+ * <p>
+ * Every poll takes batches of {@code notifications.outbox.batch-size} due events and
+ * dispatches each one in its own transaction, at most
+ * {@code notifications.outbox.max-concurrency} at a time. Events are pulled only as fast
+ * as they are dispatched, and a poll stops after
+ * {@code notifications.outbox.max-batches-per-poll} batches, so a burst of events queues
+ * in the outbox instead of overloading the database; the backlog is logged when it grows
+ * past {@code notifications.outbox.backlog-warning}. Fan-outs commit their chunks on a
+ * second connection ({@code NotificationBulkWriter}), so each concurrent dispatch may use
+ * two pooled connections. Runs on a single instance of the cluster ({@link LeaseLocked}).
+ * <p>
+ * A poll can outlast its lease, so the lease is checked before every batch and before each
+ * event: once another instance took it over, the poll stops without recording failures.
+ * These checks only limit duplicated work; an event is never dispatched twice because
+ * {@link NotificationOutboxService#dispatch} locks its row and skips it unless it is still
+ * pending.
+ */
+@Component
+public class NotificationOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationOutboxDispatcher.class);
+
+    private final NotificationOutboxService outboxService;
+    private final PartitionedExecutionService partitionedExecutionService;
+    private final LeaseLockService leaseLockService;
+
+    @Value("${notifications.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${notifications.outbox.max-concurrency:4}")
+    private int maxConcurrency;
+
+    @Value("${notifications.outbox.max-batches-per-poll:20}")
+    private int maxBatchesPerPoll;
+
+    @Value("${notifications.outbox.backlog-warning:10000}")
+    private long backlogWarning;
+
+    @Value("${notifications.outbox.retention-days:7}")
+    private int retentionDays;
+
+    public NotificationOutboxDispatcher(
+            NotificationOutboxService outboxService,
+            PartitionedExecutionService partitionedExecutionService,
+            LeaseLockService leaseLockService
+    ) {
+        this.outboxService = outboxService;
+        this.partitionedExecutionService = partitionedExecutionService;
+        this.leaseLockService = leaseLockService;
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.outbox.poll-millis:2000}")
+    @LeaseLocked(name = "notification-outbox", leaseSeconds = 300, minHoldSeconds = 0)
+    public void dispatchPending() {
+        Optional<Lease> lease = leaseLockService.currentLease();
+        for (int batch = 0; batch < maxBatchesPerPoll; batch++) {
+            if (leaseLost(lease)) {
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            List<NotificationOutboxEvent> events = outboxService.findDue(now, batchSize);
+            if (events.isEmpty()) {
+                return;
+            }
+
+            List<PartitionResult<NotificationOutboxEvent>> results = partitionedExecutionService.runAll(
+                    "Despacho de notificaciones", events, maxConcurrency, event -> {
+                        lease.ifPresent(leaseLockService::assertHeld);
+                        return outboxService.dispatch(event) ? 1 : 0;
+                    });
+            if (leaseLost(lease)) {
+                return;
+            }
+            for (PartitionResult<NotificationOutboxEvent> result : results) {
+                if (result.failed()) {
+                    outboxService.recordFailure(result.partition(), result.error(), LocalDateTime.now());
+                }
+            }
+
+            if (events.size() < batchSize) {
+                return;
+            }
+        }
+
+        long pending = outboxService.countPending();
+        if (pending > backlogWarning) {
+            logger.warn("Outbox de notificaciones con {} eventos pendientes", pending);
+        }
+    }
+
+    private boolean leaseLost(Optional<Lease> lease) {
+        if (lease.isPresent() && !leaseLockService.isHeld(lease.get())) {
+            logger.warn("Lease del outbox de notificaciones perdido, se detiene el despacho");
+            return true;
+        }
+        return false;
+    }
+
+    @Scheduled(cron = SchedulerCronConstants.EVERY_HOUR, zone = SchedulerCronConstants.ZONE_AMERICA_COSTA_RICA)
+    @LeaseLocked(name = "notification-outbox-purge")
+    public void purgeDispatched() {
+        int purged = outboxService.purgeDone(LocalDateTime.now().minusDays(retentionDays));
+        if (purged > 0) {
+            logger.info("Eventos de notificación despachados eliminados: {}", purged);
+        }
+    }
+}
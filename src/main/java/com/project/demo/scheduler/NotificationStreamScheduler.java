@@ -0,0 +1,134 @@
+package com.project.demo.scheduler;
+
+import com.project.demo.logic.entity.notification.Notification;
+import com.project.demo.logic.entity.notification.NotificationRepository;
+import com.project.demo.logic.entity.notification_status.NotificationStatusEnum;
+import com.project.demo.logic.entity.notification_status.NotificationStatusRepository;
+import com.project.demo.rest.notification.dto.NotificationDTO;
+import com.project.demo.service.notification.NotificationCounterService;
+import com.project.demo.service.notification.NotificationStreamService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Feeds {@link NotificationStreamService} on every instance.
+ * <p>
+ * Each poll reads the notifications inserted in the last {@code notifications.stream.rescan-seconds}
+ * for the users connected to this instance only, pushes those not pushed yet and then pushes
+ * the new unread count of their recipients; the cost does not depend on how many clients are
+ * connected nor on how the notifications were created (single saves, bulk fan-outs or
+ * scheduled reminders, on any instance). The window is re-read on every poll, so a
+ * notification whose transaction commits after notifications with higher ids (concurrent
+ * partitions or chunks) is still pushed if it commits within the window; the ids pushed
+ * within the window are remembered so none is pushed twice. Notifications inserted before
+ * the instance started are left to the clients' initial load. Unread counts are read from
+ * {@link NotificationCounterService}. Not lease-locked: every instance serves its own connections.
+ */
+@Component
+public class NotificationStreamScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationStreamScheduler.class);
+
+    private static final int USERS_PER_QUERY = 1000;
+
+    private final NotificationStreamService streamService;
+    private final NotificationRepository notificationRepository;
+    private final NotificationStatusRepository notificationStatusRepository;
+    private final NotificationCounterService notificationCounterService;
+    private final Duration rescanWindow;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    /**
+     * Insertion time of the notifications pushed within the rescan window, by id.
+     */
+    private final Map<Long, LocalDateTime> pushed = new HashMap<>();
+    private Long sentStatusId;
+
+    public NotificationStreamScheduler(
+            NotificationStreamService streamService,
+            NotificationRepository notificationRepository,
+            NotificationStatusRepository notificationStatusRepository,
+            NotificationCounterService notificationCounterService,
+            @Value("${notifications.stream.rescan-seconds:60}") long rescanSeconds
+    ) {
+        this.streamService = streamService;
+        this.notificationRepository = notificationRepository;
+        this.notificationStatusRepository = notificationStatusRepository;
+        this.notificationCounterService = notificationCounterService;
+        this.rescanWindow = Duration.ofSeconds(Math.max(1, rescanSeconds));
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.stream.poll-millis:2000}")
+    @Transactional(readOnly = true)
+    public void pushNewNotifications() {
+        LocalDateTime windowStart = LocalDateTime.now().minus(rescanWindow);
+        LocalDateTime since = windowStart.isAfter(startedAt) ? windowStart : startedAt;
+        pushed.values().removeIf(createdAt -> createdAt.isBefore(since));
+        Set<Long> connected = streamService.connectedUserIds();
+        if (connected.isEmpty()) {
+            return;
+        }
+
+        Set<Long> recipients = new LinkedHashSet<>();
+        int sent = 0;
+        for (List<Long> users : chunks(connected)) {
+            for (Notification notification : notificationRepository.findCreatedSinceForUsers(since, users)) {
+                if (pushed.putIfAbsent(notification.getId(), notification.getCreatedAt()) != null) {
+                    continue;
+                }
+                Long userId = notification.getUser().getId();
+                streamService.push(userId, NotificationStreamService.NOTIFICATION_EVENT,
+                        String.valueOf(notification.getId()), NotificationDTO.fromEntity(notification));
+                recipients.add(userId);
+                sent++;
+            }
+        }
+
+        if (!recipients.isEmpty()) {
+            pushUnreadCounts(recipients);
+            logger.debug("Notificaciones enviadas por stream: {} a {} usuarios", sent, recipients.size());
+        }
+    }
+
+    @Scheduled(fixedRateString = "${notifications.stream.heartbeat-millis:25000}")
+    public void sendHeartbeats() {
+        streamService.heartbeat();
+    }
+
+    private void pushUnreadCounts(Collection<Long> userIds) {
+        notificationCounterService.countForUsers(userIds, sentStatusId()).forEach((userId, count) ->
+                streamService.push(userId, NotificationStreamService.UNREAD_COUNT_EVENT, null, count));
+    }
+
+    private Long sentStatusId() {
+        if (sentStatusId == null) {
+            sentStatusId = notificationStatusRepository.findByName(NotificationStatusEnum.SENT.getName())
+                    .orElseThrow(() -> new IllegalStateException("Estado SENT no encontrado"))
+                    .getId();
+        }
+        return sentStatusId;
+    }
+
+    private static List<List<Long>> chunks(Collection<Long> userIds) {
+        List<Long> all = new ArrayList<>(userIds);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += USERS_PER_QUERY) {
+            chunks.add(all.subList(from, Math.min(from + USERS_PER_QUERY, all.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,36 @@
+package com.project.demo.scheduler;
+
+import com.project.demo.logic.constants.scheduling.SchedulerCronConstants;
+import com.project.demo.service.report.ReportJobService;
+import com.project.demo.service.scheduling.LeaseLocked;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduler that applies the retention policy of the asynchronous report jobs.
+ * <p>
+ * Runs every hour and removes the artifacts of jobs older than the configured retention.
+ * Artifacts are shared by the whole cluster, so it runs on a single instance ({@link LeaseLocked}).
+ */
+@Component
+public class ReportJobCleanupScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobCleanupScheduler.class);
+
+    private final ReportJobService reportJobService;
+
+    public ReportJobCleanupScheduler(ReportJobService reportJobService) {
+        this.reportJobService = reportJobService;
+    }
+
+    @Scheduled(cron = SchedulerCronConstants.EVERY_HOUR, zone = SchedulerCronConstants.ZONE_AMERICA_COSTA_RICA)
+    @LeaseLocked(name = "report-job-purge")
+    public void purgeExpiredReportJobs() {
+        int expired = reportJobService.purgeExpired();
+        if (expired > 0) {
+            logger.info("Se eliminaron los archivos de {} trabajos de reportes vencidos", expired);
+        }
+    }
+}
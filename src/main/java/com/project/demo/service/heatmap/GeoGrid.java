@@ -0,0 +1,68 @@
+package com.project.demo.service.heatmap;
+
+/**
+ * Fixed-size latitude/longitude grid used by the heatmap.
+ * <p>
+ * At precision {@code p} cells measure {@code 1 / 2^p} degrees per side, from one degree
+ * ({@link #MIN_PRECISION}) down to roughly 27 m ({@link #MAX_PRECISION}). Cells are numbered
+ * from the south-west corner of the world, so a cell of precision {@code p} contains
+ * exactly four cells of precision {@code p + 1}. Cells are grouped in square tiles of
+ * {@link #TILE_SIZE} cells per side, which is the unit the heatmap caches.
+ */
+public final class GeoGrid {
+
+    public static final int MIN_PRECISION = 0;
+    public static final int MAX_PRECISION = 12;
+
+    static final int TILE_SHIFT = 4;
+    public static final int TILE_SIZE = 1 << TILE_SHIFT;
+
+    private GeoGrid() {
+    }
+
+    /**
+     * Picks the precision for a web map zoom level, so that a 256 px map tile holds
+     * about eight cells per side.
+     *
+     * @param zoom web map zoom level
+     * @return the grid precision
+     */
+    public static int precisionForZoom(int zoom) {
+        return Math.max(MIN_PRECISION, Math.min(MAX_PRECISION, zoom - 5));
+    }
+
+    public static int cellX(double longitude, int precision) {
+        return clamp((int) Math.floor((longitude + 180) * scale(precision)), 360 * scale(precision) - 1);
+    }
+
+    public static int cellY(double latitude, int precision) {
+        return clamp((int) Math.floor((latitude + 90) * scale(precision)), 180 * scale(precision) - 1);
+    }
+
+    public static double cellSize(int precision) {
+        return 1.0 / scale(precision);
+    }
+
+    public static double centerLongitude(int cellX, int precision) {
+        return (cellX + 0.5) * cellSize(precision) - 180;
+    }
+
+    public static double centerLatitude(int cellY, int precision) {
+        return (cellY + 0.5) * cellSize(precision) - 90;
+    }
+
+    public static int tile(int cell) {
+        return cell >> TILE_SHIFT;
+    }
+
+    /**
+     * @return the number of cells per degree at the precision
+     */
+    static int scale(int precision) {
+        return 1 << precision;
+    }
+
+    private static int clamp(int cell, int max) {
+        return Math.max(0, Math.min(max, cell));
+    }
+}
@@ -0,0 +1,232 @@
+package com.project.demo.service.heatmap;
+
+import com.project.demo.logic.entity.heatmap.HeatmapSource;
+import com.project.demo.service.report.ReportCache;
+import com.project.demo.service.report.ReportCacheKey;
+import com.project.demo.service.report.ReportDataChangedEvent;
+import com.project.demo.service.report.ReportDataFamily;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Maintains and serves the {@code geo_heat_cell} grid index.
+ * <p>
+ * Every georeferenced abandoned animal and complaint is counted, at insert time, in the
+ * cell that contains it at each precision of {@link GeoGrid} with one multi-row upsert.
+ * A heatmap request then reads the pre-aggregated cells of the tiles covering its bounding
+ * box; each tile is cached in {@link ReportCache}, so panning the map only queries the
+ * tiles that come into view. A new or moved point only evicts the tiles that contain it.
+ */
+@Service
+public class GeoHeatmapService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeoHeatmapService.class);
+
+    /**
+     * Upper bound of tiles read per source and request; larger boxes use a coarser precision.
+     */
+    static final int MAX_TILES = 64;
+
+    private static final String UPSERT = " ON DUPLICATE KEY UPDATE total = total + VALUES(total)";
+
+    /**
+     * Placeholders: source, precision, scale, table.
+     */
+    private static final String REBUILD_SELECT = """
+            INSERT INTO geo_heat_cell (source, cell_precision, cell_x, cell_y, total)
+            SELECT '%1$s', %2$d,
+                   LEAST(GREATEST(FLOOR((longitude + 180) * %3$d), 0), 360 * %3$d - 1),
+                   LEAST(GREATEST(FLOOR((latitude + 90) * %3$d), 0), 180 * %3$d - 1),
+                   COUNT(*)
+            FROM %4$s
+            WHERE latitude IS NOT NULL AND longitude IS NOT NULL
+            GROUP BY 3, 4
+            """;
+
+    private final JdbcTemplate jdbc;
+    private final ReportCache reportCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public GeoHeatmapService(JdbcTemplate jdbc, ReportCache reportCache, ApplicationEventPublisher eventPublisher) {
+        this.jdbc = jdbc;
+        this.reportCache = reportCache;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Counts a new point in its cell at every precision. Points without coordinates are ignored.
+     *
+     * @param source    origin of the point
+     * @param latitude  latitude, may be {@code null}
+     * @param longitude longitude, may be {@code null}
+     */
+    @Transactional
+    public void pointAdded(HeatmapSource source, Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            return;
+        }
+        Set<ReportCacheKey> tiles = new HashSet<>();
+        applyPoint(source, latitude, longitude, 1, tiles);
+        eventPublisher.publishEvent(new ReportDataChangedEvent(ReportDataFamily.HEATMAP, "heatmap " + source, tiles));
+    }
+
+    /**
+     * Moves a point to the cells of its new coordinates. Does nothing if they did not change;
+     * missing coordinates on either side are not counted.
+     *
+     * @param source       origin of the point
+     * @param oldLatitude  latitude before the change, may be {@code null}
+     * @param oldLongitude longitude before the change, may be {@code null}
+     * @param latitude     latitude after the change, may be {@code null}
+     * @param longitude    longitude after the change, may be {@code null}
+     */
+    @Transactional
+    public void pointMoved(HeatmapSource source, Double oldLatitude, Double oldLongitude, Double latitude, Double longitude) {
+        if (Objects.equals(oldLatitude, latitude) && Objects.equals(oldLongitude, longitude)) {
+            return;
+        }
+        Set<ReportCacheKey> tiles = new HashSet<>();
+        if (oldLatitude != null && oldLongitude != null) {
+            applyPoint(source, oldLatitude, oldLongitude, -1, tiles);
+        }
+        if (latitude != null && longitude != null) {
+            applyPoint(source, latitude, longitude, 1, tiles);
+        }
+        if (!tiles.isEmpty()) {
+            eventPublisher.publishEvent(new ReportDataChangedEvent(ReportDataFamily.HEATMAP, "heatmap " + source + " moved", tiles));
+        }
+    }
+
+    /**
+     * Builds the heatmap of a bounding box.
+     *
+     * @param minLatitude  southern edge
+     * @param minLongitude western edge
+     * @param maxLatitude  northern edge
+     * @param maxLongitude eastern edge
+     * @param zoom         web map zoom level
+     * @param sources      sources to add up
+     * @return the non-empty cells inside the box
+     */
+    public Heatmap heatmap(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+                           int zoom, Collection<HeatmapSource> sources) {
+        int precision = GeoGrid.precisionForZoom(zoom);
+        while (precision > GeoGrid.MIN_PRECISION
+                && tileCount(minLatitude, minLongitude, maxLatitude, maxLongitude, precision) > MAX_TILES) {
+            precision--;
+        }
+        int minX = GeoGrid.cellX(minLongitude, precision);
+        int maxX = GeoGrid.cellX(maxLongitude, precision);
+        int minY = GeoGrid.cellY(minLatitude, precision);
+        int maxY = GeoGrid.cellY(maxLatitude, precision);
+
+        Map<Long, long[]> counts = new LinkedHashMap<>();
+        for (HeatmapSource source : sources) {
+            for (int tileX = GeoGrid.tile(minX); tileX <= GeoGrid.tile(maxX); tileX++) {
+                for (int tileY = GeoGrid.tile(minY); tileY <= GeoGrid.tile(maxY); tileY++) {
+                    for (HeatmapCell cell : tile(source, precision, tileX, tileY)) {
+                        if (cell.cellX() >= minX && cell.cellX() <= maxX && cell.cellY() >= minY && cell.cellY() <= maxY) {
+                            counts.computeIfAbsent(((long) cell.cellX() << 32) | cell.cellY(), k -> new long[1])[0] += cell.count();
+                        }
+                    }
+                }
+            }
+        }
+
+        List<HeatmapCell> cells = new ArrayList<>(counts.size());
+        for (Map.Entry<Long, long[]> entry : counts.entrySet()) {
+            int x = (int) (entry.getKey() >>> 32);
+            int y = (int) (long) entry.getKey();
+            cells.add(new HeatmapCell(x, y, GeoGrid.centerLatitude(y, precision), GeoGrid.centerLongitude(x, precision),
+                    entry.getValue()[0]));
+        }
+        return new Heatmap(precision, GeoGrid.cellSize(precision), cells);
+    }
+
+    /**
+     * Recomputes the grid index from {@code abandoned_animal} and {@code complaint}.
+     */
+    @Transactional
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        jdbc.update("DELETE FROM geo_heat_cell");
+        int cells = 0;
+        for (int p = GeoGrid.MIN_PRECISION; p <= GeoGrid.MAX_PRECISION; p++) {
+            cells += jdbc.update(REBUILD_SELECT.formatted(HeatmapSource.ABANDONED_ANIMAL.name(), p, GeoGrid.scale(p), "abandoned_animal"));
+            cells += jdbc.update(REBUILD_SELECT.formatted(HeatmapSource.COMPLAINT.name(), p, GeoGrid.scale(p), "complaint"));
+        }
+        logger.info("Índice del mapa de calor reconstruido en {} ms: {} celdas", System.currentTimeMillis() - start, cells);
+        eventPublisher.publishEvent(new ReportDataChangedEvent(ReportDataFamily.HEATMAP, "heatmap rebuild"));
+    }
+
+    /**
+     * @return whether the grid index has never been populated
+     */
+    public boolean isEmpty() {
+        Integer rows = jdbc.queryForObject("SELECT COUNT(*) FROM (SELECT 1 FROM geo_heat_cell LIMIT 1) g", Integer.class);
+        return rows == null || rows == 0;
+    }
+
+    /**
+     * Adds {@code delta} to the cell of a point at every precision and collects the tiles it changes.
+     */
+    private void applyPoint(HeatmapSource source, double latitude, double longitude, int delta, Set<ReportCacheKey> tiles) {
+        StringBuilder sql = new StringBuilder("INSERT INTO geo_heat_cell (source, cell_precision, cell_x, cell_y, total) VALUES ");
+        List<Object> params = new ArrayList<>();
+        for (int p = GeoGrid.MIN_PRECISION; p <= GeoGrid.MAX_PRECISION; p++) {
+            int cellX = GeoGrid.cellX(longitude, p);
+            int cellY = GeoGrid.cellY(latitude, p);
+            sql.append(p == GeoGrid.MIN_PRECISION ? "(?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?)");
+            params.add(source.name());
+            params.add(p);
+            params.add(cellX);
+            params.add(cellY);
+            params.add(delta);
+            tiles.add(tileKey(source, p, GeoGrid.tile(cellX), GeoGrid.tile(cellY)));
+        }
+        jdbc.update(sql.append(UPSERT).toString(), params.toArray());
+    }
+
+    static ReportCacheKey tileKey(HeatmapSource source, int precision, int tileX, int tileY) {
+        return ReportCacheKey.of("heatmap.tile", source, precision, tileX, tileY);
+    }
+
+    private List<HeatmapCell> tile(HeatmapSource source, int precision, int tileX, int tileY) {
+        return reportCache.get(tileKey(source, precision, tileX, tileY), () -> {
+            int x0 = tileX << GeoGrid.TILE_SHIFT;
+            int y0 = tileY << GeoGrid.TILE_SHIFT;
+            return jdbc.query("""
+                    SELECT cell_x, cell_y, total
+                    FROM geo_heat_cell
+                    WHERE source = ? AND cell_precision = ?
+                      AND cell_x BETWEEN ? AND ? AND cell_y BETWEEN ? AND ?
+                      AND total > 0
+                    """, (rs, i) -> {
+                        int x = rs.getInt("cell_x");
+                        int y = rs.getInt("cell_y");
+                        return new HeatmapCell(x, y, GeoGrid.centerLatitude(y, precision),
+                                GeoGrid.centerLongitude(x, precision), rs.getLong("total"));
+                    },
+                    source.name(), precision, x0, x0 + GeoGrid.TILE_SIZE - 1, y0, y0 + GeoGrid.TILE_SIZE - 1);
+        });
+    }
+
+    static long tileCount(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude, int precision) {
+        long columns = GeoGrid.tile(GeoGrid.cellX(maxLongitude, precision)) - GeoGrid.tile(GeoGrid.cellX(minLongitude, precision)) + 1L;
+        long rows = GeoGrid.tile(GeoGrid.cellY(maxLatitude, precision)) - GeoGrid.tile(GeoGrid.cellY(minLatitude, precision)) + 1L;
+        return columns * rows;
+    }
+}
@@ -0,0 +1,13 @@
+package com.project.demo.service.heatmap;
+
+import java.util.List;
+
+/**
+ * Heatmap of a bounding box.
+ *
+ * @param precision grid precision used, see {@link GeoGrid}
+ * @param cellSize  side of each cell in degrees
+ * @param cells     non-empty cells inside the bounding box
+ */
+public record Heatmap(int precision, double cellSize, List<HeatmapCell> cells) {
+}
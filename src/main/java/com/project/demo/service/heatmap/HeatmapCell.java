@@ -0,0 +1,13 @@
+package com.project.demo.service.heatmap;
+
+/**
+ * Heatmap cell returned to the map.
+ *
+ * @param cellX     column of the cell in {@link GeoGrid}
+ * @param cellY     row of the cell in {@link GeoGrid}
+ * @param latitude  latitude of the cell center
+ * @param longitude longitude of the cell center
+ * @param count     number of points inside the cell
+ */
+public record HeatmapCell(int cellX, int cellY, double latitude, double longitude, long count) {
+}
@@ -0,0 +1,41 @@
+package com.project.demo.service.notification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Slice of the due preventive care reminders processed in one transaction: the animals
+ * of a municipality, or a range of their ids when the municipality has many due reminders.
+ *
+ * @param municipalityId the owners' municipality
+ * @param fromAnimalId   first animal id, inclusive
+ * @param toAnimalId     last animal id, inclusive
+ */
+public record DuePartition(long municipalityId, long fromAnimalId, long toAnimalId) {
+
+    /**
+     * Splits the due reminders of a municipality into animal id ranges of about
+     * {@code partitionSize} reminders each, assuming ids are evenly spread.
+     *
+     * @param municipalityId the municipality
+     * @param due            number of due reminders
+     * @param minAnimalId    lowest due animal id
+     * @param maxAnimalId    highest due animal id
+     * @param partitionSize  target reminders per partition
+     * @return the partitions, covering {@code minAnimalId} to {@code maxAnimalId}
+     */
+    public static List<DuePartition> split(long municipalityId, long due, long minAnimalId, long maxAnimalId, int partitionSize) {
+        long ranges = Math.max(1, Math.min((due + partitionSize - 1) / partitionSize, maxAnimalId - minAnimalId + 1));
+        long span = (maxAnimalId - minAnimalId + ranges) / ranges;
+        List<DuePartition> partitions = new ArrayList<>((int) ranges);
+        for (long from = minAnimalId; from <= maxAnimalId; from += span) {
+            partitions.add(new DuePartition(municipalityId, from, Math.min(from + span - 1, maxAnimalId)));
+        }
+        return partitions;
+    }
+
+    @Override
+    public String toString() {
+        return "municipalidad " + municipalityId + ", animales " + fromAnimalId + "-" + toAnimalId;
+    }
+}
@@ -0,0 +1,39 @@
+package com.project.demo.service.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backfills the notification counters at startup.
+ * <p>
+ * The counters are rebuilt when the application is started with
+ * {@code --rebuild-notification-counters}, or automatically when there are notifications
+ * but no counters (first deployment of their table).
+ */
+@Component
+public class NotificationCounterRebuildRunner implements ApplicationRunner {
+
+    static final String REBUILD_OPTION = "rebuild-notification-counters";
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationCounterRebuildRunner.class);
+
+    private final NotificationCounterService notificationCounterService;
+
+    public NotificationCounterRebuildRunner(NotificationCounterService notificationCounterService) {
+        this.notificationCounterService = notificationCounterService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption(REBUILD_OPTION)) {
+            logger.info("Reconstruyendo contadores de notificaciones (--{})", REBUILD_OPTION);
+            notificationCounterService.rebuild();
+        } else if (notificationCounterService.needsBackfill()) {
+            logger.info("Contadores de notificaciones vacíos, ejecutando backfill inicial");
+            notificationCounterService.rebuild();
+        }
+    }
+}
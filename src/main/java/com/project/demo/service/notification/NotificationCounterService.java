@@ -0,0 +1,335 @@
+package com.project.demo.service.notification;
+
+import com.project.demo.logic.entity.notification.Notification;
+import com.project.demo.logic.entity.notification_status.NotificationStatusEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Maintains the {@code notification_counter} table: the number of notifications of every
+ * user in every status.
+ * <p>
+ * Notifications are counted in their effective status: a sent notification issued up to
+ * the user's read watermark ({@link NotificationReadWatermarkService}) counts as read.
+ * Every write path updates the counters in the transaction that inserts the notifications
+ * ({@link #recordInserted}) or marks them as read ({@link #markAllRead}), locking the
+ * users' watermarks and then their counters, so badge counts are a primary key lookup
+ * however many notifications a user has accumulated. The global
+ * count of a status is the sum of its counters (one row per user, read through an index),
+ * instead of a shared row that would serialize every insert. Reads are cached for
+ * {@code notifications.counters.cache-ttl-seconds}; local writes invalidate the cache, and
+ * the TTL bounds how stale another instance's writes can look. Drift is corrected by
+ * {@link #rebuild()}.
+ */
+@Service
+public class NotificationCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationCounterService.class);
+
+    private static final String ADD_SQL = "INSERT INTO notification_counter (user_id, status_id, total) VALUES ";
+    private static final String ADD_ROW = "(?, ?, ?)";
+    private static final String ADD_ON_DUPLICATE = " ON DUPLICATE KEY UPDATE total = total + VALUES(total)";
+    /**
+     * Counts every notification in its effective status: sent notifications issued up to
+     * the user's read watermark count as read. Placeholders: sent and read status names.
+     */
+    private static final String REBUILD_SQL = """
+            INSERT INTO notification_counter (user_id, status_id, total)
+            SELECT user_id, status_id, COUNT(*)
+            FROM (SELECT n.user_id,
+                         CASE WHEN n.notification_status_id = sent.id AND n.date_issued <= w.last_read_at
+                              THEN r.id ELSE n.notification_status_id END AS status_id
+                  FROM notification n
+                  JOIN notification_status sent ON sent.name = ?
+                  JOIN notification_status r ON r.name = ?
+                  LEFT JOIN notification_read_watermark w ON w.user_id = n.user_id) effective
+            GROUP BY user_id, status_id
+            """;
+    static final int USERS_PER_STATEMENT = 1000;
+
+    private final JdbcTemplate jdbc;
+    private final NotificationReadWatermarkService watermarkService;
+    private final Map<NotificationStatusEnum, Long> statusIds = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final LinkedHashMap<CounterKey, CachedCount> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Incremented on every invalidation; loads started before an invalidation are not kept.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public NotificationCounterService(
+            JdbcTemplate jdbc,
+            NotificationReadWatermarkService watermarkService,
+            @Value("${notifications.counters.cache-max-entries:10000}") int maxEntries,
+            @Value("${notifications.counters.cache-ttl-seconds:5}") long ttlSeconds
+    ) {
+        this(jdbc, watermarkService, maxEntries, ttlSeconds * 1_000_000_000L, System::nanoTime);
+    }
+
+    NotificationCounterService(JdbcTemplate jdbc, NotificationReadWatermarkService watermarkService, int maxEntries,
+                               long ttlNanos, LongSupplier nanoClock) {
+        this.jdbc = jdbc;
+        this.watermarkService = watermarkService;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlNanos = ttlNanos;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Cache key; {@code userId} is {@code null} for the global count of a status.
+     */
+    private record CounterKey(Long userId, Long statusId) {
+    }
+
+    private record CachedCount(long count, long loadedAt) {
+    }
+
+    /**
+     * @param userId   the user
+     * @param statusId the notification status
+     * @return notifications of the user in the status
+     */
+    public long countForUser(Long userId, Long statusId) {
+        return cached(new CounterKey(userId, statusId), () -> {
+            List<Long> totals = jdbc.queryForList(
+                    "SELECT total FROM notification_counter WHERE user_id = ? AND status_id = ?",
+                    Long.class, userId, statusId);
+            return totals.isEmpty() ? 0 : totals.get(0);
+        });
+    }
+
+    /**
+     * Reads the counters of many users at once, bypassing the cache.
+     *
+     * @param userIds  the users
+     * @param statusId the notification status
+     * @return notifications of every user in the status
+     */
+    public Map<Long, Long> countForUsers(Collection<Long> userIds, Long statusId) {
+        Map<Long, Long> counts = new HashMap<>();
+        List<Long> all = new ArrayList<>(userIds);
+        for (int from = 0; from < all.size(); from += USERS_PER_STATEMENT) {
+            List<Long> chunk = all.subList(from, Math.min(from + USERS_PER_STATEMENT, all.size()));
+            chunk.forEach(userId -> counts.put(userId, 0L));
+            List<Object> params = new ArrayList<>(chunk.size() + 1);
+            params.add(statusId);
+            params.addAll(chunk);
+            jdbc.query("SELECT user_id, total FROM notification_counter WHERE status_id = ? AND user_id IN ("
+                            + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")",
+                    (RowCallbackHandler) rs -> counts.put(rs.getLong("user_id"), rs.getLong("total")),
+                    params.toArray());
+        }
+        return counts;
+    }
+
+    /**
+     * @param statusId the notification status
+     * @return notifications of every user in the status
+     */
+    public long countForStatus(Long statusId) {
+        return cached(new CounterKey(null, statusId), () -> {
+            Long total = jdbc.queryForObject(
+                    "SELECT COALESCE(SUM(total), 0) FROM notification_counter WHERE status_id = ?",
+                    Long.class, statusId);
+            return total != null ? total : 0;
+        });
+    }
+
+    /**
+     * Counts notifications about to be inserted in the caller's transaction.
+     *
+     * @param notifications new notifications, with their user, status and issue date
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordInserted(Collection<Notification> notifications) {
+        Map<Long, LocalDateTime> watermarks = watermarkService.lock(
+                notifications.stream().map(notification -> notification.getUser().getId()).distinct().sorted().toList());
+        Map<Long, SortedMap<Long, Long>> byStatus = new TreeMap<>();
+        for (Notification notification : notifications) {
+            Long userId = notification.getUser().getId();
+            Long statusId = effectiveStatus(notification.getNotificationStatus().getId(),
+                    notification.getDateIssued(), watermarks.get(userId));
+            byStatus.computeIfAbsent(statusId, id -> new TreeMap<>()).merge(userId, 1L, Long::sum);
+        }
+        byStatus.forEach(this::add);
+    }
+
+    /**
+     * Counts a notification per user about to be inserted in the caller's transaction.
+     *
+     * @param statusId   status of the new notifications
+     * @param dateIssued issue date of the new notifications
+     * @param userIds    recipients
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordInserted(Long statusId, LocalDateTime dateIssued, Collection<Long> userIds) {
+        Map<Long, LocalDateTime> watermarks = watermarkService.lock(userIds.stream().distinct().sorted().toList());
+        Map<Long, SortedMap<Long, Long>> byStatus = new TreeMap<>();
+        for (Long userId : userIds) {
+            byStatus.computeIfAbsent(effectiveStatus(statusId, dateIssued, watermarks.get(userId)), id -> new TreeMap<>())
+                    .merge(userId, 1L, Long::sum);
+        }
+        byStatus.forEach(this::add);
+    }
+
+    /**
+     * Moves the user's unread count to read. Must run in the caller's transaction after
+     * the user's watermark was advanced ({@link NotificationReadWatermarkService#advance}).
+     *
+     * @param userId the user
+     * @return notifications that were unread
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long markAllRead(Long userId) {
+        Long sentId = statusId(NotificationStatusEnum.SENT);
+        Long readId = statusId(NotificationStatusEnum.READ);
+        // Locks every counter of the user in index order, as writers do
+        long unread = jdbc.queryForList(
+                        "SELECT status_id, total FROM notification_counter WHERE user_id = ? FOR UPDATE", userId)
+                .stream()
+                .filter(row -> sentId.equals(((Number) row.get("status_id")).longValue()))
+                .mapToLong(row -> ((Number) row.get("total")).longValue())
+                .sum();
+        if (unread > 0) {
+            jdbc.update("UPDATE notification_counter SET total = 0 WHERE user_id = ? AND status_id = ?", userId, sentId);
+            add(readId, new TreeMap<>(Map.of(userId, unread)));
+        }
+        invalidate(key -> key.userId() == null || key.userId().equals(userId));
+        return unread;
+    }
+
+    /**
+     * Recomputes every counter from {@code notification}.
+     */
+    @Transactional
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        jdbc.update("DELETE FROM notification_counter");
+        int rows = jdbc.update(REBUILD_SQL, NotificationStatusEnum.SENT.getName(), NotificationStatusEnum.READ.getName());
+        invalidate(key -> true);
+        logger.info("Contadores de notificaciones reconstruidos: {} filas en {} ms", rows, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * @return {@code true} when there are notifications but no counters (first deployment of the table)
+     */
+    public boolean needsBackfill() {
+        return jdbc.queryForList("SELECT 1 FROM notification_counter LIMIT 1", Integer.class).isEmpty()
+                && !jdbc.queryForList("SELECT 1 FROM notification LIMIT 1", Integer.class).isEmpty();
+    }
+
+    private Long effectiveStatus(Long statusId, LocalDateTime dateIssued, LocalDateTime watermark) {
+        if (watermark == null || dateIssued.isAfter(watermark) || !statusId.equals(statusId(NotificationStatusEnum.SENT))) {
+            return statusId;
+        }
+        return statusId(NotificationStatusEnum.READ);
+    }
+
+    private Long statusId(NotificationStatusEnum status) {
+        return statusIds.computeIfAbsent(status, key -> jdbc.queryForObject(
+                "SELECT id FROM notification_status WHERE name = ?", Long.class, key.getName()));
+    }
+
+    private void add(Long statusId, SortedMap<Long, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        // Users in ascending order, so concurrent fan-outs lock the counters in the same order
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(deltas.entrySet());
+        for (int from = 0; from < entries.size(); from += USERS_PER_STATEMENT) {
+            List<Map.Entry<Long, Long>> chunk = entries.subList(from, Math.min(from + USERS_PER_STATEMENT, entries.size()));
+            List<Object> params = new ArrayList<>(chunk.size() * 3);
+            for (Map.Entry<Long, Long> delta : chunk) {
+                params.add(delta.getKey());
+                params.add(statusId);
+                params.add(delta.getValue());
+            }
+            jdbc.update(buildAddSql(chunk.size()), params.toArray());
+        }
+        invalidate(key -> key.statusId().equals(statusId) && (key.userId() == null || deltas.containsKey(key.userId())));
+    }
+
+    static String buildAddSql(int rows) {
+        StringBuilder sql = new StringBuilder(ADD_SQL.length() + ADD_ON_DUPLICATE.length() + rows * (ADD_ROW.length() + 2))
+                .append(ADD_SQL);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ADD_ROW);
+        }
+        return sql.append(ADD_ON_DUPLICATE).toString();
+    }
+
+    private long cached(CounterKey key, LongSupplier loader) {
+        long now = nanoClock.getAsLong();
+        synchronized (cache) {
+            CachedCount cached = cache.get(key);
+            if (cached != null && now - cached.loadedAt() < ttlNanos) {
+                return cached.count();
+            }
+        }
+        long loadGeneration = generation.get();
+        long count = loader.getAsLong();
+        synchronized (cache) {
+            if (generation.get() == loadGeneration) {
+                cache.put(key, new CachedCount(count, now));
+                if (cache.size() > maxEntries) {
+                    cache.remove(cache.keySet().iterator().next());
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Drops the stale entries now and again once the caller's transaction completes, so
+     * reads between the write and its commit are not kept.
+     */
+    private void invalidate(Predicate<CounterKey> stale) {
+        evict(stale);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(stale);
+                }
+            });
+        }
+    }
+
+    private void evict(Predicate<CounterKey> stale) {
+        synchronized (cache) {
+            generation.incrementAndGet();
+            cache.keySet().removeIf(stale);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.project.demo.service.notification;
+
+import com.project.demo.logic.entity.complaint.Complaint;
+import com.project.demo.logic.entity.complaint.ComplaintRepository;
+import com.project.demo.logic.entity.notification.NotificationService;
+import com.project.demo.logic.entity.notification_outbox.NotificationEventType;
+import com.project.demo.logic.entity.notification_outbox.NotificationOutboxEvent;
+import com.project.demo.logic.entity.notification_outbox.NotificationOutboxRepository;
+import com.project.demo.logic.entity.notification_outbox.NotificationOutboxStatus;
+import com.project.demo.logic.entity.notification_type.NotificationTypeEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Transactional outbox of the notifications created by business requests.
+ * <p>
+ * Requests only {@link #enqueue record an event} in their own transaction, so the event
+ * exists if and only if the business change was committed, and the request does not wait
+ * for the notifications nor fails because of them. {@code NotificationOutboxDispatcher}
+ * then {@link #dispatch dispatches} the events to {@link NotificationService} in the
+ * background. Delivery is at least once: an event whose dispatch fails is retried with
+ * exponential backoff, up to {@code notifications.outbox.max-attempts} attempts.
+ */
+@Service
+public class NotificationOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationOutboxService.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final ComplaintRepository complaintRepository;
+    private final NotificationService notificationService;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+
+    public NotificationOutboxService(
+            NotificationOutboxRepository outboxRepository,
+            ComplaintRepository complaintRepository,
+            NotificationService notificationService,
+            @Value("${notifications.outbox.max-attempts:8}") int maxAttempts,
+            @Value("${notifications.outbox.base-backoff-seconds:10}") long baseBackoffSeconds,
+            @Value("${notifications.outbox.max-backoff-seconds:3600}") long maxBackoffSeconds
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.complaintRepository = complaintRepository;
+        this.notificationService = notificationService;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseBackoff = Duration.ofSeconds(baseBackoffSeconds);
+        this.maxBackoff = Duration.ofSeconds(maxBackoffSeconds);
+    }
+
+    /**
+     * Records an event in the caller's transaction.
+     *
+     * @param type        the event
+     * @param aggregateId id of the complaint or municipality, see {@link NotificationEventType}
+     * @param detail      additional argument of the event, or {@code null}
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(NotificationEventType type, Long aggregateId, String detail) {
+        outboxRepository.save(NotificationOutboxEvent.builder()
+                .eventType(type)
+                .aggregateId(aggregateId)
+                .detail(detail)
+                .status(NotificationOutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * @param now   reference time
+     * @param limit maximum number of events
+     * @return the pending events due at {@code now}, oldest first
+     */
+    public List<NotificationOutboxEvent> findDue(LocalDateTime now, int limit) {
+        return outboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                NotificationOutboxStatus.PENDING, now, PageRequest.of(0, limit));
+    }
+
+    /**
+     * @return number of events waiting to be dispatched
+     */
+    public long countPending() {
+        return outboxRepository.countByStatus(NotificationOutboxStatus.PENDING);
+    }
+
+    /**
+     * Creates the notifications of an event and marks it as done, in the caller's transaction.
+     * <p>
+     * The event row is locked first and skipped if it is no longer pending, so an event is
+     * never dispatched by two instances at once (for example after the dispatcher's lease
+     * changed hands). Fan-outs to many users are committed chunk by chunk
+     * ({@code NotificationBulkWriter}), so a failed dispatch may leave part of them committed;
+     * they carry the event id, which makes the retry insert only the missing notifications.
+     *
+     * @param pending a pending event
+     * @return whether the event was dispatched
+     */
+    public boolean dispatch(NotificationOutboxEvent pending) {
+        NotificationOutboxEvent event = outboxRepository
+                .findByIdAndStatusForUpdate(pending.getId(), NotificationOutboxStatus.PENDING)
+                .orElse(null);
+        if (event == null) {
+            logger.debug("Evento de notificación {} ya fue procesado, se omite", pending.getId());
+            return false;
+        }
+        switch (event.getEventType()) {
+            case COMPLAINT_CREATED -> notificationService.notifyComplaintCreationToAdministrators(
+                    null, event.getAggregateId(), event.getId());
+            case COMPLAINT_RESUBMITTED -> notificationService.notifyResubmission(complaint(event), event.getId());
+            case COMPLAINT_OBSERVED -> notificationService.notifyComplaintObservationsToUser(complaint(event));
+            case COMPLAINT_APPROVED -> notificationService.notifyComplaintStateChanged(complaint(event));
+            case COMPLAINT_COMPLETED -> notificationService.notifyComplaintCompleted(complaint(event));
+            case ANNOUNCEMENT_CREATED -> notificationService.notifyAnnouncementCreationToMunicipalityUsers(
+                    NotificationTypeEnum.ANNOUNCEMENT_CREATED, null, event.getAggregateId(), event.getDetail(), event.getId());
+        }
+        // Attempts only count failures: a dispatch whose transaction fails after this point is
+        // counted once, by recordFailure
+        event.setStatus(NotificationOutboxStatus.DONE);
+        event.setProcessedAt(LocalDateTime.now());
+        event.setLastError(null);
+        outboxRepository.save(event);
+        return true;
+    }
+
+    /**
+     * Records a failed dispatch and schedules the next attempt, or gives up after the last one.
+     *
+     * @param event the event
+     * @param error the failure
+     * @param now   time of the failure
+     */
+    public void recordFailure(NotificationOutboxEvent event, Throwable error, LocalDateTime now) {
+        // The dispatch transaction was rolled back, so start from the stored state
+        event = outboxRepository.findById(event.getId()).orElse(event);
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        event.setLastError(truncate(String.valueOf(error)));
+        if (attempts >= maxAttempts) {
+            event.setStatus(NotificationOutboxStatus.FAILED);
+            event.setProcessedAt(now);
+            logger.error("Evento de notificación {} ({}) descartado tras {} intentos: {}",
+                    event.getId(), event.getEventType(), attempts, event.getLastError());
+        } else {
+            event.setStatus(NotificationOutboxStatus.PENDING);
+            event.setNextAttemptAt(now.plus(backoff(attempts)));
+            logger.warn("Evento de notificación {} ({}) falló, intento {} de {}",
+                    event.getId(), event.getEventType(), attempts, maxAttempts);
+        }
+        outboxRepository.save(event);
+    }
+
+    /**
+     * Deletes the events dispatched before a date.
+     *
+     * @param processedBefore limit date
+     * @return events deleted
+     */
+    public int purgeDone(LocalDateTime processedBefore) {
+        return outboxRepository.deleteProcessedBefore(NotificationOutboxStatus.DONE, processedBefore);
+    }
+
+    Duration backoff(int attempts) {
+        Duration delay = baseBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private Complaint complaint(NotificationOutboxEvent event) {
+        return complaintRepository.findById(event.getAggregateId())
+                .orElseThrow(() -> new IllegalStateException("Denuncia " + event.getAggregateId() + " no encontrada"));
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
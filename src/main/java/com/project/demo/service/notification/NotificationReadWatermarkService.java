@@ -0,0 +1,84 @@
+package com.project.demo.service.notification;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Maintains the {@code notification_read_watermark} of every user.
+ * <p>
+ * A notification is unread when it is still in the sent status and was issued after the
+ * user's watermark; notifications explicitly moved to another status keep it. Writers
+ * lock the watermarks of their users before their counters
+ * ({@link NotificationCounterService}), so a notification committed after the user
+ * marked everything as read is counted as read when it was issued before the watermark.
+ */
+@Service
+public class NotificationReadWatermarkService {
+
+    private static final String ADVANCE_SQL = """
+            INSERT INTO notification_read_watermark (user_id, last_read_at) VALUES (?, ?)
+            ON DUPLICATE KEY UPDATE last_read_at = GREATEST(last_read_at, VALUES(last_read_at))
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    public NotificationReadWatermarkService(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * @param userId the user
+     * @return the user's watermark, empty when they never marked their notifications as read
+     */
+    public Optional<LocalDateTime> find(Long userId) {
+        return jdbc.queryForList("SELECT last_read_at FROM notification_read_watermark WHERE user_id = ?",
+                        Timestamp.class, userId)
+                .stream()
+                .findFirst()
+                .map(Timestamp::toLocalDateTime);
+    }
+
+    /**
+     * Moves the user's watermark forward, locking it until the caller's transaction ends.
+     *
+     * @param userId the user
+     * @param readAt every notification issued up to this moment becomes read
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void advance(Long userId, LocalDateTime readAt) {
+        jdbc.update(ADVANCE_SQL, userId, Timestamp.valueOf(readAt));
+    }
+
+    /**
+     * Reads the watermarks of some users, locking them until the caller's transaction ends.
+     *
+     * @param userIds the users
+     * @return the watermark of every user that has one
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<Long, LocalDateTime> lock(Collection<Long> userIds) {
+        Map<Long, LocalDateTime> watermarks = new HashMap<>();
+        List<Long> all = new ArrayList<>(userIds);
+        for (int from = 0; from < all.size(); from += NotificationCounterService.USERS_PER_STATEMENT) {
+            List<Long> chunk = all.subList(from, Math.min(from + NotificationCounterService.USERS_PER_STATEMENT, all.size()));
+            jdbc.query("SELECT user_id, last_read_at FROM notification_read_watermark WHERE user_id IN ("
+                            + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ") FOR UPDATE",
+                    (RowCallbackHandler) rs -> watermarks.put(rs.getLong("user_id"), rs.getTimestamp("last_read_at").toLocalDateTime()),
+                    chunk.toArray());
+        }
+        return watermarks;
+    }
+}
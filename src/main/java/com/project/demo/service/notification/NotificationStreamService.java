@@ -0,0 +1,220 @@
+package com.project.demo.service.notification;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.io.IOException;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Registry of the Server-Sent Events connections of {@code /notifications/stream}.
+ * <p>
+ * Connections are async requests ({@link SseEmitter}), so an idle connection holds no
+ * thread. Every connection has a buffer of at most {@code notifications.stream.buffer-size}
+ * events, written by a virtual thread only while there is something to send, so a slow
+ * client never blocks the publisher nor the other clients. When a buffer overflows its
+ * events are dropped and replaced by a {@value #RESYNC_EVENT} event, which tells the client
+ * to reload its notifications. A user keeps at most
+ * {@code notifications.stream.max-connections-per-user} connections; opening another one
+ * closes the oldest. The registry is per instance: {@code NotificationStreamScheduler}
+ * feeds it from the database, whichever instance created the notifications.
+ */
+@Service
+public class NotificationStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationStreamService.class);
+
+    public static final String NOTIFICATION_EVENT = "notification";
+    public static final String UNREAD_COUNT_EVENT = "unread-count";
+    public static final String RESYNC_EVENT = "resync";
+
+    private final Map<Long, Deque<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final int bufferSize;
+    private final int maxConnectionsPerUser;
+    private final long timeoutMillis;
+
+    public NotificationStreamService(
+            @Value("${notifications.stream.buffer-size:64}") int bufferSize,
+            @Value("${notifications.stream.max-connections-per-user:5}") int maxConnectionsPerUser,
+            @Value("${notifications.stream.timeout-millis:1800000}") long timeoutMillis
+    ) {
+        this.bufferSize = Math.max(2, bufferSize);
+        this.maxConnectionsPerUser = Math.max(1, maxConnectionsPerUser);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Opens a connection for a user.
+     *
+     * @param userId the authenticated user
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, emitter, bufferSize, senders);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        Deque<Subscriber> connections = subscribers.computeIfAbsent(userId, id -> new ConcurrentLinkedDeque<>());
+        connections.addLast(subscriber);
+        while (connections.size() > maxConnectionsPerUser) {
+            Subscriber oldest = connections.pollFirst();
+            if (oldest != null) {
+                oldest.close();
+            }
+        }
+        // Commits the response headers, so the client knows the stream is open
+        subscriber.offer(SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    /**
+     * Queues an event for every connection of a user; does nothing when the user is not connected.
+     *
+     * @param userId the recipient
+     * @param name   event name
+     * @param id     event id, or {@code null}
+     * @param data   payload, serialized as JSON
+     */
+    public void push(Long userId, String name, String id, Object data) {
+        Deque<Subscriber> connections = subscribers.get(userId);
+        if (connections == null) {
+            return;
+        }
+        for (Subscriber subscriber : connections) {
+            SseEventBuilder event = SseEmitter.event().name(name).data(data);
+            if (id != null) {
+                event.id(id);
+            }
+            subscriber.offer(event);
+        }
+    }
+
+    /**
+     * Queues a comment on every connection, so proxies and clients do not drop idle ones.
+     */
+    public void heartbeat() {
+        for (Deque<Subscriber> connections : subscribers.values()) {
+            for (Subscriber subscriber : connections) {
+                subscriber.offer(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    /**
+     * @return ids of the users with at least one open connection on this instance
+     */
+    public Set<Long> connectedUserIds() {
+        return Set.copyOf(subscribers.keySet());
+    }
+
+    /**
+     * @return open connections on this instance
+     */
+    public int connections() {
+        return subscribers.values().stream().mapToInt(Deque::size).sum();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.values().forEach(connections -> connections.forEach(Subscriber::close));
+        subscribers.clear();
+        senders.shutdownNow();
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (userId, connections) -> {
+            connections.remove(subscriber);
+            return connections.isEmpty() ? null : connections;
+        });
+    }
+
+    /**
+     * A connection and its bounded buffer of pending events.
+     */
+    static final class Subscriber {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEventBuilder> pending;
+        private final Executor sender;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(Long userId, SseEmitter emitter, int bufferSize, Executor sender) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.pending = new ArrayBlockingQueue<>(bufferSize);
+            this.sender = sender;
+        }
+
+        synchronized void offer(SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!pending.offer(event)) {
+                logger.debug("Buffer de notificaciones lleno para el usuario {}, se solicita resincronización", userId);
+                pending.clear();
+                pending.offer(SseEmitter.event().name(RESYNC_EVENT).data(""));
+            }
+            scheduleSend();
+        }
+
+        int pendingEvents() {
+            return pending.size();
+        }
+
+        boolean isClosed() {
+            return closed.get();
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                pending.clear();
+                emitter.complete();
+            }
+        }
+
+        private void scheduleSend() {
+            if (!pending.isEmpty() && sending.compareAndSet(false, true)) {
+                sender.execute(this::send);
+            }
+        }
+
+        private void send() {
+            try {
+                SseEventBuilder event;
+                while (!closed.get() && (event = pending.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; the emitter callbacks unregister the connection
+                closed.set(true);
+                pending.clear();
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                sending.set(false);
+            }
+            // An event may have been queued after the last poll but before the flag was cleared
+            scheduleSend();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.project.demo.service.notification;
+
+import com.project.demo.logic.entity.municipal_preventive_care_configuration.MunicipalPreventiveCareConfigurationEnum;
+
+/**
+ * Community animal whose preventive care is overdue according to its municipality's configuration.
+ *
+ * @param animalId   the animal id
+ * @param animalName the animal name, used in the reminder title
+ * @param userId     id of the owner to notify
+ * @param type       the overdue care
+ * @param months     care frequency configured by the municipality
+ */
+public record OverdueCare(long animalId, String animalName, long userId,
+                          MunicipalPreventiveCareConfigurationEnum type, int months) {
+}
@@ -0,0 +1,39 @@
+package com.project.demo.service.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backfills the preventive care due queue at startup.
+ * <p>
+ * The queue is rebuilt when the application is started with
+ * {@code --rebuild-preventive-care-due}, or automatically when it has never been
+ * populated (first deployment of its table).
+ */
+@Component
+public class PreventiveCareDueRebuildRunner implements ApplicationRunner {
+
+    static final String REBUILD_OPTION = "rebuild-preventive-care-due";
+
+    private static final Logger logger = LoggerFactory.getLogger(PreventiveCareDueRebuildRunner.class);
+
+    private final PreventiveCareDueService preventiveCareDueService;
+
+    public PreventiveCareDueRebuildRunner(PreventiveCareDueService preventiveCareDueService) {
+        this.preventiveCareDueService = preventiveCareDueService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption(REBUILD_OPTION)) {
+            logger.info("Reconstruyendo cola de cuidados preventivos (--{})", REBUILD_OPTION);
+            preventiveCareDueService.rebuild();
+        } else if (preventiveCareDueService.isEmpty()) {
+            logger.info("Cola de cuidados preventivos vacía, ejecutando backfill inicial");
+            preventiveCareDueService.rebuild();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.project.demo.service.notification;
+
+import com.project.demo.logic.entity.municipal_preventive_care_configuration.MunicipalPreventiveCareConfigurationEnum;
+import com.project.demo.logic.entity.notification_type.NotificationTypeEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Maintains the {@code preventive_care_due} queue of preventive care reminders.
+ * <p>
+ * Due dates only change when an animal's vaccine applications or sanitary controls,
+ * or its municipality's configuration, change, so the write paths call
+ * {@link #animalChanged(Long)} or {@link #configurationChanged(Long)} and the reminder
+ * scheduler only reads the rows that are due through the {@code next_due_at} index,
+ * one {@link DuePartition} at a time.
+ * A row is due at the later of the last qualifying application and the last reminder
+ * of the animal, plus the configured number of months; animals never treated nor
+ * reminded are due immediately. Drift (for example an owner moving to another
+ * municipality) is corrected by {@link #rebuild()}.
+ */
+@Service
+public class PreventiveCareDueService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PreventiveCareDueService.class);
+
+    /**
+     * Title of the reminder sent for an animal; also used to find reminders already sent.
+     */
+    public static final String REMINDER_TITLE_PREFIX = "🦴 Recuerdos cariñosos para tu amigo ";
+
+    /**
+     * Placeholders: last qualifying application, extra conditions.
+     */
+    private static final String UPSERT_DUE_SQL = """
+            INSERT INTO preventive_care_due (animal_id, user_id, care_type, interval_months, next_due_at)
+            SELECT a.id, u.id, cfg.type, cfg.value,
+                   GREATEST(
+                       COALESCE(DATE_ADD(TIMESTAMP((%s)), INTERVAL cfg.value MONTH), TIMESTAMP('1970-01-01')),
+                       COALESCE(DATE_ADD((SELECT MAX(n.date_issued) FROM notification n
+                                          WHERE n.user_id = u.id
+                                            AND n.notification_type_id = (SELECT id FROM notification_type WHERE name = ?)
+                                            AND n.title = CONCAT(?, a.name)), INTERVAL cfg.value MONTH),
+                                TIMESTAMP('1970-01-01')))
+            FROM municipal_preventive_care_configuration cfg
+            JOIN `user` u ON u.municipality_id = cfg.municipality_id
+            JOIN community_animal ca ON ca.owner_user_id = u.id
+            JOIN animal a ON a.id = ca.id
+            WHERE cfg.type = ?%s
+            ON DUPLICATE KEY UPDATE user_id = VALUES(user_id),
+                                    interval_months = VALUES(interval_months),
+                                    next_due_at = VALUES(next_due_at)
+            """;
+
+    private static final String LAST_VACCINE_APPLICATION = """
+            SELECT MAX(va.application_date) FROM vaccine_application va
+            WHERE va.animal_id = a.id""";
+
+    private static final String LAST_SANITARY_CONTROL = """
+            SELECT MAX(sc.last_application_date) FROM sanitary_control sc
+            JOIN sanitary_control_type sct ON sct.id = sc.sanitary_control_type_id
+            WHERE sc.animal_id = a.id AND sct.name = ?""";
+
+    private static final String DUE_PARTITIONS_SQL = """
+            SELECT u.municipality_id, COUNT(*) AS due, MIN(d.animal_id) AS min_animal_id, MAX(d.animal_id) AS max_animal_id
+            FROM preventive_care_due d
+            JOIN `user` u ON u.id = d.user_id
+            WHERE d.next_due_at <= ? AND u.municipality_id IS NOT NULL
+            GROUP BY u.municipality_id
+            ORDER BY due DESC
+            """;
+
+    private static final String DUE_SQL = """
+            SELECT d.animal_id, a.name AS animal_name, d.user_id, d.care_type, d.interval_months
+            FROM preventive_care_due d
+            JOIN `user` u ON u.id = d.user_id
+            JOIN animal a ON a.id = d.animal_id
+            WHERE d.next_due_at <= ?
+              AND u.municipality_id = ?
+              AND d.animal_id BETWEEN ? AND ?
+            ORDER BY d.next_due_at
+            LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    public PreventiveCareDueService(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Groups the due reminders by the owners' municipality, splitting large municipalities
+     * by animal id ranges.
+     *
+     * @param now           reference time of the run
+     * @param partitionSize target reminders per partition
+     * @return the partitions, largest municipalities first
+     */
+    public List<DuePartition> findDuePartitions(LocalDateTime now, int partitionSize) {
+        return jdbc.query(DUE_PARTITIONS_SQL, (rs, i) -> DuePartition.split(
+                        rs.getLong("municipality_id"),
+                        rs.getLong("due"),
+                        rs.getLong("min_animal_id"),
+                        rs.getLong("max_animal_id"),
+                        partitionSize), Timestamp.valueOf(now))
+                .stream().flatMap(List::stream).toList();
+    }
+
+    /**
+     * Finds the reminders of a partition that are due.
+     *
+     * @param now       reference time of the run
+     * @param partition the partition
+     * @param limit     maximum number of rows; the remaining ones are returned by the next run
+     * @return one entry per due animal and care, most overdue first
+     */
+    public List<OverdueCare> findDue(LocalDateTime now, DuePartition partition, int limit) {
+        return jdbc.query(DUE_SQL, (rs, i) -> new OverdueCare(
+                rs.getLong("animal_id"),
+                rs.getString("animal_name"),
+                rs.getLong("user_id"),
+                MunicipalPreventiveCareConfigurationEnum.valueOf(rs.getString("care_type")),
+                rs.getInt("interval_months")),
+                Timestamp.valueOf(now), partition.municipalityId(), partition.fromAnimalId(), partition.toAnimalId(), limit);
+    }
+
+    /**
+     * Postpones every care of the reminded animals by its interval, as the reminder
+     * title names the animal and covers all of its cares.
+     *
+     * @param animalIds reminded animals
+     * @param now       time the reminders were issued
+     */
+    @Transactional
+    public void markReminded(Collection<Long> animalIds, LocalDateTime now) {
+        Timestamp issued = Timestamp.valueOf(now);
+        List<Object[]> batch = new ArrayList<>(animalIds.size());
+        for (Long animalId : animalIds) {
+            batch.add(new Object[]{issued, animalId});
+        }
+        jdbc.batchUpdate("""
+                UPDATE preventive_care_due SET next_due_at = DATE_ADD(?, INTERVAL interval_months MONTH)
+                WHERE animal_id = ?
+                """, batch);
+    }
+
+    /**
+     * Recomputes the due dates of an animal after its vaccine applications or sanitary controls changed.
+     *
+     * @param animalId the animal id
+     */
+    @Transactional
+    public void animalChanged(Long animalId) {
+        jdbc.update("DELETE FROM preventive_care_due WHERE animal_id = ?", animalId);
+        for (MunicipalPreventiveCareConfigurationEnum care : MunicipalPreventiveCareConfigurationEnum.values()) {
+            upsert(care, " AND a.id = ?", animalId);
+        }
+    }
+
+    /**
+     * Recomputes the due dates of every animal of a municipality after one of its configurations changed.
+     *
+     * @param configurationId id of the changed configuration
+     */
+    @Transactional
+    public void configurationChanged(Long configurationId) {
+        String type = jdbc.queryForObject("SELECT type FROM municipal_preventive_care_configuration WHERE id = ?",
+                String.class, configurationId);
+        MunicipalPreventiveCareConfigurationEnum care = MunicipalPreventiveCareConfigurationEnum.valueOf(type);
+        jdbc.update("""
+                DELETE d FROM preventive_care_due d
+                JOIN `user` u ON u.id = d.user_id
+                JOIN municipal_preventive_care_configuration cfg ON cfg.municipality_id = u.municipality_id
+                WHERE cfg.id = ? AND d.care_type = ?
+                """, configurationId, care.name());
+        upsert(care, " AND cfg.id = ?", configurationId);
+    }
+
+    /**
+     * Recomputes the whole queue from the source tables.
+     */
+    @Transactional
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        jdbc.update("DELETE FROM preventive_care_due");
+        int rows = 0;
+        for (MunicipalPreventiveCareConfigurationEnum care : MunicipalPreventiveCareConfigurationEnum.values()) {
+            rows += upsert(care, "");
+        }
+        logger.info("Cola de cuidados preventivos reconstruida en {} ms: {} filas", System.currentTimeMillis() - start, rows);
+    }
+
+    /**
+     * @return whether the queue has never been populated
+     */
+    public boolean isEmpty() {
+        Integer rows = jdbc.queryForObject("SELECT COUNT(*) FROM (SELECT 1 FROM preventive_care_due LIMIT 1) d", Integer.class);
+        return rows == null || rows == 0;
+    }
+
+    /**
+     * @return the title of the reminder of an animal
+     */
+    public static String reminderTitle(String animalName) {
+        return REMINDER_TITLE_PREFIX + animalName;
+    }
+
+    private int upsert(MunicipalPreventiveCareConfigurationEnum care, String condition, Object... conditionParams) {
+        List<Object> params = new ArrayList<>();
+        if (care.getSanitaryControlType() != null) {
+            params.add(care.getSanitaryControlType().getName());
+        }
+        params.add(NotificationTypeEnum.SANITARY_ALERT.getName());
+        params.add(REMINDER_TITLE_PREFIX);
+        params.add(care.name());
+        params.addAll(List.of(conditionParams));
+        return jdbc.update(buildUpsertSql(care, condition), params.toArray());
+    }
+
+    static String buildUpsertSql(MunicipalPreventiveCareConfigurationEnum care, String condition) {
+        return UPSERT_DUE_SQL.formatted(
+                care.getSanitaryControlType() != null ? LAST_SANITARY_CONTROL : LAST_VACCINE_APPLICATION, condition);
+    }
+}
@@ -0,0 +1,53 @@
+package com.project.demo.service.notification;
+
+import com.project.demo.logic.constants.scheduling.SchedulerCronConstants;
+import com.project.demo.logic.entity.rol.RoleEnum;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Finds the community users that must be reminded to register their animals.
+ * <p>
+ * A single anti-join returns the {@link RoleEnum#COMMUNITY_USER community users} without
+ * community animals that were not reminded in the last
+ * {@link SchedulerCronConstants#DAYS_BETWEEN_NOTIFICATIONS_FOR_REGISTER_COMMUNITY_ANIMALS} days,
+ * instead of two lookups per community user.
+ */
+@Service
+public class RegistrationReminderService {
+
+    static final String USERS_TO_REMIND_SQL = """
+            SELECT u.id
+            FROM `user` u
+            JOIN user_roles ur ON ur.user_id = u.id
+            JOIN rol r ON r.id = ur.role_id
+            WHERE r.name = ?
+              AND NOT EXISTS (SELECT 1 FROM community_animal ca WHERE ca.owner_user_id = u.id)
+              AND NOT EXISTS (SELECT 1 FROM notification n
+                              WHERE n.user_id = u.id
+                                AND n.notification_type_id = ?
+                                AND n.date_issued > ?)
+            ORDER BY u.id
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    public RegistrationReminderService(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * @param reminderTypeId id of the notification type of the reminders
+     * @param now            reference time of the run
+     * @return ids of the users to remind
+     */
+    public List<Long> findUsersToRemind(long reminderTypeId, LocalDateTime now) {
+        LocalDateTime lastReminderLimit = now.minusDays(SchedulerCronConstants.DAYS_BETWEEN_NOTIFICATIONS_FOR_REGISTER_COMMUNITY_ANIMALS);
+        return jdbc.query(USERS_TO_REMIND_SQL, (rs, i) -> rs.getLong(1),
+                RoleEnum.COMMUNITY_USER.name(), reminderTypeId, Timestamp.valueOf(lastReminderLimit));
+    }
+}
@@ -0,0 +1,10 @@
+package com.project.demo.service.opendata;
+
+/**
+ * Column of an {@link OpenDataset} that may be published.
+ *
+ * @param name       name of the field in the exported rows
+ * @param expression SQL expression that computes it, already anonymized
+ */
+public record OpenDataColumn(String name, String expression) {
+}
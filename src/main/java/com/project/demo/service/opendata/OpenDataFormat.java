@@ -0,0 +1,20 @@
+package com.project.demo.service.opendata;
+
+import lombok.Getter;
+
+/**
+ * Output formats of the open-data exports; both can be gzip-compressed.
+ */
+@Getter
+public enum OpenDataFormat {
+    NDJSON("application/x-ndjson", ".ndjson"),
+    CSV("text/csv; charset=UTF-8", ".csv");
+
+    private final String contentType;
+    private final String extension;
+
+    OpenDataFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+}
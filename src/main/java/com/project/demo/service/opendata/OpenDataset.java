@@ -0,0 +1,99 @@
+package com.project.demo.service.opendata;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Datasets published to external partners by {@link OpenDataExportService}.
+ * <p>
+ * Each dataset declares the allowlist of columns that may leave the system. Free
+ * text (descriptions, observations, neighborhoods), photos and user references are
+ * never selected, coordinates are rounded to three decimals (about 100 m) and
+ * timestamps are truncated to the day. Rows are exported in {@code id} order, which
+ * is the keyset used to resume an interrupted export.
+ */
+@Getter
+public enum OpenDataset {
+
+    /**
+     * Abandoned animal sightings.
+     */
+    ABANDONED_ANIMALS("aa.id", """
+            FROM abandoned_animal aa
+            LEFT JOIN species s ON s.id = aa.species_id
+            LEFT JOIN sex x ON x.id = aa.sex_id
+            LEFT JOIN canton c ON c.id = aa.canton_id
+            """, List.of(
+            new OpenDataColumn("id", "aa.id"),
+            new OpenDataColumn("reportedOn", "DATE(aa.created_at)"),
+            new OpenDataColumn("species", "s.name"),
+            new OpenDataColumn("sex", "x.name"),
+            new OpenDataColumn("estimatedAge", "aa.estimated_age"),
+            new OpenDataColumn("physicalCondition", "aa.physical_condition"),
+            new OpenDataColumn("behavior", "aa.behavior"),
+            new OpenDataColumn("abandoned", "aa.is_abandoned"),
+            new OpenDataColumn("canton", "c.name"),
+            new OpenDataColumn("district", "aa.district"),
+            new OpenDataColumn("latitude", "ROUND(aa.latitude, 3)"),
+            new OpenDataColumn("longitude", "ROUND(aa.longitude, 3)"))),
+
+    /**
+     * Complaints, attributed to the municipality of the complainant.
+     */
+    COMPLAINTS("co.id", """
+            FROM complaint co
+            LEFT JOIN complaint_type t ON t.id = co.complaint_type_id
+            LEFT JOIN complaint_state st ON st.id = co.complaint_state_id
+            LEFT JOIN `user` u ON u.id = co.user_id
+            LEFT JOIN municipality m ON m.id = u.municipality_id
+            LEFT JOIN canton c ON c.id = m.canton_id
+            """, List.of(
+            new OpenDataColumn("id", "co.id"),
+            new OpenDataColumn("reportedOn", "DATE(co.created_at)"),
+            new OpenDataColumn("updatedOn", "DATE(co.updated_at)"),
+            new OpenDataColumn("complaintType", "t.name"),
+            new OpenDataColumn("complaintState", "st.name"),
+            new OpenDataColumn("municipality", "m.name"),
+            new OpenDataColumn("canton", "c.name"),
+            new OpenDataColumn("latitude", "ROUND(co.latitude, 3)"),
+            new OpenDataColumn("longitude", "ROUND(co.longitude, 3)"))),
+
+    /**
+     * Vaccine applications, one row per dose, attributed to the owner's municipality.
+     */
+    VACCINATION_COVERAGE("va.id", """
+            FROM vaccine_application va
+            JOIN animal a ON a.id = va.animal_id
+            LEFT JOIN vaccine v ON v.id = va.vaccine_id
+            LEFT JOIN species s ON s.id = a.species_id
+            LEFT JOIN `user` o ON o.id = a.owner_id
+            LEFT JOIN municipality m ON m.id = o.municipality_id
+            LEFT JOIN canton c ON c.id = m.canton_id
+            """, List.of(
+            new OpenDataColumn("id", "va.id"),
+            new OpenDataColumn("appliedOn", "va.application_date"),
+            new OpenDataColumn("vaccine", "v.name"),
+            new OpenDataColumn("animalId", "a.id"),
+            new OpenDataColumn("species", "s.name"),
+            new OpenDataColumn("birthYear", "YEAR(a.birth_date)"),
+            new OpenDataColumn("municipality", "m.name"),
+            new OpenDataColumn("canton", "c.name")));
+
+    /**
+     * Unique, indexed column the rows are ordered and resumed by.
+     */
+    private final String keyExpression;
+    private final String from;
+
+    /**
+     * Columns that may be exported, in default order; the first one is the key.
+     */
+    private final List<OpenDataColumn> columns;
+
+    OpenDataset(String keyExpression, String from, List<OpenDataColumn> columns) {
+        this.keyExpression = keyExpression;
+        this.from = from;
+        this.columns = columns;
+    }
+}
@@ -0,0 +1,99 @@
+package com.project.demo.service.report;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Filters shared by the abandoned animal reports of {@code /reportes}.
+ * <p>
+ * {@link #appendTo(StringBuilder, List)} renders only sargable predicates on the raw
+ * {@code abandoned_animal} columns (no casts or functions around them), so the range
+ * is resolved with the {@code idx_abandoned_animal_trend} index on
+ * {@code (is_abandoned, created_at, canton_id)}.
+ *
+ * @param from           start of the range, inclusive
+ * @param to             end of the range, inclusive
+ * @param cantonId       canton of the sighting, or {@code null}
+ * @param municipalityId municipality of the census user who registered it, or {@code null}
+ * @param speciesIds     species ids; empty means every species
+ * @param districts      district names; empty means every district
+ */
+public record AbandonedAnimalFilter(LocalDateTime from, LocalDateTime to, Long cantonId, Long municipalityId,
+                                    List<String> speciesIds, List<String> districts) {
+
+    /**
+     * Builds a filter from request parameters.
+     *
+     * @param fromMillis     start of the range in epoch milliseconds
+     * @param toMillis       end of the range in epoch milliseconds
+     * @param cantonId       canton id, may be {@code null}
+     * @param municipalityId municipality id, may be {@code null}
+     * @param speciesIds     comma separated species ids; blank or {@code __all} means every species
+     * @param districts      comma separated district names; blank or {@code __all} means every district
+     * @return the filter
+     */
+    public static AbandonedAnimalFilter of(long fromMillis, long toMillis, Long cantonId, Long municipalityId,
+                                           String speciesIds, String districts) {
+        return new AbandonedAnimalFilter(toLocal(fromMillis), toLocal(toMillis), cantonId, municipalityId,
+                splitCsv(speciesIds), splitCsv(districts));
+    }
+
+    /**
+     * @return whether the predicates reference the census user alias {@code u}
+     */
+    public boolean needsUserJoin() {
+        return municipalityId != null;
+    }
+
+    /**
+     * Appends the {@code WHERE} clause. The query must alias {@code abandoned_animal} as
+     * {@code aa} and, when {@link #needsUserJoin()}, join its creator as {@code u}.
+     *
+     * @param sql    query being built
+     * @param params positional parameters, appended in order
+     */
+    public void appendTo(StringBuilder sql, List<Object> params) {
+        sql.append(" WHERE aa.is_abandoned = TRUE AND aa.created_at BETWEEN ? AND ? ");
+        params.add(from);
+        params.add(to);
+        if (cantonId != null) {
+            sql.append(" AND aa.canton_id = ? ");
+            params.add(cantonId);
+        }
+        if (municipalityId != null) {
+            sql.append(" AND u.municipality_id = ? ");
+            params.add(municipalityId);
+        }
+        appendIn(sql, params, "aa.species_id", speciesIds);
+        appendIn(sql, params, "aa.district", districts);
+    }
+
+    private static void appendIn(StringBuilder sql, List<Object> params, String column, List<String> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        sql.append(" AND ").append(column).append(" IN (")
+                .append("?,".repeat(values.size()), 0, values.size() * 2 - 1).append(") ");
+        params.addAll(values);
+    }
+
+    private static List<String> splitCsv(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(v -> !v.isEmpty() && !"__all".equalsIgnoreCase(v))
+                .toList();
+    }
+
+    /**
+     * {@code created_at} is written by Hibernate in the JVM time zone.
+     */
+    private static LocalDateTime toLocal(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,58 @@
+package com.project.demo.service.report;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts abandoned animal sightings per time bucket over a date range.
+ * <p>
+ * The query filters with {@link AbandonedAnimalFilter}, whose predicates are a single
+ * range on {@code idx_abandoned_animal_trend}, and groups in the database, so a year of
+ * daily buckets costs one range scan and returns at most one row per bucket and group.
+ * Results are cached in {@link ReportCache}.
+ */
+@Service
+public class AbandonmentTrendService {
+
+    private final JdbcTemplate jdbc;
+    private final ReportCache reportCache;
+
+    public AbandonmentTrendService(JdbcTemplate jdbc, ReportCache reportCache) {
+        this.jdbc = jdbc;
+        this.reportCache = reportCache;
+    }
+
+    /**
+     * @param filter   range and filters
+     * @param bucket   time bucket size
+     * @param grouping optional second dimension
+     * @return the points ordered by period and group
+     */
+    public List<TrendPoint> trend(AbandonedAnimalFilter filter, TrendBucket bucket, TrendGrouping grouping) {
+        return reportCache.get(ReportCacheKey.of("reportes.abandonados.tendencia", filter, bucket, grouping), () -> {
+            List<Object> params = new ArrayList<>();
+            String sql = buildSql(filter, bucket, grouping, params);
+            return jdbc.query(sql, (rs, i) -> new TrendPoint(rs.getString("period"), rs.getString("grp"), rs.getLong("total")),
+                    params.toArray());
+        });
+    }
+
+    static String buildSql(AbandonedAnimalFilter filter, TrendBucket bucket, TrendGrouping grouping, List<Object> params) {
+        boolean grouped = grouping.getExpression() != null;
+        StringBuilder sql = new StringBuilder("SELECT ")
+                .append(bucket.getExpression()).append(" AS period, ")
+                .append(grouped ? grouping.getExpression() : "NULL").append(" AS grp, COUNT(*) AS total ")
+                .append("FROM abandoned_animal aa ")
+                .append(grouping.getJoin());
+        if (filter.needsUserJoin()) {
+            sql.append(" JOIN `user` u ON u.id = aa.created_by ");
+        }
+        filter.appendTo(sql, params);
+        String keys = grouped ? "period, grp" : "period";
+        sql.append(" GROUP BY ").append(keys).append(" ORDER BY ").append(keys);
+        return sql.toString();
+    }
+}
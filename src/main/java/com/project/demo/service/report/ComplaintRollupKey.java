@@ -0,0 +1,33 @@
+package com.project.demo.service.report;
+
+import com.project.demo.logic.entity.complaint.Complaint;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Group of {@code complaint_report_rollup} a complaint is counted in.
+ *
+ * @param complaintTypeId  complaint type
+ * @param complaintStateId complaint state
+ * @param municipalityId   municipality of the complainant, {@code 0} when unknown
+ * @param periodMonth      first day of the month the complaint was created in
+ */
+public record ComplaintRollupKey(Long complaintTypeId, Long complaintStateId, Long municipalityId, LocalDate periodMonth) {
+
+    /**
+     * @param complaint the complaint, with its current type and state
+     * @return the group the complaint belongs to
+     */
+    public static ComplaintRollupKey of(Complaint complaint) {
+        LocalDateTime createdAt = complaint.getCreatedAt() != null ? complaint.getCreatedAt() : LocalDateTime.now();
+        Long municipalityId = complaint.getCreatedBy() != null && complaint.getCreatedBy().getMunicipality() != null
+                ? complaint.getCreatedBy().getMunicipality().getId()
+                : 0L;
+        return new ComplaintRollupKey(
+                complaint.getComplaintType().getId(),
+                complaint.getComplaintState().getId(),
+                municipalityId,
+                createdAt.toLocalDate().withDayOfMonth(1));
+    }
+}
@@ -0,0 +1,11 @@
+package com.project.demo.service.report;
+
+/**
+ * Finest-grain row of a {@link CubeFact}.
+ *
+ * @param labels     one label per dimension of the fact, in {@link CubeFact#getDimensions()} order
+ * @param total      number of records
+ * @param sterilized number of sterilized animals among them
+ */
+public record CubeCell(String[] labels, long total, long sterilized) {
+}
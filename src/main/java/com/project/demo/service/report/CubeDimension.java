@@ -0,0 +1,33 @@
+package com.project.demo.service.report;
+
+import lombok.Getter;
+
+/**
+ * Dimensions a {@link CubeFact} can be grouped and filtered by.
+ */
+@Getter
+public enum CubeDimension {
+    SOURCE("source"),
+    MUNICIPALITY("municipality"),
+    /**
+     * Id of the municipality; unlike {@link #MUNICIPALITY} it stays unique across renames and homonyms.
+     */
+    MUNICIPALITY_ID("municipalityId"),
+    CANTON("canton"),
+    DISTRICT("district"),
+    SPECIES("species"),
+    SEX("sex"),
+    STERILIZATION("sterilization"),
+    MONTH("month"),
+    COMPLAINT_TYPE("complaintType"),
+    COMPLAINT_STATE("complaintState");
+
+    /**
+     * Key of the dimension in the rows returned by the cube.
+     */
+    private final String key;
+
+    CubeDimension(String key) {
+        this.key = key;
+    }
+}
@@ -0,0 +1,84 @@
+package com.project.demo.service.report;
+
+import lombok.Getter;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fact tables the report cube can be queried on.
+ * <p>
+ * Each fact reads its rollup table once, at the finest grain, labelling every dimension
+ * in {@link #getDimensions()} order followed by {@code total} and {@code sterilized}.
+ * Coarser groupings are rolled up in memory by {@link ReportCubeService}.
+ */
+@Getter
+public enum CubeFact {
+
+    /**
+     * Owned, community and abandoned animals, from {@code animal_report_rollup}; the sources do
+     * not overlap, so totals across sources count every animal once.
+     */
+    ANIMALS(ReportDataFamily.ANIMALS, List.of(CubeDimension.SOURCE, CubeDimension.MUNICIPALITY, CubeDimension.MUNICIPALITY_ID,
+            CubeDimension.CANTON, CubeDimension.DISTRICT, CubeDimension.SPECIES, CubeDimension.SEX, CubeDimension.STERILIZATION, CubeDimension.MONTH),
+            EnumSet.allOf(CubeMeasure.class), """
+            SELECT r.source,
+                   COALESCE(m.name, 'Sin municipalidad'),
+                   COALESCE(CAST(r.municipality_id AS CHAR), 'Sin municipalidad'),
+                   COALESCE(c.name, 'Sin cantón'),
+                   COALESCE(d.name, 'Sin distrito'),
+                   COALESCE(s.name, 'Sin especie'),
+                   COALESCE(x.name, 'Sin sexo'),
+                   CASE WHEN r.sterilized THEN 'Esterilizado' ELSE 'No esterilizado' END,
+                   DATE_FORMAT(r.period_month, '%Y-%m'),
+                   SUM(r.total) AS total,
+                   SUM(CASE WHEN r.sterilized THEN r.total ELSE 0 END) AS sterilized
+            FROM animal_report_rollup r
+            LEFT JOIN municipality m ON m.id = r.municipality_id
+            LEFT JOIN canton c ON c.id = r.canton_id
+            LEFT JOIN district d ON d.id = r.district_id
+            LEFT JOIN species s ON s.id = r.species_id
+            LEFT JOIN sex x ON x.id = r.sex_id
+            WHERE r.total > 0
+            GROUP BY 1, 2, 3, 4, 5, 6, 7, 8, 9
+            """),
+
+    /**
+     * Complaints, from {@code complaint_report_rollup}; the canton is the one of the complainant's municipality.
+     */
+    COMPLAINTS(ReportDataFamily.COMPLAINTS, List.of(CubeDimension.COMPLAINT_TYPE, CubeDimension.COMPLAINT_STATE,
+            CubeDimension.MUNICIPALITY, CubeDimension.MUNICIPALITY_ID, CubeDimension.CANTON, CubeDimension.MONTH),
+            EnumSet.of(CubeMeasure.COUNT), """
+            SELECT COALESCE(t.name, 'Sin tipo'),
+                   COALESCE(st.name, 'Sin estado'),
+                   COALESCE(m.name, 'Sin municipalidad'),
+                   COALESCE(CAST(r.municipality_id AS CHAR), 'Sin municipalidad'),
+                   COALESCE(c.name, 'Sin cantón'),
+                   DATE_FORMAT(r.period_month, '%Y-%m'),
+                   SUM(r.total) AS total,
+                   0 AS sterilized
+            FROM complaint_report_rollup r
+            LEFT JOIN complaint_type t ON t.id = r.complaint_type_id
+            LEFT JOIN complaint_state st ON st.id = r.complaint_state_id
+            LEFT JOIN municipality m ON m.id = r.municipality_id
+            LEFT JOIN canton c ON c.id = m.canton_id
+            WHERE r.total > 0
+            GROUP BY 1, 2, 3, 4, 5, 6
+            """);
+
+    /**
+     * Family of report tables the fact is read from.
+     */
+    private final ReportDataFamily family;
+    private final List<CubeDimension> dimensions;
+    private final Set<CubeMeasure> measures;
+    private final String sql;
+
+    CubeFact(ReportDataFamily family, List<CubeDimension> dimensions, Set<CubeMeasure> measures, String sql) {
+        this.family = family;
+        this.dimensions = dimensions;
+        this.measures = measures;
+        this.sql = sql;
+    }
+}
@@ -0,0 +1,28 @@
+package com.project.demo.service.report;
+
+import lombok.Getter;
+
+/**
+ * Measures computed for each group of a cube query.
+ */
+@Getter
+public enum CubeMeasure {
+    /**
+     * Number of records in the group.
+     */
+    COUNT("count"),
+    /**
+     * Number of sterilized animals in the group.
+     */
+    STERILIZED("sterilized"),
+    /**
+     * Sterilized animals over the animals of the group, between 0 and 1.
+     */
+    STERILIZATION_RATE("sterilizationRate");
+
+    private final String key;
+
+    CubeMeasure(String key) {
+        this.key = key;
+    }
+}
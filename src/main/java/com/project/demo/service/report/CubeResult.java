@@ -0,0 +1,16 @@
+package com.project.demo.service.report;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a cube query.
+ *
+ * @param fact       queried fact
+ * @param dimensions requested dimensions, in the order rows are sorted by
+ * @param measures   requested measures
+ * @param rows       one row per group, keyed by {@link CubeDimension#getKey()} and {@link CubeMeasure#getKey()}
+ */
+public record CubeResult(CubeFact fact, List<CubeDimension> dimensions, List<CubeMeasure> measures,
+                         List<Map<String, Object>> rows) {
+}
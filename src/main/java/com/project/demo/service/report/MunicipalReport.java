@@ -0,0 +1,51 @@
+package com.project.demo.service.report;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Standard report set pre-rendered every night for each municipality by
+ * {@link MunicipalReportBundleService}. Each report is a slice of the report cube
+ * filtered by the municipality.
+ */
+@Getter
+public enum MunicipalReport {
+    ANIMALES("Animales registrados", CubeFact.ANIMALS,
+            List.of(CubeDimension.SOURCE, CubeDimension.SPECIES, CubeDimension.SEX),
+            Map.of(),
+            List.of("Origen", "Especie", "Sexo", "Cantidad")),
+    ESTERILIZACION("Esterilización de mascotas", CubeFact.ANIMALS,
+            List.of(CubeDimension.SEX, CubeDimension.STERILIZATION),
+            Map.of(CubeDimension.SOURCE, Set.of("OWNED_ANIMAL")),
+            List.of("Sexo", "Estatus", "Cantidad")),
+    DENUNCIAS("Denuncias", CubeFact.COMPLAINTS,
+            List.of(CubeDimension.COMPLAINT_TYPE, CubeDimension.COMPLAINT_STATE),
+            Map.of(),
+            List.of("Tipo", "Estado", "Cantidad"));
+
+    private final String title;
+    private final CubeFact fact;
+    private final List<CubeDimension> dimensions;
+
+    /**
+     * Filters applied on top of the municipality filter.
+     */
+    private final Map<CubeDimension, Set<String>> filters;
+
+    /**
+     * Column headers: one per dimension followed by the count.
+     */
+    private final List<String> headers;
+
+    MunicipalReport(String title, CubeFact fact, List<CubeDimension> dimensions,
+                    Map<CubeDimension, Set<String>> filters, List<String> headers) {
+        this.title = title;
+        this.fact = fact;
+        this.dimensions = dimensions;
+        this.filters = filters;
+        this.headers = headers;
+    }
+}
@@ -0,0 +1,176 @@
+package com.project.demo.service.report;
+
+import com.project.demo.common.CsvStreamWriter;
+import com.project.demo.common.PdfStreamWriter;
+import com.project.demo.logic.entity.municipality.Municipality;
+import com.project.demo.logic.entity.municipality.MunicipalityRepository;
+import com.project.demo.logic.entity.report_job.ReportJobFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Pre-renders the {@link MunicipalReport} set of every municipality to disk.
+ * <p>
+ * The nightly job writes one file per report and {@link #BUNDLE_FORMATS format} to
+ * {@code reports.bundles.directory/{municipalityId}/}, so the morning downloads of the
+ * municipal administrators are served straight from disk instead of rendering the same
+ * reports on demand. Each file is written to a {@code .part} file first and atomically
+ * moved into place, so a download never sees a half-written bundle and keeps getting
+ * the previous one while the next is rendered.
+ */
+@Service
+public class MunicipalReportBundleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MunicipalReportBundleService.class);
+
+    /**
+     * Formats pre-rendered every night; other formats are always generated live.
+     */
+    public static final Set<ReportJobFormat> BUNDLE_FORMATS = EnumSet.of(ReportJobFormat.CSV, ReportJobFormat.PDF);
+
+    private final ReportCubeService reportCubeService;
+    private final MunicipalityRepository municipalityRepository;
+    private final Path directory;
+
+    public MunicipalReportBundleService(
+            ReportCubeService reportCubeService,
+            MunicipalityRepository municipalityRepository,
+            @Value("${reports.bundles.directory:${java.io.tmpdir}/bienestar-report-bundles}") String directory
+    ) {
+        this.reportCubeService = reportCubeService;
+        this.municipalityRepository = municipalityRepository;
+        this.directory = Paths.get(directory);
+    }
+
+    /**
+     * Renders the bundle of every municipality. A municipality that fails is logged and
+     * keeps its previous bundle; the others are still rendered.
+     *
+     * @return the number of municipalities whose bundle was rendered
+     */
+    public int renderAll() {
+        long start = System.currentTimeMillis();
+        int rendered = 0;
+        for (Municipality municipality : municipalityRepository.findAll()) {
+            try {
+                renderBundle(municipality);
+                rendered++;
+            } catch (IOException | RuntimeException e) {
+                logger.error("Error generando los reportes pre-renderizados de la municipalidad {}", municipality.getId(), e);
+            }
+        }
+        logger.info("Reportes municipales pre-renderizados para {} municipalidades en {} ms",
+                rendered, System.currentTimeMillis() - start);
+        return rendered;
+    }
+
+    /**
+     * Renders every report of a municipality in every {@link #BUNDLE_FORMATS bundle format}.
+     *
+     * @param municipality the municipality
+     * @throws IOException if a file cannot be written
+     */
+    public void renderBundle(Municipality municipality) throws IOException {
+        Path bundleDirectory = directory.resolve(String.valueOf(municipality.getId()));
+        Files.createDirectories(bundleDirectory);
+        for (MunicipalReport report : MunicipalReport.values()) {
+            for (ReportJobFormat format : BUNDLE_FORMATS) {
+                Path target = bundleDirectory.resolve(fileName(report, format));
+                Path partial = bundleDirectory.resolve(fileName(report, format) + ".part");
+                try (OutputStream out = Files.newOutputStream(partial)) {
+                    write(report, municipality, format, out);
+                } catch (IOException | RuntimeException e) {
+                    Files.deleteIfExists(partial);
+                    throw e;
+                }
+                Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+    }
+
+    /**
+     * Finds the latest pre-rendered file of a report.
+     *
+     * @param municipalityId the municipality id
+     * @param report         the report
+     * @param format         the format
+     * @return the file, or empty if it was never rendered or the format is not bundled
+     */
+    public Optional<Path> findBundle(Long municipalityId, MunicipalReport report, ReportJobFormat format) {
+        if (!BUNDLE_FORMATS.contains(format)) {
+            return Optional.empty();
+        }
+        Path file = directory.resolve(String.valueOf(municipalityId)).resolve(fileName(report, format));
+        return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    /**
+     * Renders a report of a municipality from the current data. The target stream is not closed.
+     *
+     * @param report       the report
+     * @param municipality the municipality; rows are selected by its id, its name only titles the PDF
+     * @param format       the format
+     * @param out          destination stream
+     * @throws IOException if writing fails
+     */
+    public void write(MunicipalReport report, Municipality municipality, ReportJobFormat format, OutputStream out)
+            throws IOException {
+        CubeResult result = query(report, municipality.getId());
+        try {
+            switch (format) {
+                case CSV, CSV_GZIP -> {
+                    try (CsvStreamWriter csv = new CsvStreamWriter(out, format == ReportJobFormat.CSV_GZIP)) {
+                        csv.writeRow(report.getHeaders().toArray());
+                        for (Map<String, Object> row : result.rows()) {
+                            csv.writeRow(row.values().toArray());
+                        }
+                    }
+                }
+                case PDF -> {
+                    try (PdfStreamWriter pdf = new PdfStreamWriter(out, report.getTitle() + " - " + municipality.getName())) {
+                        if (result.rows().isEmpty()) {
+                            pdf.writeText(ReportExportService.NO_DATA_MESSAGE);
+                        } else {
+                            pdf.beginTable(report.getHeaders().toArray(String[]::new));
+                            for (Map<String, Object> row : result.rows()) {
+                                pdf.writeRow(row.values().toArray());
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * @return the name of the file of a report, without directory
+     */
+    public static String fileName(MunicipalReport report, ReportJobFormat format) {
+        return report.name().toLowerCase(Locale.ROOT) + format.getExtension();
+    }
+
+    private CubeResult query(MunicipalReport report, Long municipalityId) {
+        Map<CubeDimension, Set<String>> filters = new HashMap<>(report.getFilters());
+        filters.put(CubeDimension.MUNICIPALITY_ID, Set.of(String.valueOf(municipalityId)));
+        return reportCubeService.query(report.getFact(), report.getDimensions(), List.of(CubeMeasure.COUNT), filters);
+    }
+}
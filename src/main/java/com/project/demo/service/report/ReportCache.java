@@ -0,0 +1,231 @@
+package com.project.demo.service.report;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process cache for report results.
+ * <p>
+ * Entries are keyed by report and filters ({@link ReportCacheKey}) and evicted in
+ * least-recently-used order once {@code reports.cache.max-entries} is reached, or when
+ * they are older than {@code reports.cache.ttl-seconds}. Concurrent lookups of a missing
+ * key share a single load, so several administrators opening the same report trigger
+ * one query. The whole cache is cleared after every committed {@link ReportDataChangedEvent},
+ * unless the event names the only entries it affects.
+ */
+@Component
+public class ReportCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportCache.class);
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final LinkedHashMap<ReportCacheKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Incremented on every invalidation; loads started before an invalidation are not kept.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    @Autowired
+    public ReportCache(
+            @Value("${reports.cache.max-entries:200}") int maxEntries,
+            @Value("${reports.cache.ttl-seconds:600}") long ttlSeconds
+    ) {
+        this(maxEntries, ttlSeconds * 1_000_000_000L, System::nanoTime);
+    }
+
+    ReportCache(int maxEntries, long ttlNanos, LongSupplier nanoClock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("reports.cache.max-entries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlNanos;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Returns the cached value for the key, loading it if absent. Concurrent callers for
+     * the same missing key wait for the load started by the first one.
+     *
+     * @param key    report and filters
+     * @param loader computes the value; exceptions are propagated and nothing is cached
+     * @return the cached or freshly loaded value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(ReportCacheKey key, Supplier<T> loader) {
+        CompletableFuture<Object> future;
+        boolean owner = false;
+        long loadGeneration;
+        synchronized (entries) {
+            loadGeneration = generation.get();
+            Entry entry = entries.get(key);
+            if (entry != null && isExpired(entry)) {
+                entries.remove(key);
+                evictions.increment();
+                entry = null;
+            }
+            if (entry == null) {
+                entry = new Entry(new CompletableFuture<>(), nanoClock.getAsLong());
+                entries.put(key, entry);
+                evictOverflow();
+                owner = true;
+                misses.increment();
+            } else {
+                hits.increment();
+            }
+            future = entry.value;
+        }
+
+        if (owner) {
+            load(key, loader, future, loadGeneration);
+        }
+        try {
+            return (T) future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the value for the key only if it is already loaded, without triggering a load.
+     *
+     * @param key report and filters
+     * @return the cached value, or {@code null} when absent, expired or still loading
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getIfPresent(ReportCacheKey key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null || isExpired(entry) || !entry.value.isDone() || entry.value.isCompletedExceptionally()) {
+                return null;
+            }
+            hits.increment();
+            return (T) entry.value.join();
+        }
+    }
+
+    /**
+     * Clears the affected entries, or every entry, once the transaction that changed report
+     * data has committed. Writes outside a transaction invalidate immediately.
+     *
+     * @param event the data change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportDataChanged(ReportDataChangedEvent event) {
+        if (event.affectedKeys() != null) {
+            invalidate(event.affectedKeys());
+        } else {
+            invalidateAll();
+        }
+        logger.debug("Caché de reportes invalidada por: {}", event.source());
+    }
+
+    /**
+     * Removes some entries. A load of one of them already in flight completes for the callers
+     * waiting on it but is not kept.
+     *
+     * @param keys the entries to remove
+     */
+    public void invalidate(Collection<ReportCacheKey> keys) {
+        synchronized (entries) {
+            entries.keySet().removeAll(keys);
+        }
+        invalidations.increment();
+    }
+
+    /**
+     * Removes every entry and discards loads currently in flight.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+        invalidations.increment();
+    }
+
+    /**
+     * @return a snapshot of the cache metrics
+     */
+    public ReportCacheStats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long completed = loads.sum();
+        double averageMillis = completed == 0 ? 0 : loadNanos.sum() / 1_000_000.0 / completed;
+        return new ReportCacheStats(size, maxEntries, hits.sum(), misses.sum(), completed,
+                loadFailures.sum(), averageMillis, evictions.sum(), invalidations.sum());
+    }
+
+    private <T> void load(ReportCacheKey key, Supplier<T> loader, CompletableFuture<Object> future, long loadGeneration) {
+        long start = nanoClock.getAsLong();
+        try {
+            T value = loader.get();
+            loads.increment();
+            loadNanos.add(nanoClock.getAsLong() - start);
+            future.complete(value);
+            synchronized (entries) {
+                if (generation.get() != loadGeneration) {
+                    Entry entry = entries.get(key);
+                    if (entry != null && entry.value == future) {
+                        entries.remove(key);
+                    }
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            loadFailures.increment();
+            synchronized (entries) {
+                Entry entry = entries.get(key);
+                if (entry != null && entry.value == future) {
+                    entries.remove(key);
+                }
+            }
+            future.completeExceptionally(e);
+        }
+    }
+
+    private boolean isExpired(Entry entry) {
+        return entry.value.isDone() && nanoClock.getAsLong() - entry.createdAt > ttlNanos;
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<ReportCacheKey, Entry>> it = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    private record Entry(CompletableFuture<Object> value, long createdAt) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.project.demo.service.report;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Key of a {@link ReportCache} entry: the report name plus every filter that affects its result.
+ *
+ * @param report  report name, unique per endpoint/query
+ * @param filters filter values in a fixed order; {@code null} means "not filtered"
+ */
+public record ReportCacheKey(String report, List<Object> filters) {
+
+    /**
+     * Builds a key from the report name and its filter values.
+     *
+     * @param report  report name
+     * @param filters filter values, may contain {@code null}
+     * @return the key
+     */
+    public static ReportCacheKey of(String report, Object... filters) {
+        return new ReportCacheKey(report, Collections.unmodifiableList(Arrays.asList(filters)));
+    }
+}
@@ -0,0 +1,35 @@
+package com.project.demo.service.report;
+
+/**
+ * Snapshot of the {@link ReportCache} metrics.
+ *
+ * @param size                 current number of entries
+ * @param maxEntries           configured capacity
+ * @param hits                 lookups served from the cache (including coalesced lookups)
+ * @param misses               lookups that triggered a load
+ * @param loads                completed loads
+ * @param loadFailures         loads that threw an exception
+ * @param averageLoadMillis    mean load time of the completed loads
+ * @param evictions            entries removed to respect the capacity or the TTL
+ * @param invalidations        times the cache was cleared by a data change
+ */
+public record ReportCacheStats(
+        int size,
+        int maxEntries,
+        long hits,
+        long misses,
+        long loads,
+        long loadFailures,
+        double averageLoadMillis,
+        long evictions,
+        long invalidations
+) {
+
+    /**
+     * @return hits divided by total lookups, or {@code 0} when there were no lookups
+     */
+    public double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
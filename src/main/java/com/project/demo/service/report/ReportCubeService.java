@@ -0,0 +1,160 @@
+package com.project.demo.service.report;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Answers ad-hoc group-by queries over the report rollups.
+ * <p>
+ * The finest grain of each {@link CubeFact} is read once with a single query and kept in
+ * {@link ReportCache}; any subset of its dimensions, filters and measures is then rolled
+ * up in memory from those rows, so new dashboard slices need no new query or endpoint.
+ * Query results are cached as well, and both are dropped whenever report data changes.
+ */
+@Service
+public class ReportCubeService {
+
+    private final ReportCache reportCache;
+    private final Function<CubeFact, List<CubeCell>> cellLoader;
+
+    @Autowired
+    public ReportCubeService(JdbcTemplate jdbc, ReportCache reportCache) {
+        this(reportCache, fact -> jdbc.query(fact.getSql(), (rs, i) -> {
+            int dimensions = fact.getDimensions().size();
+            String[] labels = new String[dimensions];
+            for (int d = 0; d < dimensions; d++) {
+                labels[d] = rs.getString(d + 1);
+            }
+            return new CubeCell(labels, rs.getLong("total"), rs.getLong("sterilized"));
+        }));
+    }
+
+    ReportCubeService(ReportCache reportCache, Function<CubeFact, List<CubeCell>> cellLoader) {
+        this.reportCache = reportCache;
+        this.cellLoader = cellLoader;
+    }
+
+    /**
+     * Groups a fact by the given dimensions.
+     *
+     * @param fact       the fact to query
+     * @param dimensions dimensions to group by, may be empty for a grand total
+     * @param measures   measures to compute; {@link CubeMeasure#COUNT} when empty
+     * @param filters    accepted labels per dimension; dimensions without an entry are not filtered
+     * @return one row per group, sorted by the dimensions in the requested order
+     * @throws IllegalArgumentException if a dimension or measure is not available for the fact
+     */
+    public CubeResult query(CubeFact fact, List<CubeDimension> dimensions, List<CubeMeasure> measures,
+                            Map<CubeDimension, Set<String>> filters) {
+        List<CubeDimension> groupBy = List.copyOf(new LinkedHashSet<>(dimensions));
+        List<CubeMeasure> computed = measures.isEmpty() ? List.of(CubeMeasure.COUNT) : List.copyOf(new LinkedHashSet<>(measures));
+        validate(fact, groupBy, computed, filters);
+
+        List<Map<String, Object>> rows = reportCache.get(ReportCacheKey.of("cube", fact, groupBy, computed, filters),
+                () -> rollUp(fact, groupBy, computed, filters));
+        return new CubeResult(fact, groupBy, computed, rows);
+    }
+
+    private List<Map<String, Object>> rollUp(CubeFact fact, List<CubeDimension> groupBy, List<CubeMeasure> measures,
+                                             Map<CubeDimension, Set<String>> filters) {
+        List<CubeCell> cells = reportCache.get(ReportCacheKey.of("cube.cells", fact), () -> cellLoader.apply(fact));
+        int[] groupIndexes = groupBy.stream().mapToInt(fact.getDimensions()::indexOf).toArray();
+        List<Map.Entry<Integer, Set<String>>> filterIndexes = new ArrayList<>();
+        filters.forEach((dimension, values) -> filterIndexes.add(Map.entry(fact.getDimensions().indexOf(dimension), values)));
+
+        Map<List<String>, long[]> groups = new HashMap<>();
+        for (CubeCell cell : cells) {
+            if (!matches(cell, filterIndexes)) {
+                continue;
+            }
+            String[] key = new String[groupIndexes.length];
+            for (int i = 0; i < groupIndexes.length; i++) {
+                key[i] = cell.labels()[groupIndexes[i]];
+            }
+            long[] totals = groups.computeIfAbsent(Arrays.asList(key), k -> new long[2]);
+            totals[0] += cell.total();
+            totals[1] += cell.sterilized();
+        }
+
+        List<Map.Entry<List<String>, long[]>> sorted = new ArrayList<>(groups.entrySet());
+        sorted.sort(Map.Entry.comparingByKey(CubeKeyComparator.INSTANCE));
+        List<Map<String, Object>> rows = new ArrayList<>(sorted.size());
+        for (Map.Entry<List<String>, long[]> group : sorted) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < groupBy.size(); i++) {
+                row.put(groupBy.get(i).getKey(), group.getKey().get(i));
+            }
+            long total = group.getValue()[0];
+            long sterilized = group.getValue()[1];
+            for (CubeMeasure measure : measures) {
+                row.put(measure.getKey(), switch (measure) {
+                    case COUNT -> total;
+                    case STERILIZED -> sterilized;
+                    case STERILIZATION_RATE -> total == 0 ? 0.0 : (double) sterilized / total;
+                });
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static boolean matches(CubeCell cell, List<Map.Entry<Integer, Set<String>>> filterIndexes) {
+        for (Map.Entry<Integer, Set<String>> filter : filterIndexes) {
+            if (!filter.getValue().contains(cell.labels()[filter.getKey()])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void validate(CubeFact fact, List<CubeDimension> groupBy, List<CubeMeasure> measures,
+                                 Map<CubeDimension, Set<String>> filters) {
+        for (CubeDimension dimension : groupBy) {
+            requireDimension(fact, dimension);
+        }
+        for (CubeDimension dimension : filters.keySet()) {
+            requireDimension(fact, dimension);
+        }
+        for (CubeMeasure measure : measures) {
+            if (!fact.getMeasures().contains(measure)) {
+                throw new IllegalArgumentException("La medida " + measure + " no está disponible para " + fact);
+            }
+        }
+    }
+
+    private static void requireDimension(CubeFact fact, CubeDimension dimension) {
+        if (!fact.getDimensions().contains(dimension)) {
+            throw new IllegalArgumentException("La dimensión " + dimension + " no está disponible para " + fact);
+        }
+    }
+
+    /**
+     * Orders group keys lexicographically, dimension by dimension.
+     */
+    private enum CubeKeyComparator implements Comparator<List<String>> {
+        INSTANCE;
+
+        @Override
+        public int compare(List<String> a, List<String> b) {
+            for (int i = 0; i < a.size(); i++) {
+                int result = a.get(i).compareTo(b.get(i));
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        }
+    }
+}
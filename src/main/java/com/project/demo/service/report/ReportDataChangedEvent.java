@@ -0,0 +1,23 @@
+package com.project.demo.service.report;
+
+import java.util.Collection;
+
+/**
+ * Published whenever data counted by the reports is written (animal registrations,
+ * sanitary controls, complaints, heatmap points) or the rollups are rebuilt.
+ *
+ * @param family       the family of report tables the write changed
+ * @param source       short description of the write that triggered the event, used for logging
+ * @param affectedKeys the only {@link ReportCache} entries the write can change, or {@code null}
+ *                     when it can change any of them
+ */
+public record ReportDataChangedEvent(ReportDataFamily family, String source, Collection<ReportCacheKey> affectedKeys) {
+
+    /**
+     * @param family the family of report tables the write changed
+     * @param source short description of the write, for a write that can change any report
+     */
+    public ReportDataChangedEvent(ReportDataFamily family, String source) {
+        this(family, source, null);
+    }
+}
@@ -0,0 +1,31 @@
+package com.project.demo.service.report;
+
+/**
+ * Groups of report tables versioned together by {@link ReportDataVersion}.
+ * <p>
+ * A write bumps only the family it changed, so an endpoint whose {@code ETag} is built
+ * from the families it reads keeps answering {@code 304} while unrelated data changes.
+ */
+public enum ReportDataFamily {
+
+    /**
+     * {@code animal_report_rollup} and the owned, community and abandoned animals behind it.
+     */
+    ANIMALS,
+
+    /**
+     * {@code complaint_report_rollup} and the complaints behind it.
+     */
+    COMPLAINTS,
+
+    /**
+     * {@code geo_heat_cell}.
+     */
+    HEATMAP,
+
+    /**
+     * Sterilization status of the animals, as read by {@link SterilizedAnimalIndex}; changes
+     * with the sterilization controls only, not with every animal write.
+     */
+    STERILIZATION
+}
@@ -0,0 +1,137 @@
+package com.project.demo.service.report;
+
+import com.project.demo.logic.entity.report_rollup.ReportDataVersionRow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.WebRequest;
+
+import java.sql.Timestamp;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Versions of the data behind the reports, used for conditional GETs.
+ * <p>
+ * Each {@link ReportDataFamily} has a counter in {@code report_data_family_version}
+ * ({@link ReportDataVersionRow}), incremented by every {@link ReportDataChangedEvent} of that
+ * family once the write that published it has committed, in a short transaction of its own:
+ * report writes never hold the row, and a write to one family leaves the others untouched.
+ * Report endpoints derive their {@code ETag} from the families they read and answer
+ * {@code If-None-Match} with {@code 304 Not Modified} before running any query.
+ * The ETag also includes the current {@code reports.cache.ttl-seconds} window, so writes
+ * that publish no event still reach clients once the cached result has expired.
+ */
+@Component
+public class ReportDataVersion {
+
+    private static final String BUMP_SQL = """
+            INSERT INTO report_data_family_version (family, version, updated_at) VALUES (?, 1, ?)
+            ON DUPLICATE KEY UPDATE version = version + 1, updated_at = VALUES(updated_at)
+            """;
+
+    private final JdbcTemplate jdbc;
+    private final TransactionOperations bumpTransaction;
+    private final LongSupplier clock;
+    private final long windowMillis;
+
+    @Autowired
+    public ReportDataVersion(JdbcTemplate jdbc, PlatformTransactionManager transactionManager,
+                             @Value("${reports.cache.ttl-seconds:600}") long ttlSeconds) {
+        this(jdbc, requiresNew(transactionManager), System::currentTimeMillis, ttlSeconds * 1000);
+    }
+
+    ReportDataVersion(JdbcTemplate jdbc, TransactionOperations bumpTransaction, LongSupplier clock, long windowMillis) {
+        this.jdbc = jdbc;
+        this.bumpTransaction = bumpTransaction;
+        this.clock = clock;
+        this.windowMillis = Math.max(1, windowMillis);
+    }
+
+    private static TransactionOperations requiresNew(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+
+    /**
+     * Increments the version of the event's family once the write that published it has
+     * committed. Writes outside a transaction bump it immediately.
+     *
+     * @param event the data change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportDataChanged(ReportDataChangedEvent event) {
+        bumpTransaction.executeWithoutResult(status ->
+                jdbc.update(BUMP_SQL, event.family().name(), new Timestamp(clock.getAsLong())));
+    }
+
+    /**
+     * @param family the family
+     * @return its committed version, {@code 0} before its first change
+     */
+    public long current(ReportDataFamily family) {
+        Snapshot snapshot = read().get(family);
+        return snapshot == null ? 0 : snapshot.version();
+    }
+
+    /**
+     * @param families the families read by the report
+     * @return the current ETag of a report reading those families, quoted
+     */
+    public String etag(ReportDataFamily... families) {
+        return etag(read(), families);
+    }
+
+    /**
+     * Evaluates the conditional headers of a report request and sets {@code ETag} and
+     * {@code Last-Modified} on the response.
+     *
+     * @param request  the current request
+     * @param families the families read by the report
+     * @return {@code true} if the response was set to {@code 304} and the handler must return {@code null}
+     */
+    public boolean checkNotModified(WebRequest request, ReportDataFamily... families) {
+        Map<ReportDataFamily, Snapshot> snapshots = read();
+        long lastModified = 0;
+        for (ReportDataFamily family : families) {
+            Snapshot snapshot = snapshots.get(family);
+            if (snapshot != null) {
+                lastModified = Math.max(lastModified, snapshot.lastModified());
+            }
+        }
+        return request.checkNotModified(etag(snapshots, families), lastModified);
+    }
+
+    private String etag(Map<ReportDataFamily, Snapshot> snapshots, ReportDataFamily... families) {
+        StringBuilder etag = new StringBuilder("\"");
+        Set<ReportDataFamily> read = families.length == 0 ? EnumSet.noneOf(ReportDataFamily.class) : EnumSet.of(families[0], families);
+        for (ReportDataFamily family : read) {
+            Snapshot snapshot = snapshots.get(family);
+            etag.append(snapshot == null ? 0 : snapshot.version()).append('.');
+        }
+        return etag.append(clock.getAsLong() / windowMillis).append('"').toString();
+    }
+
+    private Map<ReportDataFamily, Snapshot> read() {
+        Map<ReportDataFamily, Snapshot> snapshots = new EnumMap<>(ReportDataFamily.class);
+        for (Snapshot snapshot : jdbc.query("SELECT family, version, updated_at FROM report_data_family_version",
+                (rs, i) -> new Snapshot(ReportDataFamily.valueOf(rs.getString("family")), rs.getLong("version"),
+                        rs.getTimestamp("updated_at").getTime()))) {
+            snapshots.put(snapshot.family(), snapshot);
+        }
+        return snapshots;
+    }
+
+    record Snapshot(ReportDataFamily family, long version, long lastModified) {
+    }
+}
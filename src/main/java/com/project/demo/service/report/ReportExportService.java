@@ -0,0 +1,194 @@
+package com.project.demo.service.report;
+
+import com.project.demo.common.CsvStreamWriter;
+import com.project.demo.common.PdfStreamWriter;
+import com.project.demo.logic.entity.animal.AnimalRepository;
+import com.project.demo.logic.entity.complaint.ComplaintRepository;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Renders the {@code /reports} report types as CSV or PDF into an output stream.
+ * <p>
+ * Used both by the synchronous download endpoints, which write straight to the
+ * response, and by the asynchronous report jobs, which write to a file on disk.
+ */
+@Service
+public class ReportExportService {
+
+    /**
+     * Message written when a report type has no data or is unknown.
+     */
+    public static final String NO_DATA_MESSAGE = "No hay datos para este tipo de reporte";
+
+    private final ReportQueryService reportQueryService;
+    private final AnimalRepository animalRepository;
+    private final ComplaintRepository complaintRepository;
+
+    public ReportExportService(
+            ReportQueryService reportQueryService,
+            AnimalRepository animalRepository,
+            ComplaintRepository complaintRepository
+    ) {
+        this.reportQueryService = reportQueryService;
+        this.animalRepository = animalRepository;
+        this.complaintRepository = complaintRepository;
+    }
+
+    /**
+     * Writes a report as CSV (UTF-8 with BOM). The target stream is not closed.
+     *
+     * @param type report type of {@code /reports}
+     * @param out  destination stream
+     * @param gzip whether the output must be gzip-compressed
+     * @throws IOException if writing fails
+     */
+    public void writeCsv(String type, OutputStream out, boolean gzip) throws IOException {
+        try (CsvStreamWriter csv = new CsvStreamWriter(out, gzip)) {
+            writeCsv(type, csv);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Writes a report as a paginated PDF. The target stream is not closed.
+     *
+     * @param type report type of {@code /reports}
+     * @param out  destination stream
+     * @throws IOException if writing fails
+     */
+    public void writePdf(String type, OutputStream out) throws IOException {
+        try (PdfStreamWriter pdf = new PdfStreamWriter(out, "Reporte " + type)) {
+            writePdf(type, pdf);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeCsv(String type, CsvStreamWriter csv) throws IOException {
+        switch (type) {
+            case "ANIMALES_ABANDONADOS":
+                writeCsvRows(csv, ReportQuery.ABANDONED_BY_CANTON_SPECIES_SEX, null, "Cantón", "Especie", "Sexo", "Cantidad");
+                break;
+            case "ESTERILIZACION_MUNICIPIO":
+                writeCsvRows(csv, ReportQuery.STERILIZATION_BY_MUNICIPALITY_SEX, null, "Municipalidad", "Sexo", "Estatus", "Cantidad");
+                break;
+            case "ESTERILIZACION_CANTON":
+                writeCsvRows(csv, ReportQuery.STERILIZATION_BY_CANTON, null, "Cantón", "Estatus", "Cantidad");
+                break;
+            case "ANIMALES_CALLEJEROS":
+                writeCsvRows(csv, ReportQuery.STREET_ANIMALS_BY_CANTON_SPECIES_SEX, NO_DATA_MESSAGE, "Cantón", "Especie", "Sexo", "Cantidad");
+                break;
+            case "MASCOTAS_POR_TIPO":
+                csv.writeRow("Tipo", "Total");
+                for (Object[] row : animalRepository.countAnimalsByType()) {
+                    csv.writeRow(row[0], row[1]);
+                }
+                break;
+            case "DENUNCIAS_ABIERTAS":
+                csv.writeRow("Total Denuncias Abiertas");
+                csv.writeRow(complaintRepository.countOpenComplaints());
+                break;
+            case "DENUNCIAS_POR_TIPO":
+                writeCsvRows(csv, ReportQuery.COMPLAINTS_BY_TYPE, null, "Tipo", "Total");
+                break;
+            case "MASCOTAS_POR_MUNICIPALIDAD":
+                writeCsvRows(csv, ReportQuery.ANIMALS_BY_MUNICIPALITY_SPECIES_SEX, NO_DATA_MESSAGE, "Municipalidad", "Especie", "Sexo", "Cantidad");
+                break;
+            default:
+                csv.writeRow(NO_DATA_MESSAGE);
+        }
+    }
+
+    /**
+     * Streams the rows of an aggregate query into the CSV. The header is flushed with the
+     * first row so the client starts receiving data immediately.
+     *
+     * @param emptyMessage message written instead of the header when there are no rows,
+     *                     or {@code null} to always write the header
+     */
+    private void writeCsvRows(CsvStreamWriter csv, ReportQuery query, String emptyMessage, Object... header) throws IOException {
+        boolean[] headerWritten = {false};
+        long streamed = reportQueryService.stream(query, row -> {
+            try {
+                if (!headerWritten[0]) {
+                    csv.writeRow(header);
+                    csv.flush();
+                    headerWritten[0] = true;
+                }
+                for (String dimension : row.dimensions()) {
+                    csv.writeField(dimension);
+                }
+                csv.writeField(row.count());
+                csv.endRow();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        if (streamed == 0) {
+            if (emptyMessage != null) {
+                csv.writeRow(emptyMessage);
+            } else {
+                csv.writeRow(header);
+            }
+        }
+    }
+
+    private void writePdf(String type, PdfStreamWriter pdf) throws IOException {
+        switch (type) {
+            case "ESTERILIZACION_MUNICIPIO":
+                writePdfRows(pdf, ReportQuery.STERILIZATION_BY_MUNICIPALITY_SEX, "Municipalidad", "Sexo", "Estatus", "Cantidad");
+                break;
+            case "ESTERILIZACION_CANTON":
+                writePdfRows(pdf, ReportQuery.STERILIZATION_BY_CANTON, "Cantón", "Estatus", "Cantidad");
+                break;
+            case "ANIMALES_CALLEJEROS":
+                pdf.writeText("Total Animales Callejeros: " + animalRepository.countAbandonedAnimals());
+                break;
+            case "MASCOTAS_POR_TIPO":
+                pdf.beginTable("Tipo", "Total");
+                for (Object[] row : animalRepository.countAnimalsByType()) {
+                    pdf.writeRow(row[0], row[1]);
+                }
+                break;
+            case "DENUNCIAS_ABIERTAS":
+                pdf.writeText("Total Denuncias Abiertas: " + complaintRepository.countOpenComplaints());
+                break;
+            case "DENUNCIAS_POR_TIPO":
+                writePdfRows(pdf, ReportQuery.COMPLAINTS_BY_TYPE, "Tipo", "Total");
+                break;
+            case "MASCOTAS_POR_MUNICIPALIDAD":
+                if (writePdfRows(pdf, ReportQuery.ANIMALS_BY_MUNICIPALITY_SPECIES_SEX, "Municipalidad", "Especie", "Sexo", "Cantidad") == 0) {
+                    pdf.writeText(NO_DATA_MESSAGE);
+                }
+                break;
+            default:
+                pdf.writeText(NO_DATA_MESSAGE);
+        }
+    }
+
+    /**
+     * Streams the rows of an aggregate query into a PDF table.
+     *
+     * @return the number of rows written
+     */
+    private long writePdfRows(PdfStreamWriter pdf, ReportQuery query, String... headers) throws IOException {
+        pdf.beginTable(headers);
+        return reportQueryService.stream(query, row -> {
+            try {
+                Object[] values = new Object[row.dimensions().size() + 1];
+                for (int i = 0; i < row.dimensions().size(); i++) {
+                    values[i] = row.dimension(i);
+                }
+                values[values.length - 1] = row.count();
+                pdf.writeRow(values);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,145 @@
+package com.project.demo.service.report;
+
+import com.project.demo.logic.entity.report_job.ReportJobChunk;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Stores the artifacts of the asynchronous report jobs in {@code report_job_chunk}
+ * ({@link ReportJobChunk}), so that a job generated on one instance can be downloaded from
+ * any other. An artifact is written and read one chunk of {@code reports.jobs.chunk-kb}
+ * kilobytes at a time, so neither side holds the whole file in memory.
+ */
+@Component
+public class ReportJobArtifactStore {
+
+    private static final String INSERT_SQL = "INSERT INTO report_job_chunk (job_id, seq, data) VALUES (?, ?, ?)";
+    private static final String SELECT_SQL = "SELECT data FROM report_job_chunk WHERE job_id = ? AND seq = ?";
+    private static final String DELETE_SQL = "DELETE FROM report_job_chunk WHERE job_id IN (";
+
+    private final JdbcTemplate jdbc;
+    private final int chunkSize;
+
+    public ReportJobArtifactStore(JdbcTemplate jdbc, @Value("${reports.jobs.chunk-kb:1024}") int chunkKb) {
+        this.jdbc = jdbc;
+        this.chunkSize = Math.max(1, chunkKb) * 1024;
+    }
+
+    /**
+     * Opens the artifact of a job for writing. Every full chunk is committed as soon as it is
+     * written; on failure the caller must {@link #delete delete} the partial artifact.
+     *
+     * @param jobId the job
+     * @return a stream that must be closed to write the last chunk
+     */
+    public ArtifactOutputStream create(Long jobId) {
+        return new ArtifactOutputStream(jobId);
+    }
+
+    /**
+     * Copies the artifact of a job to a stream.
+     *
+     * @param jobId the job
+     * @param out   the destination, left open
+     * @return bytes copied
+     * @throws IOException if the destination fails
+     */
+    public long copyTo(Long jobId, OutputStream out) throws IOException {
+        long copied = 0;
+        for (int seq = 0; ; seq++) {
+            List<byte[]> chunk = jdbc.query(SELECT_SQL, (rs, i) -> rs.getBytes(1), jobId, seq);
+            if (chunk.isEmpty()) {
+                return copied;
+            }
+            out.write(chunk.get(0));
+            copied += chunk.get(0).length;
+        }
+    }
+
+    /**
+     * Deletes the artifacts of some jobs.
+     *
+     * @param jobIds the jobs
+     * @return chunks deleted
+     */
+    public int delete(Collection<Long> jobIds) {
+        if (jobIds.isEmpty()) {
+            return 0;
+        }
+        StringBuilder sql = new StringBuilder(DELETE_SQL);
+        for (int i = 0; i < jobIds.size(); i++) {
+            sql.append(i > 0 ? ", ?" : "?");
+        }
+        return jdbc.update(sql.append(')').toString(), jobIds.toArray());
+    }
+
+    /**
+     * Buffers one chunk and inserts it when it is full or the stream is closed.
+     */
+    public final class ArtifactOutputStream extends OutputStream {
+
+        private final Long jobId;
+        private final byte[] buffer = new byte[chunkSize];
+        private int buffered;
+        private int seq;
+        private long size;
+        private boolean closed;
+
+        private ArtifactOutputStream(Long jobId) {
+            this.jobId = jobId;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (closed) {
+                throw new IOException("El artefacto del reporte " + jobId + " ya fue cerrado");
+            }
+            while (length > 0) {
+                int copied = Math.min(length, buffer.length - buffered);
+                System.arraycopy(bytes, offset, buffer, buffered, copied);
+                buffered += copied;
+                offset += copied;
+                length -= copied;
+                size += copied;
+                if (buffered == buffer.length) {
+                    writeChunk();
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                if (buffered > 0 || seq == 0) {
+                    writeChunk();
+                }
+            }
+        }
+
+        /**
+         * @return bytes written so far
+         */
+        public long size() {
+            return size;
+        }
+
+        private void writeChunk() {
+            byte[] data = new byte[buffered];
+            System.arraycopy(buffer, 0, data, 0, buffered);
+            jdbc.update(INSERT_SQL, jobId, seq++, data);
+            buffered = 0;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.project.demo.service.report;
+
+import com.bienestar.animal.reports.ReportService;
+import com.project.demo.logic.entity.report_job.ReportJob;
+import com.project.demo.logic.entity.report_job.ReportJobFormat;
+import com.project.demo.logic.entity.report_job.ReportJobRepository;
+import com.project.demo.logic.entity.report_job.ReportJobStatus;
+import com.project.demo.service.report.ReportJobArtifactStore.ArtifactOutputStream;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates reports asynchronously.
+ * <p>
+ * Jobs are persisted in {@code report_job} and executed on a bounded worker pool
+ * ({@code reports.jobs.workers} threads, {@code reports.jobs.queue-capacity} pending jobs),
+ * so long CSV/PDF generations no longer hold a request thread and survive client timeouts.
+ * Artifacts are stored in the database ({@link ReportJobArtifactStore}), so a job can be
+ * polled and downloaded through any instance, and are removed after
+ * {@code reports.jobs.retention-hours} by {@link #purgeExpired()}.
+ * <p>
+ * A job runs on the instance that accepted it, recorded as its {@code node}
+ * ({@code reports.jobs.node}, the host name by default). On startup an instance only fails
+ * its own interrupted jobs; jobs left queued or running by an instance that never came back
+ * are failed by {@link #purgeExpired()} once they are older than the retention.
+ */
+@Service
+public class ReportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobService.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final ReportJobRepository reportJobRepository;
+    private final ReportService reportService;
+    private final ReportJobArtifactStore artifactStore;
+    private final String node;
+    private final long retentionHours;
+    private final ThreadPoolExecutor workers;
+
+    public ReportJobService(
+            ReportJobRepository reportJobRepository,
+            ReportService reportService,
+            ReportJobArtifactStore artifactStore,
+            @Value("${reports.jobs.node:}") String node,
+            @Value("${reports.jobs.retention-hours:24}") long retentionHours,
+            @Value("${reports.jobs.workers:2}") int workers,
+            @Value("${reports.jobs.queue-capacity:50}") int queueCapacity
+    ) {
+        this.reportJobRepository = reportJobRepository;
+        this.reportService = reportService;
+        this.artifactStore = artifactStore;
+        this.node = node == null || node.isBlank() ? defaultNode() : node;
+        this.retentionHours = retentionHours;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "report-job-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Registers a job and queues it for execution.
+     *
+     * @param reportType  report type of {@code /reports}
+     * @param format      output format
+     * @param requestedBy email of the requesting user
+     * @return the persisted job, {@link ReportJobStatus#QUEUED} or {@link ReportJobStatus#FAILED}
+     *         when the queue is full
+     */
+    public ReportJob submit(String reportType, ReportJobFormat format, String requestedBy) {
+        ReportJob job = reportJobRepository.save(ReportJob.builder()
+                .reportType(reportType)
+                .format(format)
+                .status(ReportJobStatus.QUEUED)
+                .requestedBy(requestedBy)
+                .node(node)
+                .build());
+        Long jobId = job.getId();
+        try {
+            workers.execute(() -> run(jobId));
+            logger.info("Reporte asíncrono {} en cola: {} ({})", jobId, reportType, format);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Cola de reportes llena, rechazando trabajo {}", jobId);
+            fail(job, "La cola de reportes está llena, intente más tarde");
+        }
+        return job;
+    }
+
+    /**
+     * Finds a job of the given user.
+     *
+     * @param id          job id
+     * @param requestedBy email of the user that submitted it
+     * @return the job, or empty if it does not exist or belongs to another user
+     */
+    public Optional<ReportJob> findForUser(Long id, String requestedBy) {
+        return reportJobRepository.findById(id)
+                .filter(job -> job.getRequestedBy().equals(requestedBy));
+    }
+
+    /**
+     * Copies the artifact of a completed job to a stream.
+     *
+     * @param job the job
+     * @param out the destination, left open
+     * @throws IOException if the destination fails
+     */
+    public void writeArtifact(ReportJob job, OutputStream out) throws IOException {
+        artifactStore.copyTo(job.getId(), out);
+    }
+
+    /**
+     * Deletes the artifacts of jobs finished more than {@code reports.jobs.retention-hours} ago
+     * and marks them as {@link ReportJobStatus#EXPIRED}. Jobs still queued or running after the
+     * retention belong to an instance that stopped for good and are marked as failed.
+     * Covers the jobs of every instance, so it must run on one instance at a time.
+     *
+     * @return the number of expired jobs
+     */
+    public int purgeExpired() {
+        LocalDateTime limit = LocalDateTime.now().minusHours(retentionHours);
+        List<ReportJob> abandoned = reportJobRepository.findByStatusInAndCreatedAtBefore(
+                EnumSet.of(ReportJobStatus.QUEUED, ReportJobStatus.RUNNING), limit);
+        for (ReportJob job : abandoned) {
+            fail(job, "Interrumpido: la instancia " + job.getNode() + " no lo terminó");
+        }
+        if (!abandoned.isEmpty()) {
+            logger.warn("{} trabajos de reportes abandonados marcados como fallidos", abandoned.size());
+        }
+
+        List<ReportJob> expired = reportJobRepository.findByStatusInAndFinishedAtBefore(
+                EnumSet.of(ReportJobStatus.COMPLETED, ReportJobStatus.FAILED), limit);
+        List<Long> jobIds = new ArrayList<>(expired.size());
+        for (ReportJob job : expired) {
+            job.setStatus(ReportJobStatus.EXPIRED);
+            jobIds.add(job.getId());
+        }
+        // Expire first, so no download starts on an artifact being deleted
+        reportJobRepository.saveAll(expired);
+        artifactStore.delete(jobIds);
+        return expired.size();
+    }
+
+    /**
+     * Jobs of this instance that were queued or running when it stopped will never finish;
+     * mark them as failed so clients stop polling. Jobs of the other instances keep running.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedJobs() {
+        List<ReportJob> interrupted = reportJobRepository.findByNodeAndStatusIn(
+                node, EnumSet.of(ReportJobStatus.QUEUED, ReportJobStatus.RUNNING));
+        for (ReportJob job : interrupted) {
+            fail(job, "Interrumpido por un reinicio del servidor");
+        }
+        artifactStore.delete(interrupted.stream().map(ReportJob::getId).toList());
+        if (!interrupted.isEmpty()) {
+            logger.warn("{} trabajos de reportes interrumpidos marcados como fallidos", interrupted.size());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void run(Long jobId) {
+        ReportJob job = reportJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        job.setStatus(ReportJobStatus.RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        reportJobRepository.save(job);
+
+        try {
+            ArtifactOutputStream out = artifactStore.create(jobId);
+            try (out) {
+                switch (job.getFormat()) {
+                    case CSV -> reportService.writeCsv(job.getReportType(), out, false);
+                    case CSV_GZIP -> reportService.writeCsv(job.getReportType(), out, true);
+                    case PDF -> reportService.writePdf(job.getReportType(), out);
+                }
+            }
+
+            job.setStatus(ReportJobStatus.COMPLETED);
+            job.setFileSize(out.size());
+            job.setFinishedAt(LocalDateTime.now());
+            reportJobRepository.save(job);
+            logger.info("Reporte asíncrono {} generado ({} bytes)", jobId, job.getFileSize());
+        } catch (IOException | RuntimeException e) {
+            logger.error("Error generando el reporte asíncrono {}", jobId, e);
+            deleteQuietly(jobId);
+            fail(job, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+    }
+
+    private void fail(ReportJob job, String message) {
+        job.setStatus(ReportJobStatus.FAILED);
+        job.setErrorMessage(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+        job.setFinishedAt(LocalDateTime.now());
+        reportJobRepository.save(job);
+    }
+
+    private void deleteQuietly(Long jobId) {
+        try {
+            artifactStore.delete(List.of(jobId));
+        } catch (RuntimeException e) {
+            logger.warn("No se pudo eliminar el artefacto parcial del reporte {}", jobId, e);
+        }
+    }
+
+    private static String defaultNode() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
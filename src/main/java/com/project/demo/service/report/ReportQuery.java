@@ -0,0 +1,155 @@
+package com.project.demo.service.report;
+
+import lombok.Getter;
+
+/**
+ * Catalog of aggregate queries used by the report endpoints.
+ * <p>
+ * Each query is resolved entirely in the database with a single {@code GROUP BY}
+ * and returns one {@link ReportRow} per group, so the JSON, CSV and PDF variants of a
+ * report share the same query and never load entities into memory.
+ * <p>
+ * Most queries read the rollup tables maintained by {@link ReportRollupService}, so
+ * their cost depends on the number of groups only. {@link #STERILIZATION_BY_CANTON}
+ * matches sightings against sanitary controls by id, which the rollup does not model,
+ * so it groups the sighting ids by canton and range of 64 ids and tests each range
+ * against {@link SterilizedAnimalIndex}.
+ * <p>
+ * Every other query selects its dimensions as {@code d1..dN} followed by {@code total}.
+ */
+@Getter
+public enum ReportQuery {
+
+    /**
+     * Abandoned animals grouped by canton, species and sex.
+     */
+    ABANDONED_BY_CANTON_SPECIES_SEX(3, """
+            SELECT COALESCE(c.name, 'Sin cantón') AS d1,
+                   COALESCE(s.name, 'Sin especie') AS d2,
+                   COALESCE(x.name, 'Sin sexo') AS d3,
+                   SUM(r.total) AS total
+            FROM animal_report_rollup r
+            LEFT JOIN canton c ON c.id = r.canton_id
+            LEFT JOIN species s ON s.id = r.species_id
+            LEFT JOIN sex x ON x.id = r.sex_id
+            WHERE r.source = 'ABANDONED_ANIMAL' AND r.total > 0
+            GROUP BY d1, d2, d3
+            ORDER BY d1, d2, d3
+            """),
+
+    /**
+     * Street (abandoned) animals grouped by canton, species and sex, with blank values kept empty.
+     */
+    STREET_ANIMALS_BY_CANTON_SPECIES_SEX(3, """
+            SELECT CASE WHEN c.name IS NULL OR TRIM(c.name) = '' THEN 'Sin cantón' ELSE c.name END AS d1,
+                   COALESCE(s.name, '') AS d2,
+                   COALESCE(x.name, '') AS d3,
+                   SUM(r.total) AS total
+            FROM animal_report_rollup r
+            LEFT JOIN canton c ON c.id = r.canton_id
+            LEFT JOIN species s ON s.id = r.species_id
+            LEFT JOIN sex x ON x.id = r.sex_id
+            WHERE r.source = 'ABANDONED_ANIMAL' AND r.total > 0
+            GROUP BY d1, d2, d3
+            ORDER BY d1, d2, d3
+            """),
+
+    /**
+     * Animals grouped by owner municipality, sex and sterilization status.
+     */
+    STERILIZATION_BY_MUNICIPALITY_SEX(3, """
+            SELECT CASE WHEN m.name IS NULL OR TRIM(m.name) = '' THEN 'Sin municipalidad' ELSE m.name END AS d1,
+                   COALESCE(x.name, '') AS d2,
+                   CASE WHEN r.sterilized THEN 'Esterilizado' ELSE 'No esterilizado' END AS d3,
+                   SUM(r.total) AS total
+            FROM animal_report_rollup r
+            LEFT JOIN municipality m ON m.id = r.municipality_id
+            LEFT JOIN sex x ON x.id = r.sex_id
+            WHERE r.source = 'OWNED_ANIMAL' AND r.total > 0
+            GROUP BY d1, d2, d3
+            ORDER BY d1, d2, d3
+            """),
+
+    /**
+     * Abandoned animals grouped by canton and sterilization status.
+     * <p>
+     * The query groups the sightings by canton and range of 64 consecutive ids, with the ids
+     * of each group as a bit mask ({@code ids}, bit {@code i} for {@code first_id + i}), ordered
+     * by canton; the sterilization status of each range is resolved against
+     * {@link SterilizedAnimalIndex} and the groups are counted by {@link ReportQueryService}.
+     */
+    STERILIZATION_BY_CANTON(2, """
+            SELECT CASE WHEN c.name IS NULL OR TRIM(c.name) = '' THEN 'Sin cantón' ELSE c.name END AS d1,
+                   g.first_id,
+                   g.ids
+            FROM (
+                SELECT aa.canton_id,
+                       aa.id DIV 64 * 64 AS first_id,
+                       CAST(BIT_OR(1 << (aa.id MOD 64)) AS SIGNED) AS ids
+                FROM abandoned_animal aa
+                GROUP BY aa.canton_id, first_id
+            ) g
+            LEFT JOIN canton c ON c.id = g.canton_id
+            ORDER BY d1
+            """),
+
+    /**
+     * Pets, abandoned animals and community animals grouped by municipality, species and sex.
+     * <p>
+     * Pets are attributed to the owner's municipality, abandoned animals to the municipality of the
+     * census user who registered them and community animals to the municipality of their user.
+     */
+    ANIMALS_BY_MUNICIPALITY_SPECIES_SEX(3, """
+            SELECT CASE WHEN m.name IS NULL OR TRIM(m.name) = '' THEN 'Sin municipalidad' ELSE m.name END AS d1,
+                   COALESCE(s.name, '') AS d2,
+                   COALESCE(x.name, '') AS d3,
+                   SUM(r.total) AS total
+            FROM animal_report_rollup r
+            LEFT JOIN municipality m ON m.id = r.municipality_id
+            LEFT JOIN species s ON s.id = r.species_id
+            LEFT JOIN sex x ON x.id = r.sex_id
+            WHERE r.total > 0
+            GROUP BY d1, d2, d3
+            ORDER BY d1, d2, d3
+            """),
+
+    /**
+     * Animals with an owner that belongs to a municipality, grouped by municipality and sterilization status.
+     */
+    OWNED_ANIMALS_BY_MUNICIPALITY_STERILIZATION(2, """
+            SELECT m.name AS d1,
+                   CASE WHEN r.sterilized THEN 'Esterilizado' ELSE 'No esterilizado' END AS d2,
+                   SUM(r.total) AS total
+            FROM animal_report_rollup r
+            JOIN municipality m ON m.id = r.municipality_id
+            WHERE r.source = 'OWNED_ANIMAL' AND r.total > 0
+            GROUP BY d1, d2
+            ORDER BY d1, d2
+            """),
+
+    /**
+     * Complaints grouped by complaint type.
+     */
+    COMPLAINTS_BY_TYPE(1, """
+            SELECT t.name AS d1,
+                   SUM(r.total) AS total
+            FROM complaint_report_rollup r
+            JOIN complaint_type t ON t.id = r.complaint_type_id
+            WHERE r.total > 0
+            GROUP BY d1
+            ORDER BY d1
+            """);
+
+    /**
+     * Identifier of the "Esterilización" sanitary control type.
+     */
+    public static final long STERILIZATION_CONTROL_TYPE_ID = 3L;
+
+    private final int dimensions;
+    private final String sql;
+
+    ReportQuery(int dimensions, String sql) {
+        this.dimensions = dimensions;
+        this.sql = sql;
+    }
+}
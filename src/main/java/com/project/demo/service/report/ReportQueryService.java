@@ -0,0 +1,128 @@
+package com.project.demo.service.report;
+
+import com.project.demo.common.JdbcStreamingUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Executes the aggregate queries declared in {@link ReportQuery}.
+ * <p>
+ * Grouping happens in the database, so each report costs a single query whose
+ * result size depends on the number of groups instead of the number of animals.
+ * The exception is {@link ReportQuery#STERILIZATION_BY_CANTON}, whose groups of sighting
+ * ids are counted here against {@link SterilizedAnimalIndex}.
+ */
+@Service
+public class ReportQueryService {
+
+    private static final String STERILIZED = "Esterilizado";
+    private static final String NOT_STERILIZED = "No esterilizado";
+
+    private final JdbcTemplate jdbc;
+    private final ReportCache reportCache;
+    private final SterilizedAnimalIndex sterilizedAnimalIndex;
+
+    public ReportQueryService(JdbcTemplate jdbc, ReportCache reportCache, SterilizedAnimalIndex sterilizedAnimalIndex) {
+        this.jdbc = jdbc;
+        this.reportCache = reportCache;
+        this.sterilizedAnimalIndex = sterilizedAnimalIndex;
+    }
+
+    /**
+     * Runs the given aggregate query, or returns its cached result.
+     *
+     * @param query the report query to execute
+     * @return one row per group, ordered by its dimensions
+     */
+    public List<ReportRow> fetch(ReportQuery query) {
+        return reportCache.get(cacheKey(query), () -> query == ReportQuery.STERILIZATION_BY_CANTON
+                ? countSterilizationByCanton()
+                : jdbc.query(query.getSql(), (rs, i) -> mapRow(rs, query.getDimensions())));
+    }
+
+    /**
+     * Runs the given aggregate query over a forward-only cursor and hands each row
+     * to the consumer as soon as it is read, without collecting the result.
+     * A result already cached by {@link #fetch(ReportQuery)} is replayed instead.
+     *
+     * @param query    the report query to execute
+     * @param consumer callback invoked once per group, in order
+     * @return the number of rows streamed
+     */
+    public long stream(ReportQuery query, Consumer<ReportRow> consumer) {
+        List<ReportRow> cached = reportCache.getIfPresent(cacheKey(query));
+        if (cached != null) {
+            cached.forEach(consumer);
+            return cached.size();
+        }
+        if (query == ReportQuery.STERILIZATION_BY_CANTON) {
+            List<ReportRow> rows = fetch(query);
+            rows.forEach(consumer);
+            return rows.size();
+        }
+        long[] streamed = {0};
+        jdbc.query(JdbcStreamingUtils.forwardOnly(query.getSql()), (RowCallbackHandler) rs -> {
+            consumer.accept(mapRow(rs, query.getDimensions()));
+            streamed[0]++;
+        });
+        return streamed[0];
+    }
+
+    /**
+     * Streams the groups of sighting ids ordered by canton and counts, per canton, the ids
+     * in the sterilized index. The result has at most two rows per canton, in the same order
+     * as {@code GROUP BY d1, d2}.
+     */
+    private List<ReportRow> countSterilizationByCanton() {
+        List<ReportRow> rows = new ArrayList<>();
+        String[] canton = {null};
+        long[] counts = new long[2];
+        jdbc.query(JdbcStreamingUtils.forwardOnly(ReportQuery.STERILIZATION_BY_CANTON.getSql()), (RowCallbackHandler) rs -> {
+            String current = rs.getString("d1");
+            if (canton[0] != null && !canton[0].equals(current)) {
+                addSterilizationRows(rows, canton[0], counts);
+            }
+            canton[0] = current;
+            long firstId = rs.getLong("first_id");
+            long ids = rs.getLong("ids");
+            int sterilized = sterilizedAnimalIndex.countSterilized(firstId, ids);
+            counts[0] += sterilized;
+            counts[1] += Long.bitCount(ids) - sterilized;
+        });
+        if (canton[0] != null) {
+            addSterilizationRows(rows, canton[0], counts);
+        }
+        return rows;
+    }
+
+    private static void addSterilizationRows(List<ReportRow> rows, String canton, long[] counts) {
+        if (counts[0] > 0) {
+            rows.add(new ReportRow(List.of(canton, STERILIZED), counts[0]));
+        }
+        if (counts[1] > 0) {
+            rows.add(new ReportRow(List.of(canton, NOT_STERILIZED), counts[1]));
+        }
+        counts[0] = 0;
+        counts[1] = 0;
+    }
+
+    private static ReportCacheKey cacheKey(ReportQuery query) {
+        return ReportCacheKey.of("query", query.name());
+    }
+
+    private ReportRow mapRow(ResultSet rs, int dimensions) throws SQLException {
+        List<String> values = new ArrayList<>(dimensions);
+        for (int i = 1; i <= dimensions; i++) {
+            String value = rs.getString("d" + i);
+            values.add(value != null ? value : "");
+        }
+        return new ReportRow(values, rs.getLong("total"));
+    }
+}
@@ -0,0 +1,49 @@
+package com.project.demo.service.report;
+
+import com.project.demo.service.heatmap.GeoHeatmapService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backfills the report rollup tables and the heatmap grid index at startup.
+ * <p>
+ * Each of them is rebuilt when the application is started with
+ * {@code --rebuild-report-rollups}, or automatically when it has never been populated
+ * (first deployment of its tables).
+ */
+@Component
+public class ReportRollupRebuildRunner implements ApplicationRunner {
+
+    static final String REBUILD_OPTION = "rebuild-report-rollups";
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportRollupRebuildRunner.class);
+
+    private final ReportRollupService reportRollupService;
+    private final GeoHeatmapService geoHeatmapService;
+
+    public ReportRollupRebuildRunner(ReportRollupService reportRollupService, GeoHeatmapService geoHeatmapService) {
+        this.reportRollupService = reportRollupService;
+        this.geoHeatmapService = geoHeatmapService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption(REBUILD_OPTION)) {
+            logger.info("Reconstruyendo rollups de reportes (--{})", REBUILD_OPTION);
+            reportRollupService.rebuild();
+            geoHeatmapService.rebuild();
+            return;
+        }
+        if (reportRollupService.isEmpty()) {
+            logger.info("Rollups de reportes vacíos, ejecutando backfill inicial");
+            reportRollupService.rebuild();
+        }
+        if (geoHeatmapService.isEmpty()) {
+            logger.info("Índice del mapa de calor vacío, ejecutando backfill inicial");
+            geoHeatmapService.rebuild();
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.project.demo.service.report;
+
+import com.project.demo.logic.entity.complaint.Complaint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Maintains the report rollup tables ({@code animal_report_rollup} and
+ * {@code complaint_report_rollup}).
+ * <p>
+ * The write paths that change report counts call this service right after saving,
+ * so each registration costs a single upsert on a tiny table and the report queries
+ * in {@link ReportQuery} read O(groups) rows instead of scanning every animal.
+ * Row sources are the names of {@link com.project.demo.logic.entity.report_rollup.AnimalRollupSource}.
+ * Every change publishes a {@link ReportDataChangedEvent}; sterilization changes also
+ * publish a {@link SterilizationChangedEvent} for {@link SterilizedAnimalIndex}.
+ * Counts that drift (for example after an owner moves to another municipality) are
+ * corrected by {@link #rebuild()}.
+ */
+@Service
+public class ReportRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportRollupService.class);
+
+    private static final String STERILIZED_EXPRESSION = """
+            EXISTS (SELECT 1 FROM sanitary_control sc
+                    WHERE sc.animal_id = a.id AND sc.sanitary_control_type_id = %d)
+            """.formatted(ReportQuery.STERILIZATION_CONTROL_TYPE_ID);
+
+    private static final String ANIMAL_ROLLUP_COLUMNS =
+            "source, municipality_id, canton_id, district_id, species_id, sex_id, sterilized, period_month, total";
+
+    private static final String UPSERT = " ON DUPLICATE KEY UPDATE total = total + VALUES(total)";
+
+    /**
+     * Owned animals: the rows of {@code animal} that are not community animals (a joined
+     * subclass, also stored in {@code animal}), attributed to the owner's municipality and district.
+     * Placeholders: sterilized expression, total expression, extra clauses after the {@code WHERE}.
+     */
+    private static final String OWNED_ANIMAL_SELECT = """
+            SELECT 'OWNED_ANIMAL', COALESCE(m.id, 0), COALESCE(m.canton_id, 0), COALESCE(n.district_id, 0),
+                   a.species_id, COALESCE(a.sex_id, 0),
+                   %s, DATE_FORMAT(COALESCE(a.created_at, NOW()), '%%Y-%%m-01'), %s
+            FROM animal a
+            LEFT JOIN community_animal ca ON ca.id = a.id
+            LEFT JOIN `user` o ON o.id = a.owner_id
+            LEFT JOIN municipality m ON m.id = o.municipality_id
+            LEFT JOIN neighborhood n ON n.id = o.neighborhood_id
+            WHERE ca.id IS NULL
+            %s
+            """;
+
+    /**
+     * Community animals, attributed to the municipality and district of their user.
+     * Placeholders: sterilized expression, total expression, extra clauses.
+     */
+    private static final String COMMUNITY_ANIMAL_SELECT = """
+            SELECT 'COMMUNITY_ANIMAL', COALESCE(m.id, 0), COALESCE(m.canton_id, 0), COALESCE(n.district_id, 0),
+                   a.species_id, COALESCE(a.sex_id, 0),
+                   %s, DATE_FORMAT(COALESCE(ca.created_at, a.created_at, NOW()), '%%Y-%%m-01'), %s
+            FROM community_animal ca
+            JOIN animal a ON a.id = ca.id
+            LEFT JOIN `user` u ON u.id = ca.owner_user_id
+            LEFT JOIN municipality m ON m.id = u.municipality_id
+            LEFT JOIN neighborhood n ON n.id = u.neighborhood_id
+            %s
+            """;
+
+    /**
+     * Abandoned animals, attributed to the census user's municipality and to their canton.
+     * Their district is free text, matched by name against the districts of the canton.
+     * Placeholders: total expression, extra clauses.
+     */
+    private static final String ABANDONED_ANIMAL_SELECT = """
+            SELECT 'ABANDONED_ANIMAL', COALESCE(m.id, 0), COALESCE(aa.canton_id, 0),
+                   COALESCE((SELECT MIN(d.id) FROM district d WHERE d.canton_id = aa.canton_id AND d.name = aa.district), 0),
+                   aa.species_id, COALESCE(aa.sex_id, 0),
+                   FALSE, DATE_FORMAT(COALESCE(aa.created_at, NOW()), '%%Y-%%m-01'), %s
+            FROM abandoned_animal aa
+            LEFT JOIN `user` u ON u.id = aa.created_by
+            LEFT JOIN municipality m ON m.id = u.municipality_id
+            %s
+            """;
+
+    private static final String GROUP_BY_KEY = "GROUP BY 1, 2, 3, 4, 5, 6, 7, 8";
+
+    private final JdbcTemplate jdbc;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SterilizedAnimalIndex sterilizedAnimalIndex;
+
+    public ReportRollupService(JdbcTemplate jdbc, ApplicationEventPublisher eventPublisher,
+                               SterilizedAnimalIndex sterilizedAnimalIndex) {
+        this.jdbc = jdbc;
+        this.eventPublisher = eventPublisher;
+        this.sterilizedAnimalIndex = sterilizedAnimalIndex;
+    }
+
+    /**
+     * Counts a newly saved animal, as an owned or as a community animal. An animal saved
+     * with a sterilization control is also published as sterilized.
+     *
+     * @param animalId id of the saved animal
+     */
+    @Transactional
+    public void animalCreated(Long animalId) {
+        applyAnimal(animalId, STERILIZED_EXPRESSION, 1);
+        if (isSterilized(animalId)) {
+            publishSterilizationChanged(animalId, true);
+        }
+        eventPublisher.publishEvent(new ReportDataChangedEvent(ReportDataFamily.ANIMALS, "animal " + animalId));
+    }
+
+    /**
+     * Counts a newly saved abandoned animal sighting.
+     *
+     * @param abandonedAnimalId id of the saved sighting
+     */
+    @Transactional
+    public void abandonedAnimalCreated(Long abandonedAnimalId) {
+        jdbc.update(insertAnimalRollup(ABANDONED_ANIMAL_SELECT.formatted("?", "WHERE aa.id = ?")), 1, abandonedAnimalId);
+        eventPublisher.publishEvent(new ReportDataChangedEvent(ReportDataFamily.ANIMALS, "abandoned animal " + abandonedAnimalId));
+    }
+
+    /**
+     * Reads the current sterilization status of an animal. Call it before changing its
+     * sanitary controls and pass the result to {@link #sterilizationChanged(Long, boolean)}.
+     *
+     * @param animalId the animal id
+     * @return whether the animal has a sterilization control
+     */
+    public boolean isSterilized(Long animalId) {
+        Boolean sterilized = jdbc.queryForObject("""
+                SELECT EXISTS (SELECT 1 FROM sanitary_control sc
+                               WHERE sc.animal_id = ? AND sc.sanitary_control_type_id = ?)
+                """, Boolean.class, animalId, ReportQuery.STERILIZATION_CONTROL_TYPE_ID);
+        return Boolean.TRUE.equals(sterilized);
+    }
+
+    /**
+     * Moves an animal between the sterilized and non-sterilized groups when one of its
+     * sanitary controls was created, updated or deleted. Does nothing if the status did not change.
+     *
+     * @param animalId          the animal id
+     * @param sterilizedBefore  status returned by {@link #isSterilized(Long)} before the change
+     */
+    @Transactional
+    public void sterilizationChanged(Long animalId, boolean sterilizedBefore) {
+        if (isSterilized(animalId) == sterilizedBefore) {
+            return;
+        }
+        String before = sterilizedBefore ? "TRUE" : "FALSE";
+        String after = sterilizedBefore ? "FALSE" : "TRUE";
+        applyAnimal(animalId, before, -1);
+        applyAnimal(animalId, after, 1);
+        publishSterilizationChanged(animalId, !sterilizedBefore);
+        eventPublisher.publishEvent(new ReportDataChangedEvent(ReportDataFamily.ANIMALS, "sterilization of animal " + animalId));
+    }
+
+    /**
+     * Publishes a sterilization change for {@link SterilizedAnimalIndex}: the event updates the
+     * index of this instance and the {@link ReportDataFamily#STERILIZATION} version makes the
+     * other instances reload theirs. The report cache is left to the animals event of the same write.
+     */
+    private void publishSterilizationChanged(Long animalId, boolean sterilized) {
+        eventPublisher.publishEvent(new SterilizationChangedEvent(animalId, sterilized));
+        eventPublisher.publishEvent(new ReportDataChangedEvent(ReportDataFamily.STERILIZATION,
+                "sterilization of animal " + animalId, List.of()));
+    }
+
+    /**
+     * Counts a newly created complaint.
+     *
+     * @param complaint the saved complaint
+     */
+    @Transactional
+    public void complaintCreated(Complaint complaint) {
+        applyComplaint(ComplaintRollupKey.of(complaint), 1);
+        eventPublisher.publishEvent(new ReportDataChangedEvent(ReportDataFamily.COMPLAINTS, "complaint created"));
+    }
+
+    /**
+     * Moves a complaint to another group after its type or state changed.
+     * Does nothing if the group did not change.
+     *
+     * @param before    {@link ComplaintRollupKey#of(Complaint)} taken before the change
+     * @param complaint the complaint after the change
+     */
+    @Transactional
+    public void complaintChanged(ComplaintRollupKey before, Complaint complaint) {
+        ComplaintRollupKey after = ComplaintRollupKey.of(complaint);
+        if (after.equals(before)) {
+            return;
+        }
+        applyComplaint(before, -1);
+        applyComplaint(after, 1);
+        eventPublisher.publishEvent(new ReportDataChangedEvent(ReportDataFamily.COMPLAINTS, "complaint changed"));
+    }
+
+    /**
+     * Recomputes both rollup tables from the source tables. Intended for backfills and
+     * for correcting drift; writes that happen while it runs may need another rebuild.
+     */
+    @Transactional
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        jdbc.update("DELETE FROM animal_report_rollup");
+        jdbc.update("DELETE FROM complaint_report_rollup");
+        int owned = jdbc.update(insertAnimalRollup(OWNED_ANIMAL_SELECT.formatted(STERILIZED_EXPRESSION, "COUNT(*)", GROUP_BY_KEY)));
+        int community = jdbc.update(insertAnimalRollup(COMMUNITY_ANIMAL_SELECT.formatted(STERILIZED_EXPRESSION, "COUNT(*)", GROUP_BY_KEY)));
+        int abandoned = jdbc.update(insertAnimalRollup(ABANDONED_ANIMAL_SELECT.formatted("COUNT(*)", GROUP_BY_KEY)));
+        int complaints = jdbc.update("""
+                INSERT INTO complaint_report_rollup (complaint_type_id, complaint_state_id, municipality_id, period_month, total)
+                SELECT c.complaint_type_id, c.complaint_state_id, COALESCE(u.municipality_id, 0),
+                       DATE_FORMAT(COALESCE(c.created_at, NOW()), '%Y-%m-01'), COUNT(*)
+                FROM complaint c
+                LEFT JOIN `user` u ON u.id = c.user_id
+                GROUP BY 1, 2, 3, 4
+                """);
+        logger.info("Rollups de reportes reconstruidos en {} ms: {} grupos de mascotas, {} comunitarios, {} abandonados, {} de denuncias",
+                System.currentTimeMillis() - start, owned, community, abandoned, complaints);
+        sterilizedAnimalIndex.invalidate();
+        eventPublisher.publishEvent(new ReportDataChangedEvent(ReportDataFamily.ANIMALS, "rollup rebuild"));
+        eventPublisher.publishEvent(new ReportDataChangedEvent(ReportDataFamily.COMPLAINTS, "rollup rebuild"));
+    }
+
+    /**
+     * @return whether the animal rollup has never been populated
+     */
+    public boolean isEmpty() {
+        Integer rows = jdbc.queryForObject("SELECT COUNT(*) FROM (SELECT 1 FROM animal_report_rollup LIMIT 1) r", Integer.class);
+        return rows == null || rows == 0;
+    }
+
+    private void applyAnimal(Long animalId, String sterilizedExpression, int delta) {
+        jdbc.update(insertAnimalRollup(OWNED_ANIMAL_SELECT.formatted(sterilizedExpression, "?", "AND a.id = ?")), delta, animalId);
+        jdbc.update(insertAnimalRollup(COMMUNITY_ANIMAL_SELECT.formatted(sterilizedExpression, "?", "WHERE ca.id = ?")), delta, animalId);
+    }
+
+    private void applyComplaint(ComplaintRollupKey key, int delta) {
+        jdbc.update("""
+                INSERT INTO complaint_report_rollup (complaint_type_id, complaint_state_id, municipality_id, period_month, total)
+                VALUES (?, ?, ?, ?, ?)
+                """ + UPSERT, key.complaintTypeId(), key.complaintStateId(), key.municipalityId(), key.periodMonth(), delta);
+    }
+
+    private static String insertAnimalRollup(String select) {
+        return "INSERT INTO animal_report_rollup (" + ANIMAL_ROLLUP_COLUMNS + ") " + select + UPSERT;
+    }
+}
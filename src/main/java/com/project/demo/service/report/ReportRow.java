@@ -0,0 +1,25 @@
+package com.project.demo.service.report;
+
+import java.util.List;
+
+/**
+ * Flat aggregate row produced by a report query.
+ * <p>
+ * Holds the group-by values in the same order the query declares them
+ * (e.g. municipality, species, sex) plus the number of records in that group.
+ *
+ * @param dimensions group-by values, never {@code null} (missing values are mapped to "")
+ * @param count      number of records in the group
+ */
+public record ReportRow(List<String> dimensions, long count) {
+
+    /**
+     * Returns the group-by value at the given position.
+     *
+     * @param index zero-based position of the dimension
+     * @return the dimension value
+     */
+    public String dimension(int index) {
+        return dimensions.get(index);
+    }
+}
@@ -0,0 +1,11 @@
+package com.project.demo.service.report;
+
+/**
+ * Published when the sterilization status of an animal changes because one of its
+ * sanitary controls was created, updated or deleted.
+ *
+ * @param animalId   the animal id
+ * @param sterilized whether the animal has a sterilization control after the change
+ */
+public record SterilizationChangedEvent(long animalId, boolean sterilized) {
+}
@@ -0,0 +1,293 @@
+package com.project.demo.service.report;
+
+import com.project.demo.common.JdbcStreamingUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory index of the animals that have a sterilization sanitary control.
+ * <p>
+ * Membership is kept in a {@link BitSet} keyed by animal id, so the whole index costs
+ * one bit per id (about 125 KB per million animals) and lookups neither hydrate
+ * entities nor box ids. It is loaded lazily on first use from an id-only projection
+ * of {@code sanitary_control} and then kept current by {@link SterilizationChangedEvent}s,
+ * applied once the transaction that changed the sanitary control has committed.
+ * Events only reach the instance that made the change, so the index also remembers the
+ * {@link ReportDataFamily#STERILIZATION sterilization} version it was loaded at: at most every
+ * {@code reports.sterilized-index.refresh-seconds} a lookup compares it with the stored
+ * version and, if a sterilization changed anywhere in the cluster since, reloads the index in that
+ * lookup while the other lookups keep reading the current one. Under constant writes the
+ * index is therefore reloaded at most once per interval.
+ * Ids beyond the {@code int} range, which identity columns do not reach in practice,
+ * are kept in a small overflow set.
+ */
+@Component
+public class SterilizedAnimalIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SterilizedAnimalIndex.class);
+
+    private static final String STERILIZED_IDS_SQL = """
+            SELECT DISTINCT sc.animal_id
+            FROM sanitary_control sc
+            WHERE sc.sanitary_control_type_id = ? AND sc.animal_id IS NOT NULL
+            """;
+
+    private final Consumer<LongConsumer> idSource;
+    private final LongSupplier versionSource;
+    private final LongSupplier clock;
+    private final long refreshMillis;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final BitSet bits = new BitSet();
+    private final Set<Long> overflow = new HashSet<>();
+    private final AtomicLong nextCheck = new AtomicLong();
+    private volatile boolean loaded;
+    private long loadedVersion;
+
+    /**
+     * Changes applied while a reload runs, replayed on the reloaded index; {@code null} when no reload runs.
+     */
+    private List<SterilizationChangedEvent> changesDuringReload;
+
+    @Autowired
+    public SterilizedAnimalIndex(
+            JdbcTemplate jdbc,
+            ReportDataVersion reportDataVersion,
+            @Value("${reports.sterilized-index.refresh-seconds:60}") long refreshSeconds
+    ) {
+        this(sink -> jdbc.query(
+                        JdbcStreamingUtils.forwardOnly(STERILIZED_IDS_SQL, ReportQuery.STERILIZATION_CONTROL_TYPE_ID),
+                        (RowCallbackHandler) rs -> sink.accept(rs.getLong(1))),
+                () -> reportDataVersion.current(ReportDataFamily.STERILIZATION), System::currentTimeMillis, refreshSeconds * 1000);
+    }
+
+    /**
+     * @param idSource      feeds every sterilized animal id to the given sink
+     * @param versionSource current {@link ReportDataFamily#STERILIZATION sterilization} version
+     * @param clock         current time in milliseconds
+     * @param refreshMillis minimum time between two version checks
+     */
+    SterilizedAnimalIndex(Consumer<LongConsumer> idSource, LongSupplier versionSource, LongSupplier clock, long refreshMillis) {
+        this.idSource = idSource;
+        this.versionSource = versionSource;
+        this.clock = clock;
+        this.refreshMillis = Math.max(0, refreshMillis);
+    }
+
+    /**
+     * @param animalId the animal id
+     * @return whether the animal has a sterilization control
+     */
+    public boolean contains(long animalId) {
+        ensureLoaded();
+        refreshIfStale();
+        lock.readLock().lock();
+        try {
+            return fitsBitSet(animalId) ? bits.get((int) animalId) : overflow.contains(animalId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the sterilized animals of a range of 64 consecutive ids.
+     *
+     * @param firstId first id of the range
+     * @param ids     ids of the range to test, bit {@code i} standing for {@code firstId + i}
+     * @return how many of those ids are sterilized animals
+     */
+    public int countSterilized(long firstId, long ids) {
+        ensureLoaded();
+        refreshIfStale();
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            for (long remaining = ids; remaining != 0; remaining &= remaining - 1) {
+                long animalId = firstId + Long.numberOfTrailingZeros(remaining);
+                if (fitsBitSet(animalId) ? bits.get((int) animalId) : overflow.contains(animalId)) {
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of sterilized animals
+     */
+    public int size() {
+        ensureLoaded();
+        refreshIfStale();
+        lock.readLock().lock();
+        try {
+            return bits.cardinality() + overflow.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a committed sterilization change. Writes outside a transaction apply immediately.
+     *
+     * @param event the change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSterilizationChanged(SterilizationChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                set(bits, overflow, event.animalId(), event.sterilized());
+            }
+            if (changesDuringReload != null) {
+                changesDuringReload.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Discards the index; the next lookup reloads it from the database.
+     */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+            bits.clear();
+            overflow.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            // Read before loading: a change committed during the load moves the version again
+            long version = versionSource.getAsLong();
+            idSource.accept(animalId -> set(bits, overflow, animalId, true));
+            loadedVersion = version;
+            nextCheck.set(clock.getAsLong() + refreshMillis);
+            loaded = true;
+            logger.info("Índice de animales esterilizados cargado en {} ms: {} animales",
+                    System.currentTimeMillis() - start, bits.cardinality() + overflow.size());
+        } catch (RuntimeException e) {
+            bits.clear();
+            overflow.clear();
+            throw e;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reloads the index if the report data changed since it was loaded, checking at most
+     * once per refresh interval; a single caller performs the check and the reload.
+     */
+    private void refreshIfStale() {
+        long now = clock.getAsLong();
+        long due = nextCheck.get();
+        if (now < due || !nextCheck.compareAndSet(due, now + refreshMillis)) {
+            return;
+        }
+        try {
+            long version = versionSource.getAsLong();
+            lock.readLock().lock();
+            try {
+                if (version == loadedVersion) {
+                    return;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            reload(version);
+        } catch (RuntimeException e) {
+            logger.warn("No se pudo refrescar el índice de animales esterilizados, se mantiene el actual", e);
+        }
+    }
+
+    private void reload(long version) {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            changesDuringReload = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        BitSet reloadedBits = new BitSet();
+        Set<Long> reloadedOverflow = new HashSet<>();
+        try {
+            idSource.accept(animalId -> set(reloadedBits, reloadedOverflow, animalId, true));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringReload = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                // Invalidated meanwhile; the next lookup loads it again
+                changesDuringReload = null;
+                return;
+            }
+            for (SterilizationChangedEvent change : changesDuringReload) {
+                set(reloadedBits, reloadedOverflow, change.animalId(), change.sterilized());
+            }
+            changesDuringReload = null;
+            bits.clear();
+            bits.or(reloadedBits);
+            overflow.clear();
+            overflow.addAll(reloadedOverflow);
+            loadedVersion = version;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Índice de animales esterilizados recargado (versión {}) en {} ms",
+                version, System.currentTimeMillis() - start);
+    }
+
+    private static void set(BitSet bits, Set<Long> overflow, long animalId, boolean sterilized) {
+        if (fitsBitSet(animalId)) {
+            bits.set((int) animalId, sterilized);
+        } else if (sterilized) {
+            overflow.add(animalId);
+        } else {
+            overflow.remove(animalId);
+        }
+    }
+
+    private static boolean fitsBitSet(long animalId) {
+        return animalId >= 0 && animalId < Integer.MAX_VALUE;
+    }
+}
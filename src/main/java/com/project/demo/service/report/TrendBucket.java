@@ -0,0 +1,20 @@
+package com.project.demo.service.report;
+
+import lombok.Getter;
+
+/**
+ * Time buckets of the abandonment trend. Each bucket is labelled with its first day,
+ * formatted as {@code yyyy-MM-dd}; weeks start on Monday.
+ */
+@Getter
+public enum TrendBucket {
+    DAY("DATE_FORMAT(aa.created_at, '%Y-%m-%d')"),
+    WEEK("DATE_FORMAT(DATE_SUB(DATE(aa.created_at), INTERVAL WEEKDAY(aa.created_at) DAY), '%Y-%m-%d')"),
+    MONTH("DATE_FORMAT(aa.created_at, '%Y-%m-01')");
+
+    private final String expression;
+
+    TrendBucket(String expression) {
+        this.expression = expression;
+    }
+}
@@ -0,0 +1,25 @@
+package com.project.demo.service.report;
+
+import lombok.Getter;
+
+/**
+ * Optional second dimension of the abandonment trend.
+ */
+@Getter
+public enum TrendGrouping {
+    NONE(null, ""),
+    SPECIES("COALESCE(s.name, 'Sin especie')", " LEFT JOIN species s ON s.id = aa.species_id "),
+    DISTRICT("aa.district", ""),
+    CANTON("COALESCE(c.name, 'Sin cantón')", " LEFT JOIN canton c ON c.id = aa.canton_id ");
+
+    /**
+     * Select expression of the group, {@code null} when not grouped.
+     */
+    private final String expression;
+    private final String join;
+
+    TrendGrouping(String expression, String join) {
+        this.expression = expression;
+        this.join = join;
+    }
+}
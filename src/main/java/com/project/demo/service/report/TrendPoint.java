@@ -0,0 +1,11 @@
+package com.project.demo.service.report;
+
+/**
+ * One point of the abandonment trend.
+ *
+ * @param period first day of the bucket, {@code yyyy-MM-dd}
+ * @param group  value of the grouping dimension, {@code null} when not grouped
+ * @param total  number of sightings in the bucket and group
+ */
+public record TrendPoint(String period, String group, long total) {
+}
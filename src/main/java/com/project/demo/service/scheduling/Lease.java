@@ -0,0 +1,11 @@
+package com.project.demo.service.scheduling;
+
+/**
+ * Lease held by this instance on a scheduled job.
+ *
+ * @param name         the job name
+ * @param owner        id of the holding instance
+ * @param fencingToken token of this acquisition; any later acquisition has a greater one
+ */
+public record Lease(String name, String owner, long fencingToken) {
+}
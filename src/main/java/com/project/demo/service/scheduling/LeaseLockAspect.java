@@ -0,0 +1,49 @@
+package com.project.demo.service.scheduling;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Runs the methods annotated with {@link LeaseLocked} only on the instance that acquires
+ * their lease. It wraps any transaction of the method, so the lease is acquired before the
+ * transaction starts and released after it commits.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class LeaseLockAspect {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaseLockAspect.class);
+
+    private final LeaseLockService leaseLockService;
+
+    public LeaseLockAspect(LeaseLockService leaseLockService) {
+        this.leaseLockService = leaseLockService;
+    }
+
+    @Around("@annotation(leaseLocked)")
+    public Object runWithLease(ProceedingJoinPoint joinPoint, LeaseLocked leaseLocked) throws Throwable {
+        Optional<Lease> lease = leaseLockService.tryAcquire(leaseLocked.name(), Duration.ofSeconds(leaseLocked.leaseSeconds()));
+        if (lease.isEmpty()) {
+            logger.debug("Tarea {} omitida: otra instancia tiene el lease", leaseLocked.name());
+            return null;
+        }
+        logger.debug("Lease {} adquirido por {} (token {})", leaseLocked.name(), lease.get().owner(), lease.get().fencingToken());
+        leaseLockService.bind(lease.get());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            leaseLockService.unbind();
+            leaseLockService.release(lease.get(), Duration.ofSeconds(leaseLocked.minHoldSeconds()));
+        }
+    }
+}
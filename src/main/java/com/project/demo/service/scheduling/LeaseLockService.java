@@ -0,0 +1,183 @@
+package com.project.demo.service.scheduling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Database-backed leases on the {@code scheduler_lease} table, so that every instance
+ * behind the load balancer can run the same schedulers while each job runs on one of them.
+ * <p>
+ * Acquiring is a single conditional update that only succeeds when the current lease
+ * expired, and expiry is evaluated with the database clock, so it does not depend on
+ * the clocks of the instances. Every acquisition increments the fencing token: a holder
+ * that stalled past its lease calls {@link #assertHeld()} before writing and finds out
+ * it was taken over.
+ */
+@Service
+public class LeaseLockService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaseLockService.class);
+
+    private static final String TAKE_OVER_SQL = """
+            UPDATE scheduler_lease
+            SET owner = ?, lease_until = TIMESTAMPADD(SECOND, ?, LOCALTIMESTAMP),
+                acquired_at = LOCALTIMESTAMP, fencing_token = fencing_token + 1
+            WHERE name = ? AND lease_until <= LOCALTIMESTAMP
+            """;
+
+    private static final String CREATE_SQL = """
+            INSERT INTO scheduler_lease (name, owner, lease_until, acquired_at, fencing_token)
+            SELECT ?, ?, TIMESTAMPADD(SECOND, ?, LOCALTIMESTAMP), LOCALTIMESTAMP, 1
+            FROM (SELECT 1 AS one) seed
+            WHERE NOT EXISTS (SELECT 1 FROM scheduler_lease WHERE name = ?)
+            """;
+
+    private static final String RELEASE_SQL = """
+            UPDATE scheduler_lease
+            SET lease_until = GREATEST(TIMESTAMPADD(SECOND, ?, acquired_at), LOCALTIMESTAMP)
+            WHERE name = ? AND owner = ? AND fencing_token = ?
+            """;
+
+    private static final String HELD_SQL = """
+            SELECT fencing_token FROM scheduler_lease
+            WHERE name = ? AND owner = ? AND lease_until > LOCALTIMESTAMP
+            """;
+
+    private final ThreadLocal<Lease> currentLease = new ThreadLocal<>();
+    private final JdbcTemplate jdbc;
+    private final String owner;
+
+    public LeaseLockService(JdbcTemplate jdbc, @Value("${scheduling.lease.owner:}") String owner) {
+        this.jdbc = jdbc;
+        this.owner = owner.isBlank() ? defaultOwner() : owner;
+    }
+
+    /**
+     * Acquires a lease if no other instance holds it.
+     *
+     * @param name     the job name
+     * @param leaseFor how long the lease lasts if it is never released
+     * @return the lease, or empty if another instance holds it
+     */
+    public Optional<Lease> tryAcquire(String name, Duration leaseFor) {
+        long seconds = leaseFor.toSeconds();
+        int acquired = jdbc.update(TAKE_OVER_SQL, owner, seconds, name);
+        if (acquired == 0) {
+            try {
+                acquired = jdbc.update(CREATE_SQL, name, owner, seconds, name);
+            } catch (DuplicateKeyException e) {
+                // Another instance created the lease first
+                return Optional.empty();
+            }
+        }
+        if (acquired == 0) {
+            return Optional.empty();
+        }
+        Long token = jdbc.queryForObject("SELECT fencing_token FROM scheduler_lease WHERE name = ? AND owner = ?",
+                Long.class, name, owner);
+        return Optional.of(new Lease(name, owner, token));
+    }
+
+    /**
+     * Releases a lease, keeping it until {@code minHold} after it was acquired.
+     *
+     * @param lease   the lease
+     * @param minHold minimum time the lease is held since it was acquired
+     */
+    public void release(Lease lease, Duration minHold) {
+        int released = jdbc.update(RELEASE_SQL, minHold.toSeconds(), lease.name(), lease.owner(), lease.fencingToken());
+        if (released == 0) {
+            logger.warn("El lease {} (token {}) fue tomado por otra instancia antes de liberarse", lease.name(), lease.fencingToken());
+        }
+    }
+
+    /**
+     * @param lease the lease
+     * @return whether the lease is still held
+     */
+    public boolean isHeld(Lease lease) {
+        return isHeld(lease, false);
+    }
+
+    /**
+     * Fails if the lease of the job running on this thread was lost, so its writes are
+     * rolled back instead of duplicating those of the instance that took it over.
+     * Does nothing when the method does not run under a lease.
+     *
+     * @throws IllegalStateException if the lease was lost
+     */
+    public void assertHeld() {
+        Lease lease = currentLease.get();
+        if (lease != null && !isHeld(lease, true)) {
+            throw leaseLost(lease);
+        }
+    }
+
+    /**
+     * Fails if a lease was lost. Meant for the worker threads of a job, which do not see
+     * the lease of the job thread; unlike {@link #assertHeld()} it does not lock the lease
+     * row, so concurrent transactions of the same job do not wait for each other.
+     *
+     * @param lease the lease of the job
+     * @throws IllegalStateException if the lease was lost
+     */
+    public void assertHeld(Lease lease) {
+        if (!isHeld(lease, false)) {
+            throw leaseLost(lease);
+        }
+    }
+
+    /**
+     * @return the lease of the job running on this thread, if any
+     */
+    public Optional<Lease> currentLease() {
+        return Optional.ofNullable(currentLease.get());
+    }
+
+    private boolean isHeld(Lease lease, boolean lockRow) {
+        // Locking the row keeps the lease held until the calling transaction commits
+        String sql = lockRow ? HELD_SQL + "FOR UPDATE" : HELD_SQL;
+        List<Long> tokens = jdbc.query(sql, (rs, i) -> rs.getLong(1), lease.name(), lease.owner());
+        return !tokens.isEmpty() && tokens.get(0) == lease.fencingToken();
+    }
+
+    private static IllegalStateException leaseLost(Lease lease) {
+        return new IllegalStateException("El lease " + lease.name() + " (token " + lease.fencingToken() + ") ya no pertenece a esta instancia");
+    }
+
+    void bind(Lease lease) {
+        currentLease.set(lease);
+    }
+
+    void unbind() {
+        currentLease.remove();
+    }
+
+    /**
+     * @return id of this instance
+     */
+    public String getOwner() {
+        return owner;
+    }
+
+    private static String defaultOwner() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + ":" + UUID.randomUUID();
+    }
+}
@@ -0,0 +1,38 @@
+package com.project.demo.service.scheduling;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a {@code @Scheduled} method on a single instance of the cluster per tick.
+ * <p>
+ * The instance that acquires the lease runs the method; the others skip the tick.
+ * If the holder dies, the lease expires after {@link #leaseSeconds()} and the next
+ * tick is taken over by another instance.
+ *
+ * @see LeaseLockAspect
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LeaseLocked {
+
+    /**
+     * @return name of the lease, unique per job
+     */
+    String name();
+
+    /**
+     * @return how long the lease is held if the holder never releases it; must exceed the
+     * longest expected run
+     */
+    long leaseSeconds() default 240;
+
+    /**
+     * @return minimum time the lease is held after the run started, so that instances whose
+     * tick fires slightly later (clock skew) skip it instead of running the job again;
+     * must be shorter than the interval between ticks
+     */
+    long minHoldSeconds() default 30;
+}
@@ -0,0 +1,134 @@
+package com.project.demo.service.scheduling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Processes the partitions of a scheduled job concurrently, each one in its own transaction.
+ * <p>
+ * Partitions run on virtual threads, but at most {@code scheduling.partitions.max-concurrency}
+ * run at a time, so a job never holds more database connections than that (it must stay
+ * below the connection pool size). A failed partition is rolled back and logged without
+ * affecting the others, and every partition reports how long it took.
+ */
+@Service
+public class PartitionedExecutionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionedExecutionService.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxConcurrency;
+
+    public PartitionedExecutionService(
+            TransactionTemplate transactionTemplate,
+            @Value("${scheduling.partitions.max-concurrency:4}") int maxConcurrency
+    ) {
+        this.transactionTemplate = transactionTemplate;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+    }
+
+    /**
+     * Outcome of a partition.
+     *
+     * @param partition the partition
+     * @param processed items processed, 0 when it failed
+     * @param millis    time spent in the partition, transaction included
+     * @param error     the failure, or {@code null}
+     */
+    public record PartitionResult<P>(P partition, int processed, long millis, Throwable error) {
+
+        public boolean failed() {
+            return error != null;
+        }
+    }
+
+    /**
+     * Runs every partition and waits for all of them.
+     *
+     * @param job        job name, for the logs
+     * @param partitions partitions, preferably largest first so the slowest start first
+     * @param work       processes a partition inside its transaction and returns the items processed
+     * @return one result per partition, in the order of {@code partitions}
+     */
+    public <P> List<PartitionResult<P>> runAll(String job, List<P> partitions, Function<P, Integer> work) {
+        return runAll(job, partitions, maxConcurrency, work);
+    }
+
+    /**
+     * Runs every partition with a job-specific concurrency limit and waits for all of them.
+     *
+     * @param job            job name, for the logs
+     * @param partitions     partitions
+     * @param maxConcurrency maximum partitions running at a time
+     * @param work           processes a partition inside its transaction and returns the items processed
+     * @return one result per partition, in the order of {@code partitions}
+     */
+    public <P> List<PartitionResult<P>> runAll(String job, List<P> partitions, int maxConcurrency, Function<P, Integer> work) {
+        long start = System.currentTimeMillis();
+        Semaphore connections = new Semaphore(Math.max(1, maxConcurrency));
+        List<Future<PartitionResult<P>>> futures = new ArrayList<>(partitions.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (P partition : partitions) {
+                futures.add(executor.submit(() -> runPartition(job, partition, work, connections)));
+            }
+        }
+
+        List<PartitionResult<P>> results = new ArrayList<>(futures.size());
+        int processed = 0;
+        int failed = 0;
+        for (Future<PartitionResult<P>> future : futures) {
+            PartitionResult<P> result = join(future);
+            results.add(result);
+            processed += result.processed();
+            failed += result.failed() ? 1 : 0;
+        }
+        logger.info("{}: {} particiones ({} fallidas), {} elementos en {} ms", job, partitions.size(), failed,
+                processed, System.currentTimeMillis() - start);
+        return results;
+    }
+
+    private <P> PartitionResult<P> runPartition(String job, P partition, Function<P, Integer> work, Semaphore connections) {
+        try {
+            connections.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new PartitionResult<>(partition, 0, 0, e);
+        }
+        long start = System.currentTimeMillis();
+        try {
+            Integer processed = transactionTemplate.execute(status -> work.apply(partition));
+            long millis = System.currentTimeMillis() - start;
+            logger.debug("{} [{}]: {} elementos en {} ms", job, partition, processed, millis);
+            return new PartitionResult<>(partition, processed != null ? processed : 0, millis, null);
+        } catch (RuntimeException e) {
+            long millis = System.currentTimeMillis() - start;
+            logger.error("{} [{}]: partición fallida tras {} ms", job, partition, millis, e);
+            return new PartitionResult<>(partition, 0, millis, e);
+        } finally {
+            connections.release();
+        }
+    }
+
+    private static <P> PartitionResult<P> join(Future<PartitionResult<P>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ejecución particionada interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error inesperado en una partición", e.getCause());
+        }
+    }
+}
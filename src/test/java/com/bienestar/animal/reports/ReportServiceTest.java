@@ -0,0 +1,72 @@
+package com.bienestar.animal.reports;
+
+import com.project.demo.logic.entity.animal.AnimalRepository;
+import com.project.demo.logic.entity.complaint.ComplaintRepository;
+import com.project.demo.service.report.ReportCache;
+import com.project.demo.service.report.ReportExportService;
+import com.project.demo.service.report.ReportQuery;
+import com.project.demo.service.report.ReportQueryService;
+import com.project.demo.service.report.ReportRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportServiceTest {
+
+    @Mock private JdbcTemplate jdbc;
+    @Mock private ReportQueryService reportQueryService;
+    @Mock private ReportExportService reportExportService;
+    @Mock private AnimalRepository animalRepository;
+    @Mock private ComplaintRepository complaintRepository;
+    @Spy private ReportCache reportCache = new ReportCache(10, 600);
+
+    @InjectMocks private ReportService service;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getReportSummary_runsOneQueryAndCachesTheResult() {
+        List<AnimalesCallejerosDTO> rows = List.of(new AnimalesCallejerosDTO("2025-01", "Cartago", 4));
+        when(jdbc.query(anyString(), any(RowMapper.class))).thenReturn((List) rows);
+
+        assertSame(rows, service.getReportSummary(ReportType.ANIMALES_CALLEJEROS));
+        assertSame(rows, service.getReportSummary(ReportType.ANIMALES_CALLEJEROS));
+
+        verify(jdbc, times(1)).query(anyString(), any(RowMapper.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getSummary_mapsAggregateRowsToNamedColumns() {
+        when(reportQueryService.fetch(ReportQuery.ABANDONED_BY_CANTON_SPECIES_SEX))
+                .thenReturn(List.of(new ReportRow(List.of("Cartago", "Perro", "Macho"), 3)));
+
+        Map<String, Object> summary = service.getSummary("ANIMALES_ABANDONADOS");
+
+        List<Map<String, Object>> data = (List<Map<String, Object>>) summary.get("data");
+        assertEquals(Map.of("canton", "Cartago", "especie", "Perro", "sexo", "Macho", "cantidad", 3L), data.get(0));
+    }
+
+    @Test
+    void getSummary_returnsNoDataMessageWhenEmpty() {
+        when(reportQueryService.fetch(ReportQuery.STERILIZATION_BY_MUNICIPALITY_SEX)).thenReturn(List.of());
+
+        Map<String, Object> summary = service.getSummary("ESTERILIZACION_MUNICIPIO");
+
+        assertEquals("No hay datos", summary.get("message"));
+        assertEquals(List.of(), summary.get("data"));
+    }
+}
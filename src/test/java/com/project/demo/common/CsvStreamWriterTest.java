@@ -0,0 +1,55 @@
+package com.project.demo.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvStreamWriterTest {
+
+    @Test
+    void writeRow_startsWithBomAndUsesCrlf() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CsvStreamWriter csv = new CsvStreamWriter(out, false)) {
+            csv.writeRow("canton", "total");
+            csv.writeRow("San José", 3L);
+        }
+        assertEquals("\uFEFFcanton,total\r\nSan José,3\r\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void escape_quotesSeparatorsQuotesAndLineBreaks() {
+        assertEquals("plain", CsvStreamWriter.escape("plain"));
+        assertEquals("\"a,b\"", CsvStreamWriter.escape("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", CsvStreamWriter.escape("say \"hi\""));
+        assertEquals("\"line\nbreak\"", CsvStreamWriter.escape("line\nbreak"));
+    }
+
+    @Test
+    void writeField_writesNullAsEmptyField() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CsvStreamWriter csv = new CsvStreamWriter(out, false)) {
+            csv.writeField(null);
+            csv.writeField("x");
+            csv.endRow();
+        }
+        assertEquals("\uFEFF,x\r\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void gzip_roundTripsContent() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CsvStreamWriter csv = new CsvStreamWriter(out, true)) {
+            csv.writeRow("canton", "total");
+            csv.flush();
+            csv.writeRow("Cartago", 7);
+        }
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals("\uFEFFcanton,total\r\nCartago,7\r\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.project.demo.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NdjsonStreamWriterTest {
+
+    private static final String[] NAMES = {"id", "canton", "latitude", "abandoned"};
+
+    @Test
+    void writeRow_writesOneTypedObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (NdjsonStreamWriter ndjson = new NdjsonStreamWriter(out, false)) {
+            ndjson.writeRow(NAMES, new Object[]{1L, "San José", new BigDecimal("9.933"), true});
+            ndjson.writeRow(NAMES, new Object[]{2, "Say \"hi\"\n", null, false});
+        }
+        assertEquals("""
+                {"id":1,"canton":"San José","latitude":9.933,"abandoned":true}
+                {"id":2,"canton":"Say \\"hi\\"\\n","latitude":null,"abandoned":false}
+                """, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void gzip_roundTripsContent() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (NdjsonStreamWriter ndjson = new NdjsonStreamWriter(out, true)) {
+            ndjson.writeRow(new String[]{"id"}, new Object[]{1L});
+            ndjson.flush();
+            ndjson.writeRow(new String[]{"id"}, new Object[]{2L});
+        }
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals("{\"id\":1}\n{\"id\":2}\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+}
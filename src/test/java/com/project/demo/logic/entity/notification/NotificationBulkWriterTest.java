@@ -0,0 +1,134 @@
+package com.project.demo.logic.entity.notification;
+
+import com.project.demo.service.notification.NotificationCounterService;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationBulkWriterTest {
+
+    private static final NotificationFanOut CONTENT = new NotificationFanOut(
+            "Nuevo anuncio", "Hay un nuevo anuncio", "/announcements", LocalDateTime.of(2025, 3, 15, 10, 0), 2L, 1L, null);
+
+    private final List<String> executedSql = new ArrayList<>();
+    private final List<Object[]> executedParams = new ArrayList<>();
+    private final List<Long> alreadyNotified = new ArrayList<>();
+    private int commits;
+
+    private final JdbcTemplate jdbc = new JdbcTemplate() {
+        @Override
+        public int update(String sql, Object... args) {
+            executedSql.add(sql);
+            executedParams.add(args);
+            return args.length / 10;
+        }
+
+        @Override
+        public <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+            executedSql.add(sql);
+            executedParams.add(args);
+            return List.of(args).subList(1, args.length).stream()
+                    .filter(alreadyNotified::contains)
+                    .map(elementType::cast)
+                    .toList();
+        }
+    };
+
+    private final List<Long> countedUsers = new ArrayList<>();
+
+    private final NotificationCounterService counterService = new NotificationCounterService(jdbc, null, 1, 0) {
+        @Override
+        public void recordInserted(Long statusId, LocalDateTime dateIssued, Collection<Long> userIds) {
+            assertEquals(CONTENT.notificationStatusId(), statusId);
+            assertEquals(CONTENT.dateIssued(), dateIssued);
+            countedUsers.addAll(userIds);
+        }
+    };
+
+    private final PlatformTransactionManager transactionManager = new PlatformTransactionManager() {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW, definition.getPropagationBehavior());
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            commits++;
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    };
+
+    @Test
+    void insertForUsers_writesOneMultiRowStatementAndTransactionPerChunk() {
+        var writer = new NotificationBulkWriter(jdbc, counterService, transactionManager, 1000);
+        List<Long> userIds = LongStream.rangeClosed(1, 2500).boxed().toList();
+
+        int inserted = writer.insertForUsers(userIds, CONTENT);
+
+        assertEquals(2500, inserted);
+        assertEquals(3, executedSql.size());
+        assertEquals(3, commits);
+        assertEquals(10000, executedParams.get(0).length);
+        assertEquals(5000, executedParams.get(2).length);
+        assertEquals(executedParams.get(2).length, executedSql.get(2).chars().filter(c -> c == '?').count());
+        assertEquals(2001L, executedParams.get(2)[4]);
+        assertEquals(userIds, countedUsers);
+    }
+
+    @Test
+    void insertForUsers_skipsUsersAlreadyNotifiedForTheSameOutboxEvent() {
+        var writer = new NotificationBulkWriter(jdbc, counterService, transactionManager, 2);
+        var content = new NotificationFanOut(CONTENT.title(), CONTENT.description(), CONTENT.actionUrl(),
+                CONTENT.dateIssued(), CONTENT.notificationTypeId(), CONTENT.notificationStatusId(), 42L);
+        alreadyNotified.addAll(List.of(1L, 2L, 3L));
+
+        int inserted = writer.insertForUsers(List.of(1L, 2L, 3L, 4L), content);
+
+        assertEquals(1, inserted);
+        assertEquals(List.of(4L), countedUsers);
+        // One lookup per chunk, one insert for the only chunk with missing users
+        assertEquals(3, executedSql.size());
+        assertEquals(10, executedParams.get(2).length);
+        assertEquals(4L, executedParams.get(2)[4]);
+        assertEquals(42L, executedParams.get(2)[7]);
+    }
+
+    @Test
+    void insertForUsers_recordsThroughputMetrics() {
+        var writer = new NotificationBulkWriter(jdbc, counterService, transactionManager, 2);
+
+        writer.insertForUsers(List.of(1L, 2L, 3L), CONTENT);
+        writer.insertForUsers(List.of(), CONTENT);
+
+        NotificationBulkWriterStats stats = writer.stats();
+        assertEquals(1, stats.fanOuts());
+        assertEquals(3, stats.notifications());
+        assertEquals(2, stats.chunks());
+        assertEquals(0, stats.failedChunks());
+    }
+
+    @Test
+    void chunkSize_isCappedByTheStatementParameterLimit() {
+        var writer = new NotificationBulkWriter(jdbc, counterService, transactionManager, 100_000);
+
+        writer.insertForUsers(LongStream.rangeClosed(1, NotificationBulkWriter.MAX_CHUNK_SIZE + 1).boxed().toList(), CONTENT);
+
+        assertEquals(2, executedSql.size());
+        assertTrue(executedParams.get(0).length <= 65535);
+    }
+}
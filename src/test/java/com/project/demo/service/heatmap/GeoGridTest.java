@@ -0,0 +1,47 @@
+package com.project.demo.service.heatmap;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoGridTest {
+
+    private static final double SAN_JOSE_LAT = 9.9281;
+    private static final double SAN_JOSE_LON = -84.0907;
+
+    @Test
+    void cellsNestAcrossPrecisions() {
+        for (int p = GeoGrid.MIN_PRECISION; p < GeoGrid.MAX_PRECISION; p++) {
+            assertEquals(GeoGrid.cellX(SAN_JOSE_LON, p), GeoGrid.cellX(SAN_JOSE_LON, p + 1) >> 1);
+            assertEquals(GeoGrid.cellY(SAN_JOSE_LAT, p), GeoGrid.cellY(SAN_JOSE_LAT, p + 1) >> 1);
+        }
+    }
+
+    @Test
+    void cellCenterIsWithinHalfACellOfThePoint() {
+        int p = GeoGrid.MAX_PRECISION;
+        double half = GeoGrid.cellSize(p) / 2;
+
+        assertEquals(SAN_JOSE_LON, GeoGrid.centerLongitude(GeoGrid.cellX(SAN_JOSE_LON, p), p), half);
+        assertEquals(SAN_JOSE_LAT, GeoGrid.centerLatitude(GeoGrid.cellY(SAN_JOSE_LAT, p), p), half);
+    }
+
+    @Test
+    void edgesOfTheWorldStayInsideTheGrid() {
+        assertEquals(0, GeoGrid.cellX(-180, 3));
+        assertEquals(360 * 8 - 1, GeoGrid.cellX(180, 3));
+        assertEquals(180 * 8 - 1, GeoGrid.cellY(90, 3));
+    }
+
+    @Test
+    void precisionForZoomIsClamped() {
+        assertEquals(GeoGrid.MIN_PRECISION, GeoGrid.precisionForZoom(2));
+        assertEquals(7, GeoGrid.precisionForZoom(12));
+        assertEquals(GeoGrid.MAX_PRECISION, GeoGrid.precisionForZoom(21));
+    }
+
+    @Test
+    void tileCountOfCostaRicaAtCountryZoomIsSmall() {
+        assertTrue(GeoHeatmapService.tileCount(8.0, -86.0, 11.3, -82.5, GeoGrid.precisionForZoom(8)) <= GeoHeatmapService.MAX_TILES);
+    }
+}
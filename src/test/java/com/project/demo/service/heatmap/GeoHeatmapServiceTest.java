@@ -0,0 +1,93 @@
+package com.project.demo.service.heatmap;
+
+import com.project.demo.logic.entity.heatmap.HeatmapSource;
+import com.project.demo.service.report.ReportCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoHeatmapServiceTest {
+
+    private final EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .setName("heatmap-" + UUID.randomUUID() + ";MODE=MySQL")
+            .addScript("db/geo_heat_cell.sql")
+            .build();
+    private final JdbcTemplate jdbc = new JdbcTemplate(database);
+    private final GeoHeatmapService heatmaps = new GeoHeatmapService(jdbc, new ReportCache(50, 600), event -> { });
+
+    @AfterEach
+    void shutdown() {
+        database.shutdown();
+    }
+
+    @Test
+    void pointChanges_leaveTheSameCellsAsARebuild() {
+        addAbandonedAnimal(1, 9.9281, -84.0907);
+        addAbandonedAnimal(2, 9.9281, -84.0907);
+        addAbandonedAnimal(3, null, null);
+        addAbandonedAnimal(4, 10.6346, -85.4407);
+        addComplaint(1, 9.8644, -83.9194);
+        addComplaint(2, -90, 180);
+
+        moveAbandonedAnimal(2, 9.9281, -84.0907, 9.9981, -84.1198);
+        moveAbandonedAnimal(3, null, null, 10.0162, -84.2116);
+        moveAbandonedAnimal(4, 10.6346, -85.4407, null, null);
+        heatmaps.pointMoved(HeatmapSource.ABANDONED_ANIMAL, 9.9281, -84.0907, 9.9281, -84.0907);
+
+        List<Map<String, Object>> incremental = cells();
+        heatmaps.rebuild();
+
+        assertEquals(cells(), incremental);
+        assertEquals((GeoGrid.MAX_PRECISION - GeoGrid.MIN_PRECISION + 1) * 5L, incremental.stream()
+                .mapToLong(cell -> ((Number) cell.get("total")).longValue()).sum());
+    }
+
+    @Test
+    void heatmap_addsUpTheCellsOfTheRequestedSources() {
+        addAbandonedAnimal(1, 9.9281, -84.0907);
+        addComplaint(1, 9.9281, -84.0907);
+        addComplaint(2, 10.6346, -85.4407);
+
+        Heatmap heatmap = heatmaps.heatmap(8, -86, 11.5, -82.5, 6, List.of(HeatmapSource.values()));
+
+        assertEquals(3, heatmap.cells().stream().mapToLong(HeatmapCell::count).sum());
+        assertEquals(1, heatmaps.heatmap(8, -86, 11.5, -82.5, 6, List.of(HeatmapSource.ABANDONED_ANIMAL))
+                .cells().stream().mapToLong(HeatmapCell::count).sum());
+    }
+
+    private void addAbandonedAnimal(long id, Double latitude, Double longitude) {
+        jdbc.update("INSERT INTO abandoned_animal (id, latitude, longitude) VALUES (?, ?, ?)", id, latitude, longitude);
+        heatmaps.pointAdded(HeatmapSource.ABANDONED_ANIMAL, latitude, longitude);
+    }
+
+    private void moveAbandonedAnimal(long id, Double oldLatitude, Double oldLongitude, Double latitude, Double longitude) {
+        jdbc.update("UPDATE abandoned_animal SET latitude = ?, longitude = ? WHERE id = ?", latitude, longitude, id);
+        heatmaps.pointMoved(HeatmapSource.ABANDONED_ANIMAL, oldLatitude, oldLongitude, latitude, longitude);
+    }
+
+    private void addComplaint(long id, double latitude, double longitude) {
+        jdbc.update("INSERT INTO complaint (id, latitude, longitude) VALUES (?, ?, ?)", id, latitude, longitude);
+        heatmaps.pointAdded(HeatmapSource.COMPLAINT, latitude, longitude);
+    }
+
+    /**
+     * Cells emptied by a move keep a zero total until the next rebuild; the heatmap skips them.
+     */
+    private List<Map<String, Object>> cells() {
+        return jdbc.queryForList("""
+                SELECT source, cell_precision, cell_x, cell_y, total
+                FROM geo_heat_cell
+                WHERE total <> 0
+                ORDER BY source, cell_precision, cell_x, cell_y""");
+    }
+}
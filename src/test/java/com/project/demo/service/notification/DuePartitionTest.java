@@ -0,0 +1,34 @@
+package com.project.demo.service.notification;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DuePartitionTest {
+
+    @Test
+    void split_keepsSmallMunicipalitiesWhole() {
+        assertEquals(List.of(new DuePartition(1L, 10L, 900L)), DuePartition.split(1L, 40, 10, 900, 100));
+    }
+
+    @Test
+    void split_dividesLargeMunicipalitiesIntoContiguousRanges() {
+        List<DuePartition> partitions = DuePartition.split(1L, 250, 1, 1000, 100);
+
+        assertEquals(3, partitions.size());
+        assertEquals(1L, partitions.get(0).fromAnimalId());
+        assertEquals(1000L, partitions.get(partitions.size() - 1).toAnimalId());
+        for (int i = 1; i < partitions.size(); i++) {
+            assertEquals(partitions.get(i - 1).toAnimalId() + 1, partitions.get(i).fromAnimalId());
+        }
+    }
+
+    @Test
+    void split_neverCreatesMoreRangesThanIds() {
+        List<DuePartition> partitions = DuePartition.split(1L, 600, 5, 6, 100);
+
+        assertEquals(List.of(new DuePartition(1L, 5L, 5L), new DuePartition(1L, 6L, 6L)), partitions);
+    }
+}
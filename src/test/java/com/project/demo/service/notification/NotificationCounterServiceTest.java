@@ -0,0 +1,127 @@
+package com.project.demo.service.notification;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationCounterServiceTest {
+
+    private static final Long SENT = 1L;
+    private static final Long READ = 2L;
+    private static final Long ARCHIVED = 3L;
+    private static final long TTL = 1_000;
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 15, 10, 0);
+
+    private final EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .setName("counters-" + UUID.randomUUID() + ";MODE=MySQL")
+            .addScript("db/notification_counter.sql")
+            .build();
+    private final JdbcTemplate jdbc = new JdbcTemplate(database);
+    private long clock;
+    private final NotificationReadWatermarkService watermarks = new NotificationReadWatermarkService(jdbc);
+    private final NotificationCounterService counters = new NotificationCounterService(jdbc, watermarks, 100, TTL, () -> clock);
+
+    @AfterEach
+    void shutdown() {
+        database.shutdown();
+    }
+
+    @Test
+    void recordInserted_addsOneNotificationPerRecipient() {
+        counters.recordInserted(SENT, NOW, List.of(1L, 2L));
+        counters.recordInserted(SENT, NOW, List.of(2L, 3L));
+
+        assertEquals(1, counters.countForUser(1L, SENT));
+        assertEquals(2, counters.countForUser(2L, SENT));
+        assertEquals(0, counters.countForUser(4L, SENT));
+        assertEquals(4, counters.countForStatus(SENT));
+        assertEquals(Map.of(1L, 1L, 2L, 2L, 4L, 0L), counters.countForUsers(List.of(1L, 2L, 4L), SENT));
+    }
+
+    @Test
+    void markAllRead_movesTheUnreadNotificationsOfTheUserToRead() {
+        counters.recordInserted(SENT, NOW, List.of(1L, 1L, 2L));
+        counters.recordInserted(READ, NOW, List.of(1L));
+        counters.recordInserted(ARCHIVED, NOW, List.of(1L));
+
+        watermarks.advance(1L, NOW);
+        assertEquals(2, counters.markAllRead(1L));
+
+        assertEquals(0, counters.countForUser(1L, SENT));
+        assertEquals(3, counters.countForUser(1L, READ));
+        assertEquals(1, counters.countForUser(1L, ARCHIVED));
+        assertEquals(1, counters.countForUser(2L, SENT));
+        assertEquals(1, counters.countForStatus(SENT));
+        assertEquals(0, counters.markAllRead(1L));
+    }
+
+    @Test
+    void recordInserted_countsNotificationsIssuedBeforeTheWatermarkAsRead() {
+        watermarks.advance(1L, NOW);
+
+        counters.recordInserted(SENT, NOW.minusMinutes(1), List.of(1L, 2L));
+        counters.recordInserted(SENT, NOW.plusMinutes(1), List.of(1L));
+
+        assertEquals(1, counters.countForUser(1L, SENT));
+        assertEquals(1, counters.countForUser(1L, READ));
+        assertEquals(1, counters.countForUser(2L, SENT));
+    }
+
+    @Test
+    void writesInvalidateTheCachedCounts() {
+        assertEquals(0, counters.countForUser(1L, SENT));
+        assertEquals(0, counters.countForStatus(SENT));
+
+        counters.recordInserted(SENT, NOW, List.of(1L));
+
+        assertEquals(1, counters.countForUser(1L, SENT));
+        assertEquals(1, counters.countForStatus(SENT));
+    }
+
+    @Test
+    void changesFromOtherInstancesAreSeenAfterTheTtl() {
+        assertEquals(0, counters.countForUser(1L, SENT));
+        jdbc.update("INSERT INTO notification_counter (user_id, status_id, total) VALUES (1, 1, 5)");
+
+        assertEquals(0, counters.countForUser(1L, SENT));
+        clock += TTL;
+        assertEquals(5, counters.countForUser(1L, SENT));
+    }
+
+    @Test
+    void rebuild_recountsFromTheNotifications() {
+        jdbc.update("""
+                INSERT INTO notification (user_id, notification_status_id, date_issued) VALUES
+                (1, 1, '2025-03-15 09:00:00'), (1, 1, '2025-03-15 11:00:00'), (1, 2, '2025-03-15 09:00:00'),
+                (2, 1, '2025-03-15 09:00:00')""");
+        watermarks.advance(1L, NOW);
+        assertTrue(counters.needsBackfill());
+
+        counters.rebuild();
+
+        assertFalse(counters.needsBackfill());
+        assertEquals(1, counters.countForUser(1L, SENT));
+        assertEquals(2, counters.countForUser(1L, READ));
+        assertEquals(1, counters.countForUser(2L, SENT));
+        assertEquals(2, counters.countForStatus(SENT));
+    }
+
+    @Test
+    void buildAddSql_hasOnePlaceholderGroupPerRow() {
+        String sql = NotificationCounterService.buildAddSql(3);
+
+        assertEquals(9, sql.chars().filter(c -> c == '?').count());
+        assertTrue(sql.endsWith("ON DUPLICATE KEY UPDATE total = total + VALUES(total)"));
+    }
+}
@@ -0,0 +1,109 @@
+package com.project.demo.service.notification;
+
+import com.project.demo.logic.entity.complaint.Complaint;
+import com.project.demo.logic.entity.complaint.ComplaintRepository;
+import com.project.demo.logic.entity.notification.NotificationService;
+import com.project.demo.logic.entity.notification_outbox.NotificationEventType;
+import com.project.demo.logic.entity.notification_outbox.NotificationOutboxEvent;
+import com.project.demo.logic.entity.notification_outbox.NotificationOutboxRepository;
+import com.project.demo.logic.entity.notification_outbox.NotificationOutboxStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 15, 10, 0);
+
+    @Mock private NotificationOutboxRepository outboxRepository;
+    @Mock private ComplaintRepository complaintRepository;
+    @Mock private NotificationService notificationService;
+
+    private NotificationOutboxService service;
+
+    @BeforeEach
+    void setup() {
+        service = new NotificationOutboxService(outboxRepository, complaintRepository, notificationService, 3, 10, 30);
+    }
+
+    @Test
+    void dispatch_notifiesAndMarksTheEventDone() {
+        Complaint complaint = Complaint.builder().id(7L).build();
+        when(complaintRepository.findById(7L)).thenReturn(Optional.of(complaint));
+        NotificationOutboxEvent event = pending(NotificationEventType.COMPLAINT_APPROVED, 7L);
+        when(outboxRepository.findByIdAndStatusForUpdate(1L, NotificationOutboxStatus.PENDING)).thenReturn(Optional.of(event));
+
+        assertTrue(service.dispatch(event));
+
+        verify(notificationService).notifyComplaintStateChanged(complaint);
+        assertEquals(NotificationOutboxStatus.DONE, event.getStatus());
+        assertEquals(0, event.getAttempts());
+        verify(outboxRepository).save(event);
+    }
+
+    @Test
+    void dispatch_passesTheEventIdToFanOuts() {
+        NotificationOutboxEvent event = pending(NotificationEventType.COMPLAINT_CREATED, 4L);
+        when(outboxRepository.findByIdAndStatusForUpdate(1L, NotificationOutboxStatus.PENDING)).thenReturn(Optional.of(event));
+
+        service.dispatch(event);
+
+        verify(notificationService).notifyComplaintCreationToAdministrators(null, 4L, 1L);
+        assertEquals(NotificationOutboxStatus.DONE, event.getStatus());
+    }
+
+    @Test
+    void dispatch_skipsEventsNoLongerPending() {
+        NotificationOutboxEvent event = pending(NotificationEventType.COMPLAINT_CREATED, 4L);
+        when(outboxRepository.findByIdAndStatusForUpdate(1L, NotificationOutboxStatus.PENDING)).thenReturn(Optional.empty());
+
+        assertFalse(service.dispatch(event));
+
+        verifyNoInteractions(notificationService);
+        verify(outboxRepository, never()).save(any());
+    }
+
+    @Test
+    void recordFailure_retriesWithBackoffUntilTheLastAttempt() {
+        NotificationOutboxEvent event = pending(NotificationEventType.COMPLAINT_CREATED, 4L);
+        when(outboxRepository.findById(1L)).thenReturn(Optional.of(event));
+
+        service.recordFailure(event, new IllegalStateException("boom"), NOW);
+        assertEquals(NotificationOutboxStatus.PENDING, event.getStatus());
+        assertEquals(NOW.plusSeconds(10), event.getNextAttemptAt());
+
+        service.recordFailure(event, new IllegalStateException("boom"), NOW);
+        assertEquals(NOW.plusSeconds(20), event.getNextAttemptAt());
+
+        service.recordFailure(event, new IllegalStateException("boom"), NOW);
+        assertEquals(NotificationOutboxStatus.FAILED, event.getStatus());
+        assertTrue(event.getLastError().contains("boom"));
+    }
+
+    @Test
+    void backoff_isCapped() {
+        assertEquals(Duration.ofSeconds(10), service.backoff(1));
+        assertEquals(Duration.ofSeconds(30), service.backoff(10));
+    }
+
+    private static NotificationOutboxEvent pending(NotificationEventType type, Long aggregateId) {
+        return NotificationOutboxEvent.builder()
+                .id(1L)
+                .eventType(type)
+                .aggregateId(aggregateId)
+                .status(NotificationOutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(NOW)
+                .build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.project.demo.service.notification;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationStreamServiceTest {
+
+    @Test
+    void keepsAtMostTheConfiguredConnectionsPerUser() {
+        NotificationStreamService service = new NotificationStreamService(8, 2, 60_000);
+
+        service.subscribe(1L);
+        service.subscribe(1L);
+        service.subscribe(1L);
+        service.subscribe(2L);
+
+        assertEquals(3, service.connections());
+        assertEquals(Set.of(1L, 2L), service.connectedUserIds());
+    }
+
+    @Test
+    void replacesTheBufferWithAResyncEventWhenItOverflows() {
+        List<Runnable> sends = new ArrayList<>();
+        var subscriber = new NotificationStreamService.Subscriber(1L, new SseEmitter(), 3, sends::add);
+
+        for (int i = 0; i < 3; i++) {
+            subscriber.offer(SseEmitter.event().name("notification").data(i));
+        }
+        assertEquals(3, subscriber.pendingEvents());
+        assertEquals(1, sends.size());
+
+        subscriber.offer(SseEmitter.event().name("notification").data(3));
+        assertEquals(1, subscriber.pendingEvents());
+
+        sends.get(0).run();
+        assertEquals(0, subscriber.pendingEvents());
+    }
+
+    @Test
+    void ignoresEventsOnceClosed() {
+        List<Runnable> sends = new ArrayList<>();
+        var subscriber = new NotificationStreamService.Subscriber(1L, new SseEmitter(), 3, sends::add);
+
+        assertFalse(subscriber.isClosed());
+        subscriber.close();
+        subscriber.offer(SseEmitter.event().name("notification").data(1));
+
+        assertTrue(subscriber.isClosed());
+        assertEquals(0, subscriber.pendingEvents());
+        assertTrue(sends.isEmpty());
+    }
+}
@@ -0,0 +1,90 @@
+package com.project.demo.service.notification;
+
+import com.project.demo.logic.entity.municipal_preventive_care_configuration.MunicipalPreventiveCareConfigurationEnum;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PreventiveCareDueServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 15, 0, 5);
+
+    private final List<String> executedSql = new ArrayList<>();
+    private final List<Object[]> executedParams = new ArrayList<>();
+
+    private final PreventiveCareDueService service = new PreventiveCareDueService(new JdbcTemplate() {
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            executedSql.add(sql);
+            executedParams.add(args);
+            return List.of();
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            executedSql.add(sql);
+            executedParams.add(args);
+            return 0;
+        }
+    });
+
+    @Test
+    void animalChanged_recomputesEveryCareOfTheAnimal() {
+        service.animalChanged(7L);
+
+        int cares = MunicipalPreventiveCareConfigurationEnum.values().length;
+        assertEquals(cares + 1, executedSql.size());
+        assertTrue(executedSql.get(0).startsWith("DELETE FROM preventive_care_due WHERE animal_id = ?"));
+        for (int i = 1; i <= cares; i++) {
+            Object[] params = executedParams.get(i);
+            assertEquals(7L, params[params.length - 1]);
+            assertEquals(params.length, placeholders(executedSql.get(i)));
+        }
+    }
+
+    @Test
+    void upsert_matchesSanitaryControlsByTheirTypeName() {
+        service.animalChanged(7L);
+
+        String sql = executedSql.get(2);
+        assertTrue(sql.contains("FROM sanitary_control sc"));
+        assertFalse(sql.contains("vaccine_application"));
+        assertArrayEquals(new Object[]{"Desparasitación", "Alerta Sanitaria",
+                PreventiveCareDueService.REMINDER_TITLE_PREFIX, "DEWORMING", 7L}, executedParams.get(2));
+    }
+
+    @Test
+    void upsert_checksVaccineApplicationsForVaccination() {
+        String sql = PreventiveCareDueService.buildUpsertSql(MunicipalPreventiveCareConfigurationEnum.VACCINATION, "");
+
+        assertTrue(sql.contains("FROM vaccine_application va"));
+        assertFalse(sql.contains("sanitary_control"));
+        assertEquals(3, placeholders(sql));
+    }
+
+    @Test
+    void findDue_readsOnlyDueRowsOfThePartitionInBatches() {
+        service.findDue(NOW, new DuePartition(4L, 100L, 199L), 500);
+
+        assertTrue(executedSql.get(0).contains("WHERE d.next_due_at <= ?"));
+        assertArrayEquals(new Object[]{Timestamp.valueOf(NOW), 4L, 100L, 199L, 500}, executedParams.get(0));
+    }
+
+    @Test
+    void everySanitaryCareMapsToASanitaryControlType() {
+        for (MunicipalPreventiveCareConfigurationEnum care : MunicipalPreventiveCareConfigurationEnum.values()) {
+            assertEquals(care != MunicipalPreventiveCareConfigurationEnum.VACCINATION, care.getSanitaryControlType() != null);
+        }
+    }
+
+    private static long placeholders(String sql) {
+        return sql.chars().filter(c -> c == '?').count();
+    }
+}
@@ -0,0 +1,36 @@
+package com.project.demo.service.notification;
+
+import com.project.demo.logic.constants.scheduling.SchedulerCronConstants;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegistrationReminderServiceTest {
+
+    @Test
+    void findUsersToRemind_excludesUsersRemindedWithinTheInterval() {
+        Object[][] executedParams = new Object[1][];
+        RegistrationReminderService service = new RegistrationReminderService(new JdbcTemplate() {
+            @Override
+            public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+                assertEquals(RegistrationReminderService.USERS_TO_REMIND_SQL, sql);
+                executedParams[0] = args;
+                return List.of();
+            }
+        });
+        LocalDateTime now = LocalDateTime.of(2025, 3, 15, 10, 0);
+
+        service.findUsersToRemind(5L, now);
+
+        assertArrayEquals(new Object[]{"COMMUNITY_USER", 5L, Timestamp.valueOf(
+                now.minusDays(SchedulerCronConstants.DAYS_BETWEEN_NOTIFICATIONS_FOR_REGISTER_COMMUNITY_ANIMALS))}, executedParams[0]);
+        assertEquals(executedParams[0].length,
+                RegistrationReminderService.USERS_TO_REMIND_SQL.chars().filter(c -> c == '?').count());
+    }
+}
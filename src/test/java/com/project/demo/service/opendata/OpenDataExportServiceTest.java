@@ -0,0 +1,44 @@
+package com.project.demo.service.opendata;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenDataExportServiceTest {
+
+    @Test
+    void resolveColumns_keepsTheKeyFirstAndRejectsColumnsOutsideTheAllowlist() {
+        List<OpenDataColumn> columns = OpenDataExportService.resolveColumns(OpenDataset.ABANDONED_ANIMALS,
+                List.of("species", "canton", "id"));
+
+        assertEquals(List.of("id", "species", "canton"), columns.stream().map(OpenDataColumn::name).toList());
+        assertEquals(OpenDataset.ABANDONED_ANIMALS.getColumns(),
+                OpenDataExportService.resolveColumns(OpenDataset.ABANDONED_ANIMALS, List.of()));
+        assertThrows(IllegalArgumentException.class,
+                () -> OpenDataExportService.resolveColumns(OpenDataset.ABANDONED_ANIMALS, List.of("photoUrl")));
+    }
+
+    @Test
+    void buildSql_selectsOnlyTheRequestedColumnsAfterTheKey() {
+        List<OpenDataColumn> columns = OpenDataExportService.resolveColumns(OpenDataset.COMPLAINTS, List.of("complaintType"));
+
+        String sql = OpenDataExportService.buildSql(OpenDataset.COMPLAINTS, columns, true);
+
+        assertTrue(sql.startsWith("SELECT co.id AS id, t.name AS complaintType\n"));
+        assertTrue(sql.endsWith("WHERE co.id > ?\nORDER BY co.id\nLIMIT ?"));
+        assertFalse(OpenDataExportService.buildSql(OpenDataset.COMPLAINTS, columns, false).contains("LIMIT"));
+    }
+
+    @Test
+    void datasets_neverSelectFreeTextOrPhotos() {
+        for (OpenDataset dataset : OpenDataset.values()) {
+            String sql = OpenDataExportService.buildSql(dataset, dataset.getColumns(), false);
+            assertFalse(sql.contains("photo_url"));
+            assertFalse(sql.contains("observations"));
+            assertFalse(sql.contains("description"));
+            assertEquals("id", dataset.getColumns().get(0).name());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.project.demo.service.report;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AbandonmentTrendServiceTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2025, 12, 31, 23, 59);
+
+    @Test
+    void buildSql_usesSargableRangeOnRawColumns() {
+        List<Object> params = new ArrayList<>();
+        AbandonedAnimalFilter filter = new AbandonedAnimalFilter(FROM, TO, 4L, null, List.of(), List.of());
+
+        String sql = AbandonmentTrendService.buildSql(filter, TrendBucket.WEEK, TrendGrouping.NONE, params);
+
+        assertTrue(sql.contains("aa.is_abandoned = TRUE AND aa.created_at BETWEEN ? AND ?"));
+        assertFalse(sql.contains("CAST("));
+        assertFalse(sql.contains("FROM_UNIXTIME"));
+        assertFalse(sql.contains("`user`"));
+        assertTrue(sql.endsWith("GROUP BY period ORDER BY period"));
+        assertEquals(List.of(FROM, TO, 4L), params);
+    }
+
+    @Test
+    void buildSql_groupsBySpeciesAndJoinsCensusUserForMunicipality() {
+        List<Object> params = new ArrayList<>();
+        AbandonedAnimalFilter filter = new AbandonedAnimalFilter(FROM, TO, null, 2L, List.of("1", "3"), List.of("Carmen"));
+
+        String sql = AbandonmentTrendService.buildSql(filter, TrendBucket.MONTH, TrendGrouping.SPECIES, params);
+
+        assertTrue(sql.contains("LEFT JOIN species s"));
+        assertTrue(sql.contains("JOIN `user` u ON u.id = aa.created_by"));
+        assertTrue(sql.contains("aa.species_id IN (?,?)"));
+        assertTrue(sql.contains("aa.district IN (?)"));
+        assertTrue(sql.endsWith("GROUP BY period, grp ORDER BY period, grp"));
+        assertEquals(List.of(FROM, TO, 2L, "1", "3", "Carmen"), params);
+    }
+
+    @Test
+    void filterOf_ignoresBlankAndAllValues() {
+        AbandonedAnimalFilter filter = AbandonedAnimalFilter.of(0, 1000, null, null, " 1, ,__all", null);
+
+        assertEquals(List.of("1"), filter.speciesIds());
+        assertEquals(List.of(), filter.districts());
+        assertFalse(filter.needsUserJoin());
+    }
+}
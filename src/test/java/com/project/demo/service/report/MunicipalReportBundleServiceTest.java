@@ -0,0 +1,84 @@
+package com.project.demo.service.report;
+
+import com.project.demo.logic.entity.municipality.Municipality;
+import com.project.demo.logic.entity.report_job.ReportJobFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MunicipalReportBundleServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private final ReportCubeService reportCubeService = new ReportCubeService(
+            new ReportCache(50, TimeUnit.MINUTES.toNanos(10), System::nanoTime),
+            fact -> fact == CubeFact.ANIMALS
+                    ? List.of(
+                    cell(4, 4, "OWNED_ANIMAL", "Cartago", "7", "Cartago", "Oriental", "Perro", "Macho", "Esterilizado", "2025-01"),
+                    cell(6, 0, "OWNED_ANIMAL", "Cartago", "7", "Cartago", "Oriental", "Perro", "Hembra", "No esterilizado", "2025-01"),
+                    cell(5, 0, "ABANDONED_ANIMAL", "Cartago", "7", "Cartago", "Occidental", "Gato", "Macho", "No esterilizado", "2025-02"),
+                    cell(3, 3, "OWNED_ANIMAL", "Cartago", "9", "Sin cantón", "Sin distrito", "Perro", "Macho", "Esterilizado", "2025-02"),
+                    cell(2, 2, "OWNED_ANIMAL", "Tres Ríos", "8", "La Unión", "Sin distrito", "Gato", "Hembra", "Esterilizado", "2025-02"))
+                    : List.of(
+                    cell(3, 0, "Maltrato", "Abierta", "Cartago", "7", "Cartago", "2025-01"),
+                    cell(1, 0, "Abandono", "Cerrada", "Tres Ríos", "8", "La Unión", "2025-01")));
+
+    private static CubeCell cell(long total, long sterilized, String... labels) {
+        return new CubeCell(labels, total, sterilized);
+    }
+
+    private MunicipalReportBundleService service() {
+        return new MunicipalReportBundleService(reportCubeService, null, directory.toString());
+    }
+
+    @Test
+    void write_rendersOnlyTheRowsOfTheMunicipalityId() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service().write(MunicipalReport.ESTERILIZACION, Municipality.builder().id(7L).name("Cartago").build(),
+                ReportJobFormat.CSV, out);
+
+        assertEquals("\uFEFFSexo,Estatus,Cantidad\r\nHembra,No esterilizado,6\r\nMacho,Esterilizado,4\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void renderBundle_writesEveryReportAndFormatAtomically() throws IOException {
+        MunicipalReportBundleService service = service();
+        Municipality municipality = Municipality.builder().id(7L).name("Cartago").build();
+
+        service.renderBundle(municipality);
+
+        for (MunicipalReport report : MunicipalReport.values()) {
+            for (ReportJobFormat format : MunicipalReportBundleService.BUNDLE_FORMATS) {
+                Path file = service.findBundle(7L, report, format).orElseThrow();
+                assertTrue(Files.size(file) > 0);
+            }
+        }
+        try (Stream<Path> files = Files.list(directory.resolve("7"))) {
+            assertTrue(files.noneMatch(file -> file.toString().endsWith(".part")));
+        }
+    }
+
+    @Test
+    void findBundle_isEmptyWhenNotRenderedOrNotBundled() throws IOException {
+        MunicipalReportBundleService service = service();
+        assertTrue(service.findBundle(7L, MunicipalReport.DENUNCIAS, ReportJobFormat.CSV).isEmpty());
+
+        service.renderBundle(Municipality.builder().id(7L).name("Cartago").build());
+
+        assertTrue(service.findBundle(7L, MunicipalReport.DENUNCIAS, ReportJobFormat.CSV).isPresent());
+        assertTrue(service.findBundle(7L, MunicipalReport.DENUNCIAS, ReportJobFormat.CSV_GZIP).isEmpty());
+    }
+}
@@ -0,0 +1,22 @@
+package com.project.demo.service.report;
+
+import java.sql.Timestamp;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * MySQL functions missing from H2, registered with {@code CREATE ALIAS} by the test schemas.
+ * H2 calls them by reflection, so the class and its methods are public.
+ */
+public final class MySqlFunctions {
+
+    private MySqlFunctions() {
+    }
+
+    /**
+     * {@code DATE_FORMAT} for the {@code %Y}, {@code %m} and {@code %d} specifiers the rollups use.
+     */
+    public static String dateFormat(Timestamp date, String format) {
+        String pattern = format.replace("%Y", "yyyy").replace("%m", "MM").replace("%d", "dd");
+        return date.toLocalDateTime().format(DateTimeFormatter.ofPattern(pattern));
+    }
+}
@@ -0,0 +1,128 @@
+package com.project.demo.service.report;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private ReportCache cache(int maxEntries) {
+        return new ReportCache(maxEntries, TimeUnit.SECONDS.toNanos(60), clock::get);
+    }
+
+    @Test
+    void get_loadsOnceAndCountsHitsAndMisses() {
+        ReportCache cache = cache(10);
+        AtomicInteger loads = new AtomicInteger();
+        ReportCacheKey key = ReportCacheKey.of("r", 1L, null);
+
+        assertEquals("v", cache.get(key, () -> {
+            loads.incrementAndGet();
+            return "v";
+        }));
+        assertEquals("v", cache.get(ReportCacheKey.of("r", 1L, null), () -> "other"));
+
+        ReportCacheStats stats = cache.stats();
+        assertEquals(1, loads.get());
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.loads());
+    }
+
+    @Test
+    void get_coalescesConcurrentLoadsOfTheSameKey() throws Exception {
+        ReportCache cache = cache(10);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ReportCacheKey key = ReportCacheKey.of("slow");
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] results = new Future<?>[4];
+            for (int i = 0; i < results.length; i++) {
+                results[i] = pool.submit(() -> cache.get(key, () -> {
+                    loads.incrementAndGet();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return 42;
+                }));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<?> result : results) {
+                assertEquals(42, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_evictsLeastRecentlyUsedEntryWhenFull() {
+        ReportCache cache = cache(2);
+        cache.get(ReportCacheKey.of("a"), () -> 1);
+        cache.get(ReportCacheKey.of("b"), () -> 2);
+        cache.get(ReportCacheKey.of("a"), () -> -1);
+        cache.get(ReportCacheKey.of("c"), () -> 3);
+
+        assertEquals(1, (Integer) cache.getIfPresent(ReportCacheKey.of("a")));
+        assertNull(cache.getIfPresent(ReportCacheKey.of("b")));
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    void get_reloadsExpiredEntries() {
+        ReportCache cache = cache(10);
+        cache.get(ReportCacheKey.of("a"), () -> 1);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(61));
+
+        assertEquals(2, (Integer) cache.get(ReportCacheKey.of("a"), () -> 2));
+    }
+
+    @Test
+    void onReportDataChanged_clearsEntries() {
+        ReportCache cache = cache(10);
+        cache.get(ReportCacheKey.of("a"), () -> 1);
+
+        cache.onReportDataChanged(new ReportDataChangedEvent(ReportDataFamily.ANIMALS, "test"));
+
+        assertNull(cache.getIfPresent(ReportCacheKey.of("a")));
+        assertEquals(1, cache.stats().invalidations());
+    }
+
+    @Test
+    void onReportDataChanged_withAffectedKeysOnlyClearsThoseEntries() {
+        ReportCache cache = cache(10);
+        cache.get(ReportCacheKey.of("tile", 1), () -> 1);
+        cache.get(ReportCacheKey.of("tile", 2), () -> 2);
+
+        cache.onReportDataChanged(new ReportDataChangedEvent(ReportDataFamily.ANIMALS, "test", List.of(ReportCacheKey.of("tile", 1))));
+
+        assertNull(cache.getIfPresent(ReportCacheKey.of("tile", 1)));
+        assertEquals(2, (int) cache.getIfPresent(ReportCacheKey.of("tile", 2)));
+    }
+
+    @Test
+    void get_doesNotCacheFailedLoads() {
+        ReportCache cache = cache(10);
+        assertThrows(IllegalStateException.class,
+                () -> cache.get(ReportCacheKey.of("a"), () -> { throw new IllegalStateException("boom"); }));
+
+        assertEquals(7, (Integer) cache.get(ReportCacheKey.of("a"), () -> 7));
+        assertEquals(1, cache.stats().loadFailures());
+    }
+}
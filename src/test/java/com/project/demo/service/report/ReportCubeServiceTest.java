@@ -0,0 +1,68 @@
+package com.project.demo.service.report;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportCubeServiceTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final ReportCubeService service = new ReportCubeService(
+            new ReportCache(50, TimeUnit.MINUTES.toNanos(10), System::nanoTime),
+            fact -> {
+                loads.incrementAndGet();
+                return List.of(
+                        cell(4, 1, "OWNED_ANIMAL", "Cartago", "7", "Cartago", "Oriental", "Perro", "Macho", "Esterilizado", "2025-01"),
+                        cell(6, 0, "OWNED_ANIMAL", "Cartago", "7", "Cartago", "Oriental", "Perro", "Hembra", "No esterilizado", "2025-01"),
+                        cell(5, 0, "ABANDONED_ANIMAL", "Cartago", "7", "Cartago", "Occidental", "Gato", "Macho", "No esterilizado", "2025-02"),
+                        cell(2, 2, "OWNED_ANIMAL", "Tres Ríos", "8", "La Unión", "Sin distrito", "Gato", "Hembra", "Esterilizado", "2025-02"));
+            });
+
+    private static CubeCell cell(long total, long sterilized, String... labels) {
+        return new CubeCell(labels, total, sterilized);
+    }
+
+    @Test
+    void query_rollsUpToTheRequestedDimensionsInOrder() {
+        CubeResult result = service.query(CubeFact.ANIMALS, List.of(CubeDimension.CANTON, CubeDimension.SPECIES),
+                List.of(), Map.of());
+
+        assertEquals(List.of(
+                Map.of("canton", "Cartago", "species", "Gato", "count", 5L),
+                Map.of("canton", "Cartago", "species", "Perro", "count", 10L),
+                Map.of("canton", "La Unión", "species", "Gato", "count", 2L)), result.rows());
+        assertEquals(List.of(CubeMeasure.COUNT), result.measures());
+    }
+
+    @Test
+    void query_appliesFiltersAndComputesSterilizationMeasures() {
+        CubeResult result = service.query(CubeFact.ANIMALS, List.of(),
+                List.of(CubeMeasure.COUNT, CubeMeasure.STERILIZED, CubeMeasure.STERILIZATION_RATE),
+                Map.of(CubeDimension.SOURCE, Set.of("OWNED_ANIMAL")));
+
+        assertEquals(List.of(Map.of("count", 12L, "sterilized", 3L, "sterilizationRate", 0.25)), result.rows());
+    }
+
+    @Test
+    void query_readsTheFactOnceForEverySlice() {
+        service.query(CubeFact.ANIMALS, List.of(CubeDimension.MONTH), List.of(), Map.of());
+        service.query(CubeFact.ANIMALS, List.of(CubeDimension.SEX, CubeDimension.DISTRICT), List.of(), Map.of());
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void query_rejectsDimensionsAndMeasuresOutsideTheFact() {
+        assertThrows(IllegalArgumentException.class, () -> service.query(CubeFact.ANIMALS,
+                List.of(CubeDimension.COMPLAINT_STATE), List.of(), Map.of()));
+        assertThrows(IllegalArgumentException.class, () -> service.query(CubeFact.COMPLAINTS,
+                List.of(CubeDimension.COMPLAINT_TYPE), List.of(CubeMeasure.STERILIZED), Map.of()));
+    }
+}
@@ -0,0 +1,95 @@
+package com.project.demo.service.report;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportDataVersionTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    // Stands in for the report_data_family_version rows shared by every instance
+    private final Map<ReportDataFamily, ReportDataVersion.Snapshot> rows = new EnumMap<>(ReportDataFamily.class);
+
+    @SuppressWarnings("unchecked")
+    private final JdbcTemplate jdbc = new JdbcTemplate() {
+        @Override
+        public int update(String sql, Object... args) {
+            ReportDataFamily family = ReportDataFamily.valueOf((String) args[0]);
+            ReportDataVersion.Snapshot row = rows.get(family);
+            rows.put(family, new ReportDataVersion.Snapshot(family, row == null ? 1 : row.version() + 1,
+                    ((Timestamp) args[1]).getTime()));
+            return 1;
+        }
+
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper) {
+            return (List<T>) new ArrayList<>(rows.values());
+        }
+    };
+
+    private final ReportDataVersion version = newInstance();
+
+    private ReportDataVersion newInstance() {
+        return new ReportDataVersion(jdbc, TransactionOperations.withoutTransaction(), clock::get, 60_000);
+    }
+
+    @Test
+    void etag_isStableWhileNothingChanges() {
+        String etag = version.etag(ReportDataFamily.ANIMALS);
+        clock.addAndGet(1_000);
+
+        assertEquals(etag, version.etag(ReportDataFamily.ANIMALS));
+        assertEquals(0, version.current(ReportDataFamily.ANIMALS));
+    }
+
+    @Test
+    void etag_changesAfterADataChangeOfAFamilyItReads() {
+        String etag = version.etag(ReportDataFamily.ANIMALS, ReportDataFamily.COMPLAINTS);
+        clock.addAndGet(1_000);
+
+        version.onReportDataChanged(new ReportDataChangedEvent(ReportDataFamily.COMPLAINTS, "test"));
+
+        assertNotEquals(etag, version.etag(ReportDataFamily.ANIMALS, ReportDataFamily.COMPLAINTS));
+        assertEquals(1, version.current(ReportDataFamily.COMPLAINTS));
+    }
+
+    @Test
+    void etag_ignoresChangesOfOtherFamilies() {
+        String etag = version.etag(ReportDataFamily.HEATMAP);
+
+        version.onReportDataChanged(new ReportDataChangedEvent(ReportDataFamily.ANIMALS, "test"));
+        version.onReportDataChanged(new ReportDataChangedEvent(ReportDataFamily.COMPLAINTS, "test"));
+
+        assertEquals(etag, version.etag(ReportDataFamily.HEATMAP));
+        assertEquals(0, version.current(ReportDataFamily.HEATMAP));
+        assertEquals(1, version.current(ReportDataFamily.ANIMALS));
+    }
+
+    @Test
+    void etag_isTheSameOnEveryInstance() {
+        ReportDataVersion otherInstance = newInstance();
+
+        version.onReportDataChanged(new ReportDataChangedEvent(ReportDataFamily.ANIMALS, "test"));
+
+        assertEquals(version.etag(ReportDataFamily.ANIMALS), otherInstance.etag(ReportDataFamily.ANIMALS));
+    }
+
+    @Test
+    void etag_changesWhenTheCacheWindowRollsOver() {
+        String etag = version.etag(ReportDataFamily.ANIMALS);
+        clock.addAndGet(60_000);
+
+        assertNotEquals(etag, version.etag(ReportDataFamily.ANIMALS));
+    }
+}
@@ -0,0 +1,79 @@
+package com.project.demo.service.report;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportJobArtifactStoreTest {
+
+    private final Map<Integer, byte[]> chunks = new TreeMap<>();
+    private final List<Object[]> deletes = new ArrayList<>();
+
+    @SuppressWarnings("unchecked")
+    private final JdbcTemplate jdbc = new JdbcTemplate() {
+        @Override
+        public int update(String sql, Object... args) {
+            if (sql.startsWith("DELETE")) {
+                deletes.add(args);
+                return 0;
+            }
+            assertNull(chunks.put((Integer) args[1], (byte[]) args[2]));
+            return 1;
+        }
+
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            byte[] data = chunks.get((Integer) args[1]);
+            return data == null ? List.of() : List.of((T) data);
+        }
+    };
+
+    private final ReportJobArtifactStore store = new ReportJobArtifactStore(jdbc, 1);
+
+    @Test
+    void writesAndReadsAnArtifactOneChunkAtATime() throws IOException {
+        byte[] content = "a".repeat(2500).getBytes(StandardCharsets.UTF_8);
+
+        ReportJobArtifactStore.ArtifactOutputStream out = store.create(7L);
+        out.write(content, 0, 1000);
+        out.write(content, 1000, 1500);
+        out.close();
+
+        assertEquals(2500, out.size());
+        assertEquals(3, chunks.size());
+        assertEquals(1024, chunks.get(0).length);
+        assertEquals(452, chunks.get(2).length);
+
+        ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        assertEquals(2500, store.copyTo(7L, copy));
+        assertArrayEquals(content, copy.toByteArray());
+    }
+
+    @Test
+    void rejectsWritesAfterClose() {
+        ReportJobArtifactStore.ArtifactOutputStream out = store.create(7L);
+        out.close();
+
+        assertThrows(IOException.class, () -> out.write(1));
+        assertEquals(1, chunks.size());
+    }
+
+    @Test
+    void deletesTheArtifactsOfSeveralJobsInOneStatement() {
+        assertEquals(0, store.delete(List.of()));
+        store.delete(List.of(1L, 2L));
+
+        assertEquals(1, deletes.size());
+        assertArrayEquals(new Object[]{1L, 2L}, deletes.get(0));
+    }
+}
@@ -0,0 +1,124 @@
+package com.project.demo.service.report;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SterilizedAnimalIndexTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong clock = new AtomicLong();
+
+    private SterilizedAnimalIndex index(long... sterilizedIds) {
+        List<Long> ids = new ArrayList<>();
+        for (long id : sterilizedIds) {
+            ids.add(id);
+        }
+        return index(ids);
+    }
+
+    private SterilizedAnimalIndex index(List<Long> sterilizedIds) {
+        return new SterilizedAnimalIndex(sink -> {
+            loads.incrementAndGet();
+            sterilizedIds.forEach(sink::accept);
+        }, version::get, clock::get, 60_000);
+    }
+
+    @Test
+    void contains_loadsOnceFromTheIdSource() {
+        SterilizedAnimalIndex index = index(1, 5, 5, 64);
+
+        assertTrue(index.contains(5));
+        assertTrue(index.contains(64));
+        assertFalse(index.contains(2));
+        assertEquals(3, index.size());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void countSterilized_countsTheSterilizedIdsOfARange() {
+        SterilizedAnimalIndex index = index(64, 66, 127, 128, Long.MAX_VALUE);
+
+        assertEquals(2, index.countSterilized(64, 0b101L | 0b10L));
+        assertEquals(1, index.countSterilized(64, Long.MIN_VALUE));
+        assertEquals(0, index.countSterilized(128, 0b10L));
+        assertEquals(1, index.countSterilized(Long.MAX_VALUE - 63, Long.MIN_VALUE));
+    }
+
+    @Test
+    void onSterilizationChanged_setsAndClearsMembership() {
+        SterilizedAnimalIndex index = index(7);
+        index.contains(7);
+
+        index.onSterilizationChanged(new SterilizationChangedEvent(8, true));
+        index.onSterilizationChanged(new SterilizationChangedEvent(7, false));
+
+        assertTrue(index.contains(8));
+        assertFalse(index.contains(7));
+    }
+
+    @Test
+    void onSterilizationChanged_beforeLoadIsLeftToTheLoad() {
+        SterilizedAnimalIndex index = index(3);
+
+        index.onSterilizationChanged(new SterilizationChangedEvent(9, true));
+
+        assertEquals(0, loads.get());
+        assertFalse(index.contains(9));
+        assertTrue(index.contains(3));
+    }
+
+    @Test
+    void idsOutsideTheIntRangeAreSupported() {
+        long large = Integer.MAX_VALUE + 10L;
+        SterilizedAnimalIndex index = index(large);
+
+        assertTrue(index.contains(large));
+        index.onSterilizationChanged(new SterilizationChangedEvent(large, false));
+        assertFalse(index.contains(large));
+    }
+
+    @Test
+    void invalidate_reloadsOnNextLookup() {
+        SterilizedAnimalIndex index = index(1);
+        index.contains(1);
+
+        index.invalidate();
+
+        assertTrue(index.contains(1));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void reloadsWhenTheDataChangedOnAnotherInstance() {
+        List<Long> database = new ArrayList<>(List.of(1L));
+        SterilizedAnimalIndex index = index(database);
+        assertFalse(index.contains(2));
+
+        // Another instance sterilizes animal 2 and bumps the report data version
+        database.add(2L);
+        version.incrementAndGet();
+        assertFalse(index.contains(2));
+
+        clock.addAndGet(60_000);
+        assertTrue(index.contains(2));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void doesNotReloadWhileTheVersionIsUnchanged() {
+        SterilizedAnimalIndex index = index(1);
+        index.contains(1);
+
+        clock.addAndGet(120_000);
+        index.contains(1);
+
+        assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,93 @@
+package com.project.demo.service.scheduling;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaseLockServiceTest {
+
+    private static final String JOB = "job";
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    private final EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .addScript("db/scheduler_lease.sql")
+            .build();
+    private final JdbcTemplate jdbc = new JdbcTemplate(database);
+    private final LeaseLockService nodeA = new LeaseLockService(jdbc, "node-a");
+    private final LeaseLockService nodeB = new LeaseLockService(jdbc, "node-b");
+
+    @AfterEach
+    void shutdown() {
+        database.shutdown();
+    }
+
+    @Test
+    void tryAcquire_grantsTheLeaseToASingleInstance() {
+        Optional<Lease> lease = nodeA.tryAcquire(JOB, LEASE);
+
+        assertTrue(lease.isPresent());
+        assertEquals(1, lease.get().fencingToken());
+        assertTrue(nodeB.tryAcquire(JOB, LEASE).isEmpty());
+        assertTrue(nodeA.tryAcquire(JOB, LEASE).isEmpty());
+        assertTrue(nodeA.isHeld(lease.get()));
+    }
+
+    @Test
+    void release_keepsTheLeaseForTheMinimumHold() {
+        Lease lease = nodeA.tryAcquire(JOB, LEASE).orElseThrow();
+
+        nodeA.release(lease, Duration.ofMinutes(1));
+
+        assertTrue(nodeB.tryAcquire(JOB, LEASE).isEmpty());
+    }
+
+    @Test
+    void release_letsAnotherInstanceAcquireWithAGreaterToken() {
+        Lease lease = nodeA.tryAcquire(JOB, LEASE).orElseThrow();
+        nodeA.release(lease, Duration.ZERO);
+
+        Lease next = nodeB.tryAcquire(JOB, LEASE).orElseThrow();
+
+        assertEquals("node-b", next.owner());
+        assertEquals(2, next.fencingToken());
+        assertFalse(nodeA.isHeld(lease));
+    }
+
+    @Test
+    void expiredLease_isTakenOverAndTheStaleHolderIsFenced() {
+        Lease stale = nodeA.tryAcquire(JOB, Duration.ZERO).orElseThrow();
+
+        Lease next = nodeB.tryAcquire(JOB, LEASE).orElseThrow();
+        nodeA.bind(stale);
+        try {
+            assertThrows(IllegalStateException.class, nodeA::assertHeld);
+        } finally {
+            nodeA.unbind();
+        }
+        nodeA.release(stale, Duration.ZERO);
+
+        assertEquals(2, next.fencingToken());
+        assertTrue(nodeB.isHeld(next));
+    }
+
+    @Test
+    void leasesOfDifferentJobsAreIndependent() {
+        assertTrue(nodeA.tryAcquire(JOB, LEASE).isPresent());
+        assertTrue(nodeB.tryAcquire("other-job", LEASE).isPresent());
+    }
+
+    @Test
+    void assertHeld_doesNothingOutsideALease() {
+        assertDoesNotThrow(() -> nodeA.assertHeld());
+    }
+}
@@ -0,0 +1,65 @@
+package com.project.demo.service.scheduling;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionedExecutionServiceTest {
+
+    private final AtomicInteger transactions = new AtomicInteger();
+
+    private final TransactionTemplate transactionTemplate = new TransactionTemplate() {
+        @Override
+        public <T> T execute(TransactionCallback<T> action) throws TransactionException {
+            transactions.incrementAndGet();
+            return action.doInTransaction(null);
+        }
+    };
+
+    @Test
+    void runAll_runsEachPartitionInItsOwnTransactionWithBoundedConcurrency() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        var service = new PartitionedExecutionService(transactionTemplate, 3);
+        List<Integer> partitions = IntStream.range(0, 20).boxed().toList();
+
+        var results = service.runAll("test", partitions, partition -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return partition;
+        });
+
+        assertEquals(20, transactions.get());
+        assertTrue(maxRunning.get() <= 3);
+        assertEquals(partitions, results.stream().map(PartitionedExecutionService.PartitionResult::processed).toList());
+    }
+
+    @Test
+    void runAll_isolatesFailedPartitions() {
+        var service = new PartitionedExecutionService(transactionTemplate, 2);
+
+        var results = service.runAll("test", List.of(1, 2, 3), partition -> {
+            if (partition == 2) {
+                throw new IllegalStateException("boom");
+            }
+            return 10;
+        });
+
+        assertFalse(results.get(0).failed());
+        assertTrue(results.get(1).failed());
+        assertEquals(0, results.get(1).processed());
+        assertEquals(10, results.get(2).processed());
+    }
+}
@@ -0,0 +1,21 @@
+CREATE TABLE abandoned_animal (
+    id        BIGINT PRIMARY KEY,
+    latitude  DOUBLE,
+    longitude DOUBLE
+);
+
+CREATE TABLE complaint (
+    id        BIGINT PRIMARY KEY,
+    latitude  DOUBLE NOT NULL,
+    longitude DOUBLE NOT NULL
+);
+
+CREATE TABLE geo_heat_cell (
+    id             BIGINT AUTO_INCREMENT PRIMARY KEY,
+    source         VARCHAR(32) NOT NULL,
+    cell_precision INT         NOT NULL,
+    cell_x         INT         NOT NULL,
+    cell_y         INT         NOT NULL,
+    total          BIGINT      NOT NULL,
+    CONSTRAINT uk_geo_heat_cell_key UNIQUE (source, cell_precision, cell_x, cell_y)
+);
@@ -0,0 +1,28 @@
+CREATE TABLE notification_status (
+    id   BIGINT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL
+);
+
+INSERT INTO notification_status (id, name) VALUES (1, 'Emitida'), (2, 'Leída'), (3, 'Archivada');
+
+CREATE TABLE notification (
+    id                     BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id                BIGINT       NOT NULL,
+    notification_status_id BIGINT       NOT NULL,
+    date_issued            TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE notification_counter (
+    id        BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id   BIGINT NOT NULL,
+    status_id BIGINT NOT NULL,
+    total     BIGINT NOT NULL,
+    CONSTRAINT uk_notification_counter_user_status UNIQUE (user_id, status_id)
+);
+
+CREATE TABLE notification_read_watermark (
+    id           BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id      BIGINT       NOT NULL,
+    last_read_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_notification_read_watermark_user UNIQUE (user_id)
+);
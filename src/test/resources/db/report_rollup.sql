@@ -0,0 +1,92 @@
+CREATE ALIAS DATE_FORMAT FOR 'com.project.demo.service.report.MySqlFunctions.dateFormat';
+
+CREATE TABLE municipality (
+    id        BIGINT PRIMARY KEY,
+    canton_id BIGINT
+);
+
+CREATE TABLE district (
+    id        BIGINT PRIMARY KEY,
+    canton_id BIGINT       NOT NULL,
+    name      VARCHAR(100) NOT NULL
+);
+
+CREATE TABLE neighborhood (
+    id          BIGINT PRIMARY KEY,
+    district_id BIGINT
+);
+
+CREATE TABLE `user` (
+    id              BIGINT PRIMARY KEY,
+    municipality_id BIGINT,
+    neighborhood_id BIGINT
+);
+
+CREATE TABLE animal (
+    id         BIGINT PRIMARY KEY,
+    species_id BIGINT NOT NULL,
+    sex_id     BIGINT,
+    owner_id   BIGINT,
+    created_at TIMESTAMP(6)
+);
+
+CREATE TABLE community_animal (
+    id            BIGINT PRIMARY KEY,
+    owner_user_id BIGINT,
+    created_at    TIMESTAMP(6)
+);
+
+CREATE TABLE abandoned_animal (
+    id         BIGINT PRIMARY KEY,
+    canton_id  BIGINT,
+    district   VARCHAR(100),
+    species_id BIGINT NOT NULL,
+    sex_id     BIGINT,
+    created_by BIGINT,
+    created_at TIMESTAMP(6)
+);
+
+CREATE TABLE sanitary_control (
+    id                       BIGINT AUTO_INCREMENT PRIMARY KEY,
+    animal_id                BIGINT NOT NULL,
+    sanitary_control_type_id BIGINT NOT NULL
+);
+
+CREATE TABLE complaint (
+    id                 BIGINT PRIMARY KEY,
+    complaint_type_id  BIGINT NOT NULL,
+    complaint_state_id BIGINT NOT NULL,
+    user_id            BIGINT,
+    created_at         TIMESTAMP(6)
+);
+
+CREATE TABLE animal_report_rollup (
+    id              BIGINT AUTO_INCREMENT PRIMARY KEY,
+    source          VARCHAR(20) NOT NULL,
+    municipality_id BIGINT      NOT NULL,
+    canton_id       BIGINT      NOT NULL,
+    district_id     BIGINT      NOT NULL,
+    species_id      BIGINT      NOT NULL,
+    sex_id          BIGINT      NOT NULL,
+    sterilized      BOOLEAN     NOT NULL,
+    period_month    DATE        NOT NULL,
+    total           BIGINT      NOT NULL,
+    CONSTRAINT uk_animal_report_rollup_key
+        UNIQUE (source, municipality_id, canton_id, district_id, species_id, sex_id, sterilized, period_month)
+);
+
+CREATE TABLE complaint_report_rollup (
+    id                 BIGINT AUTO_INCREMENT PRIMARY KEY,
+    complaint_type_id  BIGINT NOT NULL,
+    complaint_state_id BIGINT NOT NULL,
+    municipality_id    BIGINT NOT NULL,
+    period_month       DATE   NOT NULL,
+    total              BIGINT NOT NULL,
+    CONSTRAINT uk_complaint_report_rollup_key
+        UNIQUE (complaint_type_id, complaint_state_id, municipality_id, period_month)
+);
+
+INSERT INTO municipality (id, canton_id) VALUES (1, 10), (2, 20);
+INSERT INTO district (id, canton_id, name) VALUES (100, 10, 'Carmen'), (200, 20, 'Oriental');
+INSERT INTO neighborhood (id, district_id) VALUES (1000, 100), (2000, 200);
+INSERT INTO `user` (id, municipality_id, neighborhood_id) VALUES (1, 1, 1000), (2, 2, 2000), (3, NULL, NULL);
@@ -0,0 +1,7 @@
+CREATE TABLE scheduler_lease (
+    name          VARCHAR(100) NOT NULL PRIMARY KEY,
+    owner         VARCHAR(150) NOT NULL,
+    lease_until   TIMESTAMP(6) NOT NULL,
+    acquired_at   TIMESTAMP(6) NOT NULL,
+    fencing_token BIGINT       NOT NULL
+);